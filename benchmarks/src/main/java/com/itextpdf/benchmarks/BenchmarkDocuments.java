@@ -0,0 +1,136 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Generates the documents which are used as fixtures by the benchmarks, so that no external files are needed.
+ */
+public final class BenchmarkDocuments {
+
+    /**
+     * The system property which defines the path to the TrueType font used by the font benchmarks.
+     */
+    public static final String FONT_PROPERTY = "itext.benchmarks.font";
+
+    /**
+     * The font used if {@link #FONT_PROPERTY} is not set: the resource bundled with the benchmarks,
+     * relative to this class.
+     */
+    public static final String DEFAULT_FONT = "fonts/FreeSans.ttf";
+
+    /**
+     * The text which is used to fill the generated documents.
+     */
+    public static final String SAMPLE_TEXT = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+            + "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation "
+            + "ullamco laboris nisi ut aliquip ex ea commodo consequat. 0123456789";
+
+    private static final int LINES_PER_PAGE = 60;
+
+    private BenchmarkDocuments() {
+    }
+
+    /**
+     * Creates a document with the specified number of pages filled with text.
+     *
+     * @param pageCount       the number of pages
+     * @param fullCompression true to write the objects into object streams
+     * @return the bytes of the document
+     * @throws IOException on error
+     */
+    public static byte[] createTextDocument(int pageCount, boolean fullCompression) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WriterProperties properties = new WriterProperties().setFullCompressionMode(fullCompression);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            for (int i = 1; i <= pageCount; i++) {
+                PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage(PageSize.A4));
+                canvas.beginText().setFontAndSize(font, 8).setLeading(12).moveText(36, 806);
+                for (int line = 0; line < LINES_PER_PAGE; line++) {
+                    canvas.newlineShowText("Page " + i + ", line " + line + ". " + SAMPLE_TEXT);
+                }
+                canvas.endText();
+                canvas.rectangle(30, 30, 535, 782).stroke();
+                canvas.release();
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Reads the TrueType font used by the font benchmarks: the file defined by {@link #FONT_PROPERTY}
+     * or the bundled {@link #DEFAULT_FONT} resource.
+     *
+     * @return the bytes of the font
+     * @throws IOException on error
+     */
+    public static byte[] readFont() throws IOException {
+        String fontPath = System.getProperty(FONT_PROPERTY);
+        if (fontPath != null) {
+            return Files.readAllBytes(Paths.get(fontPath));
+        }
+        try (InputStream stream = BenchmarkDocuments.class.getResourceAsStream(DEFAULT_FONT)) {
+            if (stream == null) {
+                throw new IOException("Font resource " + DEFAULT_FONT + " is not found");
+            }
+            return StreamUtil.inputStreamToArray(stream);
+        }
+    }
+}
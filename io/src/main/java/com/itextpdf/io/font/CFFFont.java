@@ -1033,8 +1033,19 @@ public class CFFFont {
     RandomAccessSourceFactory rasFactory = new RandomAccessSourceFactory();
 
     public CFFFont(byte[] cff) {
+        this(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(cff)));
+    }
+
+    /**
+     * Creates a CFF font reading its data from the passed source. Only the parts of the font
+     * which are actually accessed are read, so the source may be a view over a bigger file,
+     * e.g. the 'CFF ' table of an OpenType font.
+     *
+     * @param cff the CFF font data
+     */
+    public CFFFont(RandomAccessFileOrArray cff) {
         //System.err.println("CFF: nStdString = "+standardStrings.length);
-        buf = new RandomAccessFileOrArray(rasFactory.createSource(cff));
+        buf = cff;
         seek(0);
 
         int major, minor;
@@ -45,6 +45,7 @@ package com.itextpdf.io.font;
 
 import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.util.GenericArray;
 
 import java.util.ArrayList;
@@ -172,11 +173,31 @@ public class CFFFontSubset extends CFFFont {
         this(cff, Collections.<Integer>emptySet(), true);
     }
 
+    CFFFontSubset(RandomAccessFileOrArray cff) {
+        this(cff, Collections.<Integer>emptySet(), true);
+    }
+
     public CFFFontSubset(byte[] cff, Set<Integer> GlyphsUsed) {
         this(cff, GlyphsUsed, false);
     }
 
     CFFFontSubset(byte[] cff, Set<Integer> GlyphsUsed, boolean isCidParsingRequired) {
+        this(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(cff)), GlyphsUsed,
+                isCidParsingRequired);
+    }
+
+    /**
+     * C'tor for CFFFontSubset which reads the font data lazily from the passed source
+     * instead of requiring the whole font file in memory.
+     *
+     * @param cff        - The font file
+     * @param GlyphsUsed - The glyphs to keep in the subset
+     */
+    public CFFFontSubset(RandomAccessFileOrArray cff, Set<Integer> GlyphsUsed) {
+        this(cff, GlyphsUsed, false);
+    }
+
+    CFFFontSubset(RandomAccessFileOrArray cff, Set<Integer> GlyphsUsed, boolean isCidParsingRequired) {
         // Use CFFFont c'tor in order to parse the font file.
         super(cff);
         this.GlyphsUsed = GlyphsUsed;
@@ -47,6 +47,7 @@ import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.font.constants.FontStretches;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.source.WindowRandomAccessSource;
 import com.itextpdf.io.util.IntHashtable;
 
 import java.io.Closeable;
@@ -228,7 +229,7 @@ class OpenTypeParser implements Closeable {
 
     public OpenTypeParser(String ttcPath, int ttcIndex) throws java.io.IOException {
         this.ttcIndex = ttcIndex;
-        raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createBestSource(ttcPath));
+        raf = new RandomAccessFileOrArray(createFontFileSourceFactory().createBestSource(ttcPath));
         initializeSfntTables();
     }
 
@@ -238,7 +239,7 @@ class OpenTypeParser implements Closeable {
         if (ttcName.length() < name.length()) {
             ttcIndex = Integer.parseInt(name.substring(ttcName.length() + 1));
         }
-        raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createBestSource(fileName));
+        raf = new RandomAccessFileOrArray(createFontFileSourceFactory().createBestSource(fileName));
         initializeSfntTables();
     }
 
@@ -372,6 +373,16 @@ class OpenTypeParser implements Closeable {
         return sb.process();
     }
 
+    /**
+     * Creates an independent view of the 'CFF ' table. The table data is read from the font
+     * source on demand, so it is never copied into memory as a whole.
+     *
+     * @return a view of the 'CFF ' table
+     */
+    RandomAccessFileOrArray createCffFontView() {
+        return new RandomAccessFileOrArray(new WindowRandomAccessSource(raf.createSourceView(), cffOffset, cffLength));
+    }
+
     @Override
     public void close() throws java.io.IOException {
         if (raf != null) {
@@ -380,6 +391,14 @@ class OpenTypeParser implements Closeable {
         raf = null;
     }
 
+    /**
+     * Font files are memory mapped as a whole so that the views handed out for subsetting
+     * can read from them concurrently, without copying any table data onto the heap.
+     */
+    private static RandomAccessSourceFactory createFontFileSourceFactory() {
+        return new RandomAccessSourceFactory().setConcurrentAccess(true);
+    }
+
     private void initializeSfntTables() throws java.io.IOException {
         tables = new LinkedHashMap<>();
         if (ttcIndex >= 0) {
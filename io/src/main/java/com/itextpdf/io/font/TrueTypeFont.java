@@ -86,8 +86,6 @@ public class TrueTypeFont extends FontProgram {
      */
     protected IntHashtable kerning = new IntHashtable();
 
-    private byte[] fontStreamBytes;
-
     private TrueTypeFont(OpenTypeParser fontParser) throws java.io.IOException {
         this.fontParser = fontParser;
         this.fontParser.loadTables(true);
@@ -153,20 +151,23 @@ public class TrueTypeFont extends FontProgram {
         }
     }
 
+    /**
+     * Reads the font data to be embedded as a whole: the 'CFF ' table for CFF based fonts
+     * and the full font file otherwise. The data is read anew on each call and isn't retained
+     * by the font program, which may be shared between many documents.
+     *
+     * @return the font data
+     */
     public byte[] getFontStreamBytes() {
-        if (fontStreamBytes != null)
-            return fontStreamBytes;
         try {
             if (fontParser.isCff()) {
-                fontStreamBytes = fontParser.readCffFont();
+                return fontParser.readCffFont();
             } else {
-                fontStreamBytes = fontParser.getFullFont();
+                return fontParser.getFullFont();
             }
         } catch (java.io.IOException e) {
-            fontStreamBytes = null;
             throw new IOException(IOException.IoException, e);
         }
-        return fontStreamBytes;
     }
 
     @Override
@@ -215,6 +216,19 @@ public class TrueTypeFont extends FontProgram {
         }
     }
 
+    /**
+     * Creates a subset of the 'CFF ' table which only contains the specified glyphs.
+     * Only the parts of the table needed for the subset are read from the font source,
+     * so the whole table is never loaded into memory.
+     * This call is only meaningful for fonts that return true for {@link #isCff()}.
+     *
+     * @param gids the set of glyph ids (GIDs) to be kept in the subset
+     * @return the subset CFF font data
+     */
+    public byte[] getCffSubset(Set<Integer> gids) {
+        return new CFFFontSubset(fontParser.createCffFontView(), gids).Process();
+    }
+
     /**
      * Maps a set of glyph CIDs (as used in PDF file) to corresponding GID values
      * (as a glyph primary identifier in the font file).
@@ -325,7 +339,7 @@ public class TrueTypeFont extends FontProgram {
         avgWidth = 0;
         CFFFontSubset cffFontSubset = null;
         if (isCff()) {
-            cffFontSubset = new CFFFontSubset(getFontStreamBytes());
+            cffFontSubset = new CFFFontSubset(fontParser.createCffFontView());
         }
         for (int charCode : cmap.keySet()) {
             int index = cmap.get(charCode)[0];
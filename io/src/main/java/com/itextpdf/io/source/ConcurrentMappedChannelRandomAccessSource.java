@@ -0,0 +1,173 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.logs.IoLogMessageConstant;
+
+import java.nio.channels.FileChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A RandomAccessSource that memory maps the whole content of a FileChannel and can be read
+ * by several threads simultaneously without any synchronization.
+ * <p>
+ * The channel is mapped read-only in segments of a fixed size, all of which are mapped on construction.
+ * Reading doesn't change the state of the source, so unlike {@link ThreadSafeRandomAccessSource} no lock
+ * is taken on each read and views created by {@link RandomAccessFileOrArray#createView()} over this source
+ * read the file independently from each other.
+ * <p>
+ * Closing the source while it is read by other threads is not supported.
+ */
+public class ConcurrentMappedChannelRandomAccessSource implements IRandomAccessSource {
+
+    /**
+     * The default size of a single mapped segment.
+     */
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+
+    private final MappedChannelRandomAccessSource[] segments;
+
+    private final int segmentSize;
+
+    private final long length;
+
+    /**
+     * Constructs a new {@link ConcurrentMappedChannelRandomAccessSource} based on the specified FileChannel.
+     * The whole channel is mapped at once.
+     *
+     * @param channel the channel to use as the backing store
+     * @throws java.io.IOException if the channel cannot be mapped
+     */
+    public ConcurrentMappedChannelRandomAccessSource(FileChannel channel) throws java.io.IOException {
+        this(channel, DEFAULT_SEGMENT_SIZE);
+    }
+
+    ConcurrentMappedChannelRandomAccessSource(FileChannel channel, int segmentSize) throws java.io.IOException {
+        this.channel = channel;
+        this.length = channel.size();
+        if (length == 0) {
+            throw new java.io.IOException("File size is 0 bytes");
+        }
+        this.segmentSize = segmentSize;
+        int segmentsCount = (int) ((length + segmentSize - 1) / segmentSize);
+        this.segments = new MappedChannelRandomAccessSource[segmentsCount];
+        try {
+            for (int i = 0; i < segmentsCount; i++) {
+                long offset = (long) i * segmentSize;
+                segments[i] = new MappedChannelRandomAccessSource(channel, offset, Math.min(segmentSize, length - offset));
+                segments[i].open();
+            }
+        } catch (java.io.IOException | RuntimeException e) {
+            closeSegments();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) throws java.io.IOException {
+        if (position < 0 || position >= length) {
+            return -1;
+        }
+        int segment = (int) (position / segmentSize);
+        return segments[segment].get(position - (long) segment * segmentSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (position < 0 || position >= length) {
+            return -1;
+        }
+        int count = 0;
+        while (count < len && position < length) {
+            int segment = (int) (position / segmentSize);
+            int read = segments[segment].get(position - (long) segment * segmentSize, bytes, off + count, len - count);
+            if (read <= 0) {
+                break;
+            }
+            count += read;
+            position += read;
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Unmaps all the segments and closes the underlying channel.
+     *
+     * @throws java.io.IOException if unmapping fails
+     */
+    public void close() throws java.io.IOException {
+        try {
+            closeSegments();
+        } finally {
+            try {
+                channel.close();
+            } catch (Exception ex) {
+                Logger logger = LoggerFactory.getLogger(ConcurrentMappedChannelRandomAccessSource.class);
+                logger.error(IoLogMessageConstant.FILE_CHANNEL_CLOSING_FAILED, ex);
+            }
+        }
+    }
+
+    private void closeSegments() throws java.io.IOException {
+        for (MappedChannelRandomAccessSource segment : segments) {
+            if (segment != null) {
+                segment.close();
+            }
+        }
+    }
+}
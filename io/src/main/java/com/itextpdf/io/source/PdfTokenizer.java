@@ -112,6 +112,10 @@ public class PdfTokenizer implements Closeable {
     public static final byte[] True = ByteUtils.getIsoBytes("true");
     public static final byte[] False = ByteUtils.getIsoBytes("false");
 
+    private static final int MAX_EXACT_DECIMAL_DIGITS = 15;
+    private static final double[] EXACT_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
     protected TokenType type;
     protected int reference;
     protected int generation;
@@ -181,6 +185,27 @@ public class PdfTokenizer implements Closeable {
         return outBuf.toByteArray();
     }
 
+    /**
+     * Gets the length of the current token content, see {@link #getByteContent()}.
+     *
+     * @return the length of the current token content
+     */
+    public int getByteContentLength() {
+        return outBuf.size();
+    }
+
+    /**
+     * Copies the current token content into the specified array without allocating a new one,
+     * see {@link #getByteContent()}.
+     *
+     * @param destination       the array to copy the content to, it shall have room
+     *                          for {@link #getByteContentLength()} bytes
+     * @param destinationOffset the offset in the destination array
+     */
+    public void getByteContent(byte[] destination, int destinationOffset) {
+        System.arraycopy(outBuf.getInternalBuffer(), 0, destination, destinationOffset, outBuf.size());
+    }
+
     public String getStringValue() {
         return new String(outBuf.getInternalBuffer(), 0, outBuf.size());
     }
@@ -511,6 +536,48 @@ public class PdfTokenizer implements Closeable {
         return Integer.parseInt(getStringValue());
     }
 
+    /**
+     * Parses the current token content as a double value. Plain decimal numbers, which are the only numbers
+     * produced for {@link TokenType#Number} tokens, are parsed without creating intermediate objects.
+     *
+     * @return the double value of the current token
+     * @throws NumberFormatException if the current token content is not a number
+     */
+    public double getDoubleValue() {
+        byte[] buf = outBuf.getInternalBuffer();
+        int size = outBuf.size();
+        int i = 0;
+        boolean negative = false;
+        if (size > 0 && (buf[0] == '-' || buf[0] == '+')) {
+            negative = buf[0] == '-';
+            i = 1;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < size; i++) {
+            int ch = buf[i];
+            if (ch >= '0' && ch <= '9') {
+                mantissa = mantissa * 10 + (ch - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (ch == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return Double.parseDouble(getStringValue());
+            }
+        }
+        // The mantissa and the power of ten are exactly representable in this case,
+        // so the single division is rounded the same way as Double.parseDouble rounds.
+        if (digits == 0 || digits > MAX_EXACT_DECIMAL_DIGITS || fractionDigits >= EXACT_POWERS_OF_TEN.length) {
+            return Double.parseDouble(getStringValue());
+        }
+        double value = fractionDigits > 0 ? mantissa / EXACT_POWERS_OF_TEN[fractionDigits] : (double) mantissa;
+        return negative ? -value : value;
+    }
+
     public boolean isHexString() {
         return this.hexString;
     }
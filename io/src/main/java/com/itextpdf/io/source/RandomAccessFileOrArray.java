@@ -598,7 +598,8 @@ public class RandomAccessFileOrArray implements DataInput {
     }
 
     private void ensureByteSourceIsThreadSafe() {
-        if (!(byteSource instanceof ThreadSafeRandomAccessSource)) {
+        if (!(byteSource instanceof ThreadSafeRandomAccessSource)
+                && !(byteSource instanceof ConcurrentMappedChannelRandomAccessSource)) {
             byteSource = new ThreadSafeRandomAccessSource(byteSource);
         }
     }
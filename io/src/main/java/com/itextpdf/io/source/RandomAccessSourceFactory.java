@@ -80,6 +80,11 @@ public final class RandomAccessSourceFactory {
      */
     private boolean exclusivelyLockFile = false;
 
+    /**
+     * Whether the created file based source should be safe for reading by several threads without synchronization
+     */
+    private boolean concurrentAccess = false;
+
     /**
      * Creates a factory that will give preference to accessing the underling data source using memory mapped files
      */
@@ -119,6 +124,18 @@ public final class RandomAccessSourceFactory {
         return this;
     }
 
+    /**
+     * Determines whether a file should be opened as a {@link ConcurrentMappedChannelRandomAccessSource}, which maps
+     * the whole file into memory and can be read by several threads without synchronization.
+     * This setting is ignored if {@code forceRead} or {@code usePlainRandomAccess} is set.
+     * @param concurrentAccess whether the file should be mapped for concurrent reading
+     * @return this object (this allows chaining of method calls)
+     */
+    public RandomAccessSourceFactory setConcurrentAccess(boolean concurrentAccess){
+        this.concurrentAccess = concurrentAccess;
+        return this;
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a byte array
      * @param data the byte array
@@ -193,7 +210,8 @@ public final class RandomAccessSourceFactory {
      * Creates a {@link IRandomAccessSource} based on a filename string.
      * If the filename describes a URL, a URL based source is created
      * If the filename describes a file on disk, the contents may be read into memory (if {@code forceRead} is true),
-     * opened using memory mapped file channel (if usePlainRandomAccess is false), or
+     * opened using memory mapped file channel (if usePlainRandomAccess is false; the whole file is mapped at once
+     * if concurrentAccess is true), or
      * opened using {@link RandomAccessFile} access (if usePlainRandomAccess is true)
      * This call will automatically fail over to using {@link RandomAccessFile} if the memory map operation fails
      * @param filename the name of the file or resource to create the {@link IRandomAccessSource} for
@@ -240,6 +258,9 @@ public final class RandomAccessSourceFactory {
             try {
 
                 // ownership of the RAF passes to whatever source is created by createBestSource.
+                if (concurrentAccess) {
+                    return new ConcurrentMappedChannelRandomAccessSource(raf.getChannel());
+                }
                 return createBestSource(raf.getChannel());
             } catch (java.io.IOException e){
                 if (exceptionIsMapFailureException(e)) {
@@ -90,6 +90,20 @@ public class CFFFontSubsetIntegrationTest extends ExtendedITextTest {
         Assert.assertArrayEquals(cmpBytes, cffSubsetBytes);
     }
 
+    @Test
+    public void subsetNotoSansCjkJpBoldTwoUsedGlyphsFromFontProgramTest() throws IOException {
+        String cmpCff = SOURCE_FOLDER + "subsetNotoSansCJKjpBoldTwoUsedGlyphs.cff";
+
+        HashSet<Integer> glyphsUsed = new HashSet<>(Arrays.asList(59715, 59066));
+
+        // The subset is built from a view over the 'CFF ' table of the mapped font file
+        TrueTypeFont font = (TrueTypeFont) FontProgramFactory.createFont(CJK_JP_BOLD_PATH, false);
+        byte[] cffSubsetBytes = font.getCffSubset(glyphsUsed);
+
+        byte[] cmpBytes = Files.readAllBytes(Paths.get(cmpCff));
+        Assert.assertArrayEquals(cmpBytes, cffSubsetBytes);
+    }
+
     @Test
     public void subsetNotoSansJpRegularOneUsedGlyphTest() throws IOException {
         // In this case cid != gid for given characters.
@@ -0,0 +1,119 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ConcurrentMappedChannelRandomAccessSourceTest extends ExtendedITextTest {
+    private final static String SOURCE_FILE = "./src/test/resources/com/itextpdf/io/source/RAF.txt";
+
+    private final byte[] content = "Hello, world!".getBytes();
+
+    @Test
+    public void getByIndexAcrossSegmentsTest() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(new File(SOURCE_FILE), "r")) {
+            ConcurrentMappedChannelRandomAccessSource source =
+                    new ConcurrentMappedChannelRandomAccessSource(raf.getChannel(), 4);
+            Assert.assertEquals(content.length, source.length());
+            for (int i = 0; i < content.length; i++) {
+                Assert.assertEquals(content[i], source.get(i));
+            }
+            Assert.assertEquals(-1, source.get(content.length));
+            source.close();
+        }
+    }
+
+    @Test
+    public void getArrayAcrossSegmentsTest() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(new File(SOURCE_FILE), "r")) {
+            ConcurrentMappedChannelRandomAccessSource source =
+                    new ConcurrentMappedChannelRandomAccessSource(raf.getChannel(), 4);
+            byte[] dest = new byte[20];
+            Assert.assertEquals(content.length - 2, source.get(2, dest, 1, dest.length - 1));
+            for (int i = 2; i < content.length; i++) {
+                Assert.assertEquals(content[i], dest[i - 1]);
+            }
+            Assert.assertEquals(-1, source.get(content.length, dest, 0, 1));
+            source.close();
+        }
+    }
+
+    @Test
+    public void concurrentReadingTest() throws Exception {
+        RandomAccessFileOrArray file = new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().setConcurrentAccess(true).createBestSource(SOURCE_FILE));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final RandomAccessFileOrArray view = file.createView();
+                results.add(executor.submit(() -> {
+                    byte[] bytes = new byte[content.length];
+                    view.readFully(bytes);
+                    return bytes;
+                }));
+            }
+            for (Future<byte[]> result : results) {
+                Assert.assertArrayEquals(content, result.get());
+            }
+        } finally {
+            executor.shutdown();
+            file.close();
+        }
+    }
+}
@@ -101,6 +101,35 @@ public class PdfTokenizerTest extends ExtendedITextTest {
         Assert.assertEquals(21474836470L, tok.getLongValue());
     }
 
+    @Test
+    public void getDoubleValueTest() throws IOException {
+        String data = "15 -0.5 .25 3. +7 --12.5 0.1 123456789012345678 0.00000000000000000000001";
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        for (int i = 0; i < data.split(" ").length; i++) {
+            tok.nextToken();
+            Assert.assertEquals(TokenType.Number, tok.getTokenType());
+            Assert.assertEquals(Double.parseDouble(tok.getStringValue()), tok.getDoubleValue(), 0);
+        }
+    }
+
+    @Test
+    public void getByteContentWithoutAllocationTest() throws IOException {
+        String data = "/Name1 70";
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        tok.nextValidToken();
+        byte[] content = new byte[tok.getByteContentLength() + 1];
+        tok.getByteContent(content, 1);
+        Assert.assertEquals("Name1", new String(content, 1, 5, StandardCharsets.ISO_8859_1));
+    }
+
     @Test
     public void getIntValueTest() throws IOException {
         String data = "15";
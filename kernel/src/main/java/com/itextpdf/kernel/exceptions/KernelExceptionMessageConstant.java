@@ -108,6 +108,7 @@ public final class KernelExceptionMessageConstant {
             + "encrypted payload to a document opened in read only mode.";
     public static final String CANNOT_SET_ENCRYPTED_PAYLOAD_TO_ENCRYPTED_DOCUMENT = "Cannot set encrypted payload "
             + "to an encrypted document.";
+    public static final String CANNOT_SPLIT_DOCUMENT = "Cannot split document.";
     public static final String CANNOT_SPLIT_DOCUMENT_THAT_IS_BEING_WRITTEN = "Cannot split document that is "
             + "being written.";
     public static final String CANNOT_WRITE_TO_PDF_STREAM = "Cannot write to PdfStream.";
@@ -275,6 +276,8 @@ public final class KernelExceptionMessageConstant {
     public static final String RESOURCES_DO_NOT_CONTAIN_EXTGSTATE_ENTRY_UNABLE_TO_PROCESS_THIS_OPERATOR = "Resources "
             + "do not contain ExtGState entry. Unable to process operator {0}.";
     public static final String SHADING_TYPE_NOT_FOUND = "Shading type not found.";
+    public static final String SMART_MODE_INDEX_IS_ALREADY_USED_BY_ANOTHER_DOCUMENT = "The smart mode index is "
+            + "already used by another document. Create a new index for each document.";
     public static final String STDCF_NOT_FOUND_ENCRYPTION = "/StdCF not found (encryption)";
     public static final String STREAM_SHALL_END_WITH_ENDSTREAM = "Stream shall end with endstream keyword.";
     public static final String STRUCT_PARENT_INDEX_NOT_FOUND_IN_TAGGED_OBJECT = "StructParent index not found in "
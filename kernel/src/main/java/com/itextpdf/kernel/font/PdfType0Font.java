@@ -44,7 +44,6 @@
 package com.itextpdf.kernel.font;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
-import com.itextpdf.io.font.CFFFontSubset;
 import com.itextpdf.io.font.CMapEncoding;
 import com.itextpdf.io.font.CidFont;
 import com.itextpdf.io.font.CidFontProperties;
@@ -689,9 +688,8 @@ public class PdfType0Font extends PdfFont {
             if (ttf.isCff()) {
                 byte[] cffBytes;
                 if (subset) {
-                    byte[] bytes = ttf.getFontStreamBytes();
                     Set<Integer> usedGids = ttf.mapGlyphsCidsToGids(usedGlyphs);
-                    cffBytes = new CFFFontSubset(bytes, usedGids).Process();
+                    cffBytes = ttf.getCffSubset(usedGids);
                 } else {
                     cffBytes = ttf.getFontStreamBytes();
                 }
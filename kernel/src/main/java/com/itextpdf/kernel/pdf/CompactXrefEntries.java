@@ -0,0 +1,252 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Compact storage of in-use cross-reference entries, see {@link ReaderProperties#setCompactXref(boolean)}.
+ * <p>
+ * The entries are put into parallel primitive arrays directly by {@link PdfReader} while the cross-reference
+ * sections are read, so no {@link PdfIndirectReference} is created for them in advance. A reference is created
+ * when it is requested for the first time and is only weakly referenced by the storage, so that it can be
+ * reclaimed by the garbage collector when neither it nor the object it refers to are used anymore.
+ * The next request creates a new instance then.
+ * <p>
+ * The storage only grows while the cross-reference sections are registered, i.e. before the document can be
+ * read concurrently. Entries are looked up without locking: the type of an entry is written after the rest
+ * of the entry, so the entry is completely visible once its type is.
+ */
+final class CompactXrefEntries {
+
+    private static final int NO_ENTRY = 0;
+    private static final int IN_USE_ENTRY = 1;
+    private static final int COMPRESSED_ENTRY = 2;
+
+    private final PdfDocument document;
+    private AtomicIntegerArray types;
+
+    /**
+     * Offsets of in-use entries or indexes of compressed entries in their object streams.
+     */
+    private long[] offsetsOrIndexes;
+
+    /**
+     * Generation numbers of in-use entries or numbers of object streams of compressed entries.
+     */
+    private int[] generationsOrObjStreamNumbers;
+
+    /**
+     * References which have been handed out and may still be in use, indexed by object number.
+     */
+    private AtomicReferenceArray<EntryReference> handedOutReferences;
+    private final ReferenceQueue<PdfIndirectReference> reclaimedReferences = new ReferenceQueue<>();
+
+    CompactXrefEntries(PdfDocument document, int capacity) {
+        this.document = document;
+        this.types = new AtomicIntegerArray(capacity);
+        this.offsetsOrIndexes = new long[capacity];
+        this.generationsOrObjStreamNumbers = new int[capacity];
+        this.handedOutReferences = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Puts the in-use entry into the storage.
+     *
+     * @param objNr           the number of the object
+     * @param genNr           the generation number of the object, ignored for compressed objects
+     * @param offsetOrIndex   the offset of the object or its index in the object stream
+     * @param objStreamNumber the number of the object stream, 0 if the object is not compressed
+     */
+    void store(int objNr, int genNr, long offsetOrIndex, int objStreamNumber) {
+        ensureCapacity(objNr + 1);
+        offsetsOrIndexes[objNr] = offsetOrIndex;
+        generationsOrObjStreamNumbers[objNr] = objStreamNumber == 0 ? genNr : objStreamNumber;
+        types.set(objNr, objStreamNumber == 0 ? IN_USE_ENTRY : COMPRESSED_ENTRY);
+    }
+
+    /**
+     * Checks whether the storage contains the entry of the object, without creating its reference.
+     *
+     * @param objNr the number of the object
+     * @return true, if the entry is stored
+     */
+    boolean contains(int objNr) {
+        return objNr < types.length() && types.get(objNr) != NO_ENTRY;
+    }
+
+    /**
+     * Gets the reference of the object, creating a new instance if it has not been handed out yet
+     * or if the previous one has been reclaimed.
+     *
+     * @param objNr the number of the object
+     * @return the reference or null if the storage doesn't contain the object
+     */
+    PdfIndirectReference get(int objNr) {
+        if (objNr >= types.length()) {
+            return null;
+        }
+        int type = types.get(objNr);
+        if (type == NO_ENTRY) {
+            return null;
+        }
+        EntryReference handedOut = handedOutReferences.get(objNr);
+        PdfIndirectReference reference = handedOut == null ? null : handedOut.get();
+        if (reference != null) {
+            return reference;
+        }
+        purgeReclaimedReferences();
+        PdfIndirectReference created;
+        if (type == IN_USE_ENTRY) {
+            created = new PdfIndirectReference(document, objNr, generationsOrObjStreamNumbers[objNr],
+                    offsetsOrIndexes[objNr]);
+        } else {
+            created = new PdfIndirectReference(document, objNr, 0, offsetsOrIndexes[objNr]);
+            created.setObjStreamNumber(generationsOrObjStreamNumbers[objNr]);
+        }
+        EntryReference createdEntry = new EntryReference(created, reclaimedReferences);
+        // the same object may be requested by another thread at the same time, the first handed out reference wins
+        while (!handedOutReferences.compareAndSet(objNr, handedOut, createdEntry)) {
+            handedOut = handedOutReferences.get(objNr);
+            reference = handedOut == null ? null : handedOut.get();
+            if (reference != null) {
+                return reference;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Fixes the offset of the stored object, see {@link PdfReader#fixXref()}.
+     *
+     * @param objNr  the number of the object
+     * @param offset the actual offset of the object
+     */
+    void fixOffset(int objNr, long offset) {
+        if (contains(objNr)) {
+            offsetsOrIndexes[objNr] = offset;
+        }
+    }
+
+    /**
+     * Removes the object from the storage, e.g. if its reference is replaced in the table.
+     *
+     * @param objNr the number of the object
+     */
+    void remove(int objNr) {
+        if (objNr < types.length()) {
+            types.set(objNr, NO_ENTRY);
+            handedOutReferences.set(objNr, null);
+        }
+    }
+
+    /**
+     * Removes all the entries from the storage, e.g. if the cross-reference structure is read once again.
+     */
+    void clear() {
+        int capacity = types.length();
+        types = new AtomicIntegerArray(capacity);
+        handedOutReferences = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Calculates the number of handed out references which have not been reclaimed yet.
+     *
+     * @return the number of references kept in memory
+     */
+    int getCountOfHandedOutReferences() {
+        int count = 0;
+        for (int i = 0; i < handedOutReferences.length(); i++) {
+            EntryReference handedOut = handedOutReferences.get(i);
+            if (handedOut != null && handedOut.get() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Makes sure the storage can keep the entries with numbers below the capacity.
+     *
+     * @param capacity the required capacity
+     */
+    void ensureCapacity(int capacity) {
+        int length = types.length();
+        if (capacity <= length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, length << 1);
+        offsetsOrIndexes = Arrays.copyOf(offsetsOrIndexes, newCapacity);
+        generationsOrObjStreamNumbers = Arrays.copyOf(generationsOrObjStreamNumbers, newCapacity);
+        AtomicIntegerArray newTypes = new AtomicIntegerArray(newCapacity);
+        AtomicReferenceArray<EntryReference> newHandedOutReferences = new AtomicReferenceArray<>(newCapacity);
+        for (int i = 0; i < length; i++) {
+            newTypes.set(i, types.get(i));
+            newHandedOutReferences.set(i, handedOutReferences.get(i));
+        }
+        types = newTypes;
+        handedOutReferences = newHandedOutReferences;
+    }
+
+    private void purgeReclaimedReferences() {
+        EntryReference reclaimed;
+        while ((reclaimed = (EntryReference) reclaimedReferences.poll()) != null) {
+            // the slot may have been taken by a newer instance already
+            handedOutReferences.compareAndSet(reclaimed.objNr, reclaimed, null);
+        }
+    }
+
+    private static final class EntryReference extends WeakReference<PdfIndirectReference> {
+        private final int objNr;
+
+        EntryReference(PdfIndirectReference reference, ReferenceQueue<PdfIndirectReference> queue) {
+            super(reference, queue);
+            this.objNr = reference.getObjNumber();
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cross-reference sections of a document which entries are parsed on demand, see
+ * {@link ReaderProperties#setLazyXrefLoading(boolean)}.
+ * <p>
+ * Sections are kept in the order they are read by {@link PdfReader}, i.e. starting from the latest one.
+ * An entry is resolved the same way as it would be resolved if all the sections were read
+ * when the document was opened: the first section which defines the object wins.
+ */
+final class LazyXrefSections {
+
+    private static final int TABLE_ENTRY_LENGTH = 20;
+
+    private final PdfDocument document;
+    private final RandomAccessFileOrArray file;
+    private final List<Section> sections = new ArrayList<>();
+    private final byte[] entryBuffer = new byte[TABLE_ENTRY_LENGTH];
+    private boolean damaged;
+
+    LazyXrefSections(PdfDocument document, RandomAccessFileOrArray file) {
+        this.document = document;
+        this.file = file;
+    }
+
+    /**
+     * Registers a subsection of a cross-reference table. The tokenizer shall be positioned right after
+     * the subsection header. In case of success, the tokenizer is positioned right after the subsection entries.
+     *
+     * @param tokens the tokenizer of the document
+     * @param start  the number of the first object in the subsection
+     * @param count  the number of entries in the subsection
+     * @return true, if the subsection has been registered, false if it shall be read at once
+     * @throws IOException on error
+     */
+    boolean addTableSubsection(PdfTokenizer tokens, int start, int count) throws IOException {
+        long headerEnd = tokens.getPosition();
+        int ch;
+        do {
+            ch = tokens.read();
+        } while (PdfTokenizer.isWhitespace(ch));
+        long entriesOffset = tokens.getPosition() - 1;
+        long entriesEnd = entriesOffset + (long) count * TABLE_ENTRY_LENGTH;
+        boolean registered = count > 0 && ch >= '0' && ch <= '9' && entriesEnd <= tokens.length()
+                && readTableEntry(entriesOffset) != null
+                && readTableEntry(entriesEnd - TABLE_ENTRY_LENGTH) != null;
+        if (registered) {
+            tokens.seek(entriesEnd);
+            tokens.nextValidToken();
+            registered = tokens.getTokenType() == PdfTokenizer.TokenType.Number
+                    || tokens.tokenValueEqualsTo(PdfTokenizer.Trailer);
+        }
+        if (!registered) {
+            tokens.seek(headerEnd);
+            return false;
+        }
+        TableSubsection subsection = new TableSubsection(start, count, entriesOffset);
+        long[] firstEntry = readTableEntry(entriesOffset);
+        if (start == 1 && firstEntry[0] == 0 && firstEntry[1] == 65535) {
+            // The same fix of incorrect start number as the one applied in PdfReader#readXrefSection
+            subsection = new TableSubsection(0, count, entriesOffset);
+            subsection.skipFirstEntry = true;
+        }
+        sections.add(subsection);
+        document.getXref().extendForLazyEntries(subsection.start + count - 1);
+        tokens.seek(entriesEnd);
+        return true;
+    }
+
+    /**
+     * Registers the decoded content of a cross-reference stream.
+     *
+     * @param bytes   the decoded bytes of the stream
+     * @param widths  the values of the W entry of the stream
+     * @param index   the values of the Index entry of the stream
+     * @return true, if the stream has been registered, false if it shall be read at once
+     */
+    boolean addStreamSection(byte[] bytes, int[] widths, int[] index) {
+        int entryLength = widths[0] + widths[1] + widths[2];
+        int[] byteOffsets = new int[index.length / 2];
+        long position = 0;
+        for (int i = 0; i < byteOffsets.length; i++) {
+            byteOffsets[i] = (int) position;
+            position += (long) index[2 * i + 1] * entryLength;
+            if (index[2 * i] < 0 || index[2 * i + 1] < 0 || position > bytes.length) {
+                return false;
+            }
+        }
+        StreamSection section = new StreamSection(bytes, widths, index, byteOffsets);
+        // entries of unknown types break the reading of the document, so they are checked in advance
+        for (int i = 0; i < byteOffsets.length; i++) {
+            int length = index[2 * i + 1];
+            for (int k = 0; k < length; k++) {
+                if (section.readType(byteOffsets[i] + k * entryLength) > 2) {
+                    return false;
+                }
+            }
+        }
+        sections.add(section);
+        for (int i = 0; i < byteOffsets.length; i++) {
+            if (index[2 * i + 1] > 0) {
+                document.getXref().extendForLazyEntries(index[2 * i] + index[2 * i + 1] - 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the document the sections belong to.
+     *
+     * @return the document
+     */
+    PdfDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * Forgets all the registered sections, e.g. if the cross-reference structure is read once again.
+     */
+    void clear() {
+        sections.clear();
+    }
+
+    /**
+     * Resolves the entry of the specified object in the cross-reference table.
+     *
+     * @param objNr the number of the object
+     * @param xref  the cross-reference table to put the resolved reference into
+     * @return false if a damaged entry has been met, so that the table shall be rebuilt, true otherwise
+     */
+    synchronized boolean resolve(int objNr, PdfXrefTable xref) {
+        try {
+            for (Section section : sections) {
+                if (section.resolve(objNr, xref)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.INVALID_XREF_TABLE, e);
+        }
+        return !damaged;
+    }
+
+    /**
+     * Applies the entry to the cross-reference table in the same way as {@link PdfReader} does when
+     * the cross-reference sections are read.
+     *
+     * @return true, if the entry has been applied and the following sections shall not be checked
+     */
+    private boolean applyEntry(PdfXrefTable xref, int objNr, int genNr, long offset, int objStreamNumber,
+            boolean free) {
+        if (!free && xref.addCompactEntry(objNr, genNr, offset, objStreamNumber)) {
+            return true;
+        }
+        PdfIndirectReference reference = xref.getWithoutLoading(objNr);
+        boolean refReadingState = reference != null && reference.checkState(PdfObject.READING)
+                && reference.getGenNumber() == genNr;
+        // for references that are added by xref table itself (like 0 entry)
+        boolean refFirstEncountered = reference == null || !refReadingState && reference.getDocument() == null;
+        if (refFirstEncountered) {
+            PdfIndirectReference newReference = new PdfIndirectReference(document, objNr, genNr, offset);
+            newReference.setObjStreamNumber(objStreamNumber);
+            if (free) {
+                newReference.setState(PdfObject.FREE);
+            }
+            xref.add(newReference);
+            return true;
+        } else if (refReadingState) {
+            reference.setOffset(offset);
+            reference.setObjStreamNumber(objStreamNumber);
+            reference.clearState(PdfObject.READING);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads the entry of a cross-reference table.
+     *
+     * @return the array of offset, generation number and 1 for free entries or 0 for in-use ones,
+     * null if the entry is malformed
+     */
+    private long[] readTableEntry(long position) throws IOException {
+        file.seek(position);
+        if (file.read(entryBuffer, 0, TABLE_ENTRY_LENGTH) != TABLE_ENTRY_LENGTH
+                || entryBuffer[10] != ' ' || entryBuffer[16] != ' '
+                || !PdfTokenizer.isWhitespace(entryBuffer[18]) || !PdfTokenizer.isWhitespace(entryBuffer[19])) {
+            return null;
+        }
+        long offset = parseDigits(0, 10);
+        long genNr = parseDigits(11, 16);
+        if (offset < 0 || genNr < 0) {
+            return null;
+        }
+        if (entryBuffer[17] == 'n') {
+            return offset == 0 ? null : new long[] {offset, genNr, 0};
+        } else if (entryBuffer[17] == 'f') {
+            return new long[] {offset, genNr, 1};
+        }
+        return null;
+    }
+
+    private long parseDigits(int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = entryBuffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private abstract static class Section {
+        abstract boolean resolve(int objNr, PdfXrefTable xref) throws IOException;
+    }
+
+    private final class TableSubsection extends Section {
+        private final int start;
+        private final int count;
+        private final long entriesOffset;
+        private boolean skipFirstEntry;
+
+        TableSubsection(int start, int count, long entriesOffset) {
+            this.start = start;
+            this.count = count;
+            this.entriesOffset = entriesOffset;
+        }
+
+        @Override
+        boolean resolve(int objNr, PdfXrefTable xref) throws IOException {
+            if (objNr < start || objNr >= start + count || skipFirstEntry && objNr == start) {
+                return false;
+            }
+            long[] entry = readTableEntry(entriesOffset + (long) (objNr - start) * TABLE_ENTRY_LENGTH);
+            if (entry == null) {
+                // the same entry breaks the reading of the whole table when it's read at once
+                damaged = true;
+                return true;
+            }
+            return applyEntry(xref, objNr, (int) entry[1], entry[0], 0, entry[2] == 1);
+        }
+    }
+
+    private final class StreamSection extends Section {
+        private final byte[] bytes;
+        private final int[] widths;
+        private final int[] index;
+        private final int[] byteOffsets;
+
+        StreamSection(byte[] bytes, int[] widths, int[] index, int[] byteOffsets) {
+            this.bytes = bytes;
+            this.widths = widths;
+            this.index = index;
+            this.byteOffsets = byteOffsets;
+        }
+
+        @Override
+        boolean resolve(int objNr, PdfXrefTable xref) {
+            for (int i = 0; i < byteOffsets.length; i++) {
+                int start = index[2 * i];
+                if (objNr >= start && objNr < start + index[2 * i + 1]) {
+                    int position = byteOffsets[i] + (objNr - start) * (widths[0] + widths[1] + widths[2]);
+                    int type = readType(position);
+                    long field2 = readField(position + widths[0], widths[1]);
+                    int field3 = (int) readField(position + widths[0] + widths[1], widths[2]);
+                    boolean applied;
+                    switch (type) {
+                        case 0:
+                            applied = applyEntry(xref, objNr, field3, field2, 0, true);
+                            break;
+                        case 1:
+                            applied = applyEntry(xref, objNr, field3, field2, 0, false);
+                            break;
+                        default:
+                            applied = applyEntry(xref, objNr, 0, field3, (int) field2, false);
+                            break;
+                    }
+                    if (applied) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        int readType(int position) {
+            return widths[0] > 0 ? (int) readField(position, widths[0]) : 1;
+        }
+
+        private long readField(int position, int width) {
+            long value = 0;
+            for (int k = 0; k < width; ++k) {
+                value = (value << 8) + (bytes[position + k] & 0xff);
+            }
+            return value;
+        }
+    }
+}
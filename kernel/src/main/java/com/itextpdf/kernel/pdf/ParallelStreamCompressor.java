@@ -0,0 +1,159 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Compresses content of the flushed streams on the executor threads and writes the streams to the
+ * {@link PdfWriter} in the order they were flushed, as soon as their compressed content is ready.
+ * NOTE Only for internal use in PdfWriter!
+ */
+class ParallelStreamCompressor {
+
+    /**
+     * Streams with shorter content are compressed on the flushing thread, since for them
+     * the overhead of passing the task to the executor exceeds the compression cost.
+     */
+    static final int MIN_PARALLEL_COMPRESSION_LENGTH = 4096;
+
+    /**
+     * Max number of streams which are compressed, but not yet written to the document.
+     * Limits the amount of memory held by the streams waiting for their turn to be written.
+     */
+    static final int MAX_PENDING_STREAMS = 64;
+
+    private final PdfWriter writer;
+    private final ExecutorService executor;
+    private final Deque<PendingStream> pendingStreams = new ArrayDeque<>();
+
+    ParallelStreamCompressor(PdfWriter writer, ExecutorService executor) {
+        this.writer = writer;
+        this.executor = executor;
+    }
+
+    /**
+     * Passes the stream to the executor to be compressed if the stream content is big enough and is
+     * to be Flate compressed. The stream is written to the document later, on one of the subsequent
+     * calls of this class methods. Full object streams are accepted as well, so that objects are
+     * still added to the next object stream while the previous one is being compressed. The
+     * cross-reference stream is never accepted, since it shall be written at the known position.
+     *
+     * @param pdfStream the stream to be written to the document
+     * @return true if the stream is accepted to be compressed in parallel, false if the stream
+     * shall be written to the document in a regular way
+     */
+    boolean submit(final PdfStream pdfStream) {
+        if (PdfName.XRef.equals(pdfStream.getAsName(PdfName.Type))
+                || !writer.prepareInMemoryStreamCompression(pdfStream)
+                || ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).size()
+                < MIN_PARALLEL_COMPRESSION_LENGTH) {
+            return false;
+        }
+        writer.updateCompressionFilter(pdfStream);
+        Future<ByteArrayOutputStream> compressedContent = executor.submit(new Callable<ByteArrayOutputStream>() {
+            @Override
+            public ByteArrayOutputStream call() throws Exception {
+                return PdfOutputStream.compressStreamContent(pdfStream);
+            }
+        });
+        pendingStreams.addLast(new PendingStream(pdfStream, compressedContent));
+        while (pendingStreams.size() > MAX_PENDING_STREAMS) {
+            writePendingStream(pendingStreams.removeFirst());
+        }
+        return true;
+    }
+
+    /**
+     * Writes to the document the streams which compression has already finished, keeping the
+     * order in which the streams were submitted.
+     */
+    void writeCompressedStreams() {
+        while (!pendingStreams.isEmpty() && pendingStreams.peekFirst().compressedContent.isDone()) {
+            writePendingStream(pendingStreams.removeFirst());
+        }
+    }
+
+    /**
+     * Waits for compression of all the submitted streams to finish and writes them to the document.
+     */
+    void writeAllStreams() {
+        while (!pendingStreams.isEmpty()) {
+            writePendingStream(pendingStreams.removeFirst());
+        }
+    }
+
+    private void writePendingStream(PendingStream pending) {
+        ByteArrayOutputStream content;
+        try {
+            content = pending.compressedContent.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e, pending.stream);
+        } catch (ExecutionException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e.getCause(),
+                    pending.stream);
+        }
+        writer.writeCompressedStream(pending.stream, content);
+    }
+
+    private static final class PendingStream {
+        final PdfStream stream;
+        final Future<ByteArrayOutputStream> compressedContent;
+
+        PendingStream(PdfStream stream, Future<ByteArrayOutputStream> compressedContent) {
+            this.stream = stream;
+            this.compressedContent = compressedContent;
+        }
+    }
+}
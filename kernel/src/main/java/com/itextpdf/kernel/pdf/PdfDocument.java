@@ -212,6 +212,12 @@ public class PdfDocument implements IEventDispatcher, Closeable {
      */
     Map<PdfIndirectReference, byte[]> serializedObjectsCache = new HashMap<>();
 
+    /**
+     * Caches of the hashes of already serialized objects from this document for smart mode,
+     * per {@link ISmartModeHashAlgorithm}.
+     */
+    Map<ISmartModeHashAlgorithm, Map<PdfIndirectReference, byte[]>> serializedObjectsHashesCache = new HashMap<>();
+
     /**
      * Handler which will be used for decompression of pdf streams.
      */
@@ -989,6 +995,8 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                     }
                 }
 
+                writer.flushParallelCompressedStreams();
+
                 // To avoid encryption of XrefStream and Encryption dictionary remove crypto.
                 // NOTE. No need in reverting, because it is the last operation with the document.
                 writer.crypto = null;
@@ -1377,9 +1385,29 @@ public class PdfDocument implements IEventDispatcher, Closeable {
      * @param sourceDoc source document
      */
     public void flushCopiedObjects(PdfDocument sourceDoc) {
+        flushCopiedObjects(sourceDoc, false);
+    }
+
+    /**
+     * Flush all copied objects and remove them from copied cache.
+     * Optionally also releases the smart mode caches of the serialized content of the source document objects.
+     * <p>
+     * The serialized content is only needed to look up the copies of the source objects in smart mode,
+     * so releasing it is useful when the source document is not going to be copied from anymore, while
+     * the source document instance itself is still alive. If the objects are copied again, their
+     * serialized content is recalculated.
+     *
+     * @param sourceDoc              source document
+     * @param releaseSmartModeCaches true to release the smart mode caches of the source document, false otherwise
+     */
+    public void flushCopiedObjects(PdfDocument sourceDoc, boolean releaseSmartModeCaches) {
         if (getWriter() != null) {
             getWriter().flushCopiedObjects(sourceDoc.getDocumentId());
         }
+        if (releaseSmartModeCaches) {
+            sourceDoc.serializedObjectsCache.clear();
+            sourceDoc.serializedObjectsHashesCache.clear();
+        }
     }
 
     /**
@@ -340,17 +340,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                             && (allowCompression || userDefinedCompression)) {
                         // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        }
-                        zip.finish();
+                        byteArrayStream = compressStreamContent(pdfStream);
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
@@ -362,29 +352,96 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                             byteArrayStream = (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
                         }
                     }
-                    if (checkEncryption(pdfStream)) {
-                        ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
-                        OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
-                        byteArrayStream.writeTo(ose);
-                        ose.finish();
-                        byteArrayStream = encodedStream;
-                    }
                 } catch (IOException ioe) {
                     throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, ioe);
                 }
-                pdfStream.put(PdfName.Length, new PdfNumber(byteArrayStream.size()));
-                pdfStream.updateLength((int) byteArrayStream.size());
-                this.write((PdfDictionary) pdfStream);
-                writeBytes(PdfOutputStream.stream);
-                byteArrayStream.writeTo(this);
-                byteArrayStream.close();
-                writeBytes(PdfOutputStream.endstream);
+                writeStreamContent(pdfStream, byteArrayStream);
+            }
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e, pdfStream);
+        }
+    }
+
+    /**
+     * Checks whether the content of the stream, which is kept in memory, is going to be Flate compressed
+     * when the stream is written. The default compression level of the writer is assigned to the stream
+     * if the stream has no compression level defined.
+     *
+     * @param pdfStream the stream to check
+     * @return true if the stream content is kept in memory and is to be compressed, false otherwise
+     */
+    boolean prepareInMemoryStreamCompression(PdfStream pdfStream) {
+        if (pdfStream.getInputStream() != null || pdfStream.getOutputStream() == null) {
+            return false;
+        }
+        boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+        if (!userDefinedCompression) {
+            pdfStream.setCompressionLevel(document != null ?
+                    document.getWriter().getCompressionLevel() : CompressionConstants.DEFAULT_COMPRESSION);
+        }
+        boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
+        return pdfStream.getCompressionLevel() != CompressionConstants.NO_COMPRESSION
+                && !containsFlateFilter(pdfStream) && decodeParamsArrayNotFlushed(pdfStream)
+                && (allowCompression || userDefinedCompression);
+    }
+
+    /**
+     * Writes the stream with the already prepared content, which is encrypted if needed. Stream's
+     * /Length entry is updated to correspond the written content.
+     *
+     * @param pdfStream the stream to write
+     * @param content the content of the stream, with all the filters of the stream already applied
+     *                except for the encryption
+     */
+    void writeStreamContent(PdfStream pdfStream, ByteArrayOutputStream content) {
+        try {
+            if (checkEncryption(pdfStream)) {
+                ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
+                OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
+                content.writeTo(ose);
+                ose.finish();
+                content = encodedStream;
             }
+        } catch (IOException ioe) {
+            throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, ioe);
+        }
+        try {
+            pdfStream.put(PdfName.Length, new PdfNumber(content.size()));
+            pdfStream.updateLength((int) content.size());
+            this.write((PdfDictionary) pdfStream);
+            writeBytes(PdfOutputStream.stream);
+            content.writeTo(this);
+            content.close();
+            writeBytes(PdfOutputStream.endstream);
         } catch (IOException e) {
             throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e, pdfStream);
         }
     }
 
+    /**
+     * Compresses the content of the stream, which is kept in memory, with Flate filter. The method
+     * doesn't modify the stream, so it is safe to call it from any thread, as long as the stream
+     * content is not modified simultaneously.
+     *
+     * @param pdfStream the stream which content shall be compressed
+     * @return compressed content of the stream
+     * @throws IOException if compression fails
+     */
+    static ByteArrayOutputStream compressStreamContent(PdfStream pdfStream) throws IOException {
+        ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
+        if (pdfStream instanceof PdfObjectStream) {
+            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+        } else {
+            assert pdfStream.getOutputStream() != null : "Error in outputStream";
+            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+        }
+        zip.finish();
+        return byteArrayStream;
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || (crypto.isEmbeddedFilesOnly() && !document.doesStreamBelongToEmbeddedFile(pdfStream))) {
             return false;
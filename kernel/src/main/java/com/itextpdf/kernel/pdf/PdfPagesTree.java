@@ -49,6 +49,8 @@ import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +70,12 @@ class PdfPagesTree {
     private List<PdfIndirectReference> pageRefs;
     private List<PdfPages> parents;
     private List<PdfPage> pages;
+
+    // Reverse index of pageRefs: zero-based page index by page reference. An entry is valid only if pageRefs
+    // contains the same reference at that index, entries of shifted pages are fixed up lazily.
+    private Map<PdfIndirectReference, Integer> pageIndexes;
+    // All the pageRefs before this index are loaded and have valid entries in pageIndexes.
+    private int indexedPagesCount;
     private PdfDocument document;
     private boolean generated = false;
     private PdfPages root;
@@ -84,6 +92,7 @@ class PdfPagesTree {
         this.pageRefs = new ArrayList<>();
         this.parents = new ArrayList<>();
         this.pages = new ArrayList<>();
+        this.pageIndexes = new IdentityHashMap<>();
         if (pdfCatalog.getPdfObject().containsKey(PdfName.Pages)) {
             PdfDictionary pages = pdfCatalog.getPdfObject().getAsDictionary(PdfName.Pages);
             if (pages == null)
@@ -167,7 +176,14 @@ class PdfPagesTree {
      * in this tree, or 0 if this tree does not contain the page.
      */
     public int getPageNumber(PdfPage page) {
-        return pages.indexOf(page) + 1;
+        PdfIndirectReference pageRef = page == null ? null : page.getPdfObject().getIndirectReference();
+        if (pageRef != null) {
+            int pageNum = findPageIndex(pageRef);
+            if (pageNum >= 0 && pages.get(pageNum) == page) {
+                return pageNum + 1;
+            }
+        }
+        return 0;
     }
 
     /**
@@ -175,20 +191,11 @@ class PdfPagesTree {
      * specified by it's PdfDictionary, or 0 if this tree does not contain the page.
      */
     public int getPageNumber(PdfDictionary pageDictionary) {
-        int pageNum = pageRefs.indexOf(pageDictionary.getIndirectReference());
-        if (pageNum >= 0) {
-            return pageNum + 1;
-        }
-        for (int i = 0; i < pageRefs.size(); i++) {
-            if (pageRefs.get(i) == null) {
-                loadPage(i);
-            }
-            if (pageRefs.get(i).equals(pageDictionary.getIndirectReference())) {
-                return i + 1;
-            }
+        PdfIndirectReference pageRef = pageDictionary.getIndirectReference();
+        if (pageRef == null) {
+            return 0;
         }
-
-        return 0;
+        return findPageIndex(pageRef) + 1;
     }
 
     /**
@@ -219,8 +226,10 @@ class PdfPagesTree {
         pdfPage.makeIndirect(document);
         pdfPages.addPage(pdfPage.getPdfObject());
         pdfPage.parentPages = pdfPages;
-        pageRefs.add(pdfPage.getPdfObject().getIndirectReference());
+        PdfIndirectReference pageRef = pdfPage.getPdfObject().getIndirectReference();
+        pageRefs.add(pageRef);
         pages.add(pdfPage);
+        indexPageRef(pageRef, pageRefs.size() - 1);
     }
 
     /**
@@ -244,8 +253,11 @@ class PdfPagesTree {
         parentPages.addPage(index, pdfPage);
         pdfPage.parentPages = parentPages;
         correctPdfPagesFromProperty(parentIndex + 1, +1);
-        pageRefs.add(index, pdfPage.getPdfObject().getIndirectReference());
+        PdfIndirectReference pageRef = pdfPage.getPdfObject().getIndirectReference();
+        pageRefs.add(index, pageRef);
         pages.add(index, pdfPage);
+        invalidatePageIndexes(index);
+        indexPageRef(pageRef, index);
     }
 
     /**
@@ -323,6 +335,7 @@ class PdfPagesTree {
     protected void clearPageRefs() {
         pageRefs = null;
         pages = null;
+        pageIndexes = null;
     }
 
     protected List<PdfPages> getParents() {
@@ -462,12 +475,10 @@ class PdfPagesTree {
             // NOTE optimization? when we already found needed index
             for (int i = 0; i < parent.getCount(); i++) {
                 PdfObject kid = kids.get(i, false);
-                if (kid instanceof PdfIndirectReference) {
-                    pageRefs.set(from + i, (PdfIndirectReference) kid);
-                } else {
-                    pageRefs.set(from + i, kid.getIndirectReference());
-                }
-
+                PdfIndirectReference pageRef = kid instanceof PdfIndirectReference
+                        ? (PdfIndirectReference) kid : kid.getIndirectReference();
+                pageRefs.set(from + i, pageRef);
+                indexPageRef(pageRef, from + i);
             }
         }
     }
@@ -490,12 +501,56 @@ class PdfPagesTree {
             }
             pageRefs.remove(pageNum);
             pages.remove(pageNum);
+            invalidatePageIndexes(pageNum);
             return true;
         } else {
             return false;
         }
     }
 
+    // zero-based index, -1 if the page is not found
+    private int findPageIndex(PdfIndirectReference pageRef) {
+        Integer pageIndex = pageIndexes.get(pageRef);
+        if (isValidPageIndex(pageRef, pageIndex)) {
+            return (int) pageIndex;
+        }
+        // index the pages which were shifted or not loaded yet, until the needed one is found
+        for (int i = indexedPagesCount; i < pageRefs.size(); i++) {
+            if (pageRefs.get(i) == null) {
+                loadPage(i);
+            }
+            indexPageRef(pageRefs.get(i), i);
+            indexedPagesCount = i + 1;
+            if (pageRefs.get(i) == pageRef) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isValidPageIndex(PdfIndirectReference pageRef, Integer pageIndex) {
+        return pageIndex != null && pageIndex < pageRefs.size() && pageRefs.get((int) pageIndex) == pageRef;
+    }
+
+    private void indexPageRef(PdfIndirectReference pageRef, int pageIndex) {
+        if (pageRef == null) {
+            return;
+        }
+        Integer existingIndex = pageIndexes.get(pageRef);
+        // keep the first occurrence in case the same page is referenced several times in the tree
+        if (!isValidPageIndex(pageRef, existingIndex) || existingIndex > pageIndex) {
+            pageIndexes.put(pageRef, pageIndex);
+        }
+        if (pageIndex == indexedPagesCount && pageIndex == pageRefs.size() - 1) {
+            indexedPagesCount++;
+        }
+    }
+
+    // pages starting from the specified zero-based index were shifted
+    private void invalidatePageIndexes(int pageIndex) {
+        indexedPagesCount = Math.min(indexedPagesCount, pageIndex);
+    }
+
     // zero-based index
     private int findPageParent(int pageNum) {
         int low = 0;
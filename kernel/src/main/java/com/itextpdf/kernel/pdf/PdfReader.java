@@ -67,6 +67,7 @@ import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -106,6 +107,15 @@ public class PdfReader implements Closeable {
     //indicate nearest first Indirect reference object which includes current reading the object, using for PdfString decrypt
     private PdfIndirectReference currentIndirectReference;
 
+    // guards the shared tokenizer when the document is read by several threads, see ReaderProperties#setConcurrentReading
+    private final Object tokensLock = new Object();
+
+    // cross-reference sections which entries are loaded on demand, see ReaderProperties#setLazyXrefLoading
+    private LazyXrefSections lazyXrefSections;
+
+    // view of the original source created at construction; raw reads never go through the shared tokenizer
+    private final RandomAccessFileOrArray originalFile;
+
     protected PdfTokenizer tokens;
     protected PdfEncryption decrypt;
 
@@ -185,6 +195,7 @@ public class PdfReader implements Closeable {
         this(
                 new RandomAccessSourceFactory()
                         .setForceRead(false)
+                        .setConcurrentAccess(properties.concurrentReading)
                         .createBestSource(filename),
                 properties,
                 true
@@ -205,6 +216,7 @@ public class PdfReader implements Closeable {
     PdfReader(IRandomAccessSource byteSource, ReaderProperties properties, boolean closeStream) throws IOException {
         this.properties = properties;
         this.tokens = getOffsetTokeniser(byteSource, closeStream);
+        this.originalFile = tokens.getSafeFile();
     }
 
     /**
@@ -286,6 +298,17 @@ public class PdfReader implements Closeable {
         tokens.setCloseStream(closeStream);
     }
 
+    /**
+     * Gets whether the reader has been opened for concurrent reading of objects and streams.
+     *
+     * @return true, if the reader allows to read objects and streams from several threads,
+     * otherwise false.
+     * @see ReaderProperties#setConcurrentReading(boolean)
+     */
+    public boolean isConcurrentReading() {
+        return properties.concurrentReading;
+    }
+
     /**
      * If any exception generated while reading XRef section, PdfReader will try to rebuild it.
      *
@@ -388,7 +411,13 @@ public class PdfReader implements Closeable {
     public byte[] readStreamBytesRaw(PdfStream stream) throws IOException {
         PdfName type = stream.getAsName(PdfName.Type);
         if (!PdfName.XRef.equals(type) && !PdfName.ObjStm.equals(type)) {
-            checkPdfStreamLength(stream);
+            if (properties.concurrentReading) {
+                synchronized (tokensLock) {
+                    checkPdfStreamLength(stream);
+                }
+            } else {
+                checkPdfStreamLength(stream);
+            }
         }
         long offset = stream.getOffset();
         if (offset <= 0)
@@ -396,7 +425,7 @@ public class PdfReader implements Closeable {
         int length = stream.getLength();
         if (length <= 0)
             return new byte[0];
-        RandomAccessFileOrArray file = tokens.getSafeFile();
+        RandomAccessFileOrArray file = originalFile.createView();
         byte[] bytes = null;
         try {
             file.seek(offset);
@@ -427,8 +456,12 @@ public class PdfReader implements Closeable {
                     filter.release();
                 }
                 if (!skip) {
-                    decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
-                    bytes = decrypt.decryptByteArray(bytes);
+                    // the decryption state is shared, so in concurrent reading mode streams are decrypted one at a time
+                    synchronized (decrypt) {
+                        decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(),
+                                stream.getIndirectReference().getGenNumber());
+                        bytes = decrypt.decryptByteArray(bytes);
+                    }
                 }
             }
         } finally {
@@ -554,7 +587,7 @@ public class PdfReader implements Closeable {
      * @return a new file instance of the original PDF document
      */
     public RandomAccessFileOrArray getSafeFile() {
-        return tokens.getSafeFile();
+        return originalFile.createView();
     }
 
     /**
@@ -563,7 +596,7 @@ public class PdfReader implements Closeable {
      * @return The size of the opened file.
      */
     public long getFileLength() {
-        return tokens.getSafeFile().length();
+        return originalFile.length();
     }
 
     /**
@@ -729,6 +762,63 @@ public class PdfReader implements Closeable {
         return encrypted;
     }
 
+    /**
+     * Rebuilds the cross-reference table when a damaged entry is met in the sections which are loaded on demand,
+     * see {@link ReaderProperties#setLazyXrefLoading(boolean)}. The objects are looked up in the same way as in
+     * {@link #rebuildXref()}, while the trailer and the references which have been already loaded are kept,
+     * since they may be in use.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    void rebuildDamagedLazyXref() throws IOException {
+        if (!StrictnessLevel.CONSERVATIVE.isStricter(this.getStrictnessLevel())) {
+            throw new PdfException(
+                    KernelExceptionMessageConstant.INVALID_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
+        }
+        Logger logger = LoggerFactory.getLogger(PdfReader.class);
+        logger.error(IoLogMessageConstant.XREF_ERROR_WHILE_READING_TABLE_WILL_BE_REBUILT);
+        lazyXrefSections = null;
+        rebuiltXref = true;
+        Map<Integer, PdfIndirectReference> foundReferences = new HashMap<>();
+        PdfTokenizer fileTokenizer = new PdfTokenizer(originalFile.createView());
+        try {
+            ByteBuffer buffer = new ByteBuffer(24);
+            PdfTokenizer lineTokenizer =
+                    new PdfTokenizer(new RandomAccessFileOrArray(new ReusableRandomAccessSource(buffer)));
+            for (; ; ) {
+                long pos = fileTokenizer.getPosition();
+                buffer.reset();
+                if (!fileTokenizer.readLineSegment(buffer, true)) {
+                    break;
+                }
+                if (buffer.get(0) >= '0' && buffer.get(0) <= '9') {
+                    int[] obj = PdfTokenizer.checkObjectStart(lineTokenizer);
+                    if (obj == null) {
+                        continue;
+                    }
+                    PdfIndirectReference found = foundReferences.get(obj[0]);
+                    if (found == null || found.getGenNumber() <= obj[1]) {
+                        foundReferences.put(obj[0], new PdfIndirectReference(pdfDocument, obj[0], obj[1], pos));
+                    }
+                }
+            }
+        } finally {
+            fileTokenizer.close();
+        }
+        PdfXrefTable xref = pdfDocument.getXref();
+        for (PdfIndirectReference found : foundReferences.values()) {
+            PdfIndirectReference reference = xref.getWithoutLoading(found.getObjNumber());
+            if (reference == null
+                    || reference.isFree() && reference.getGenNumber() <= found.getGenNumber()) {
+                xref.add(found);
+            } else if (reference.checkState(PdfObject.READING)) {
+                reference.genNr = found.getGenNumber();
+                reference.setOffset(found.getOffset());
+                reference.clearState(PdfObject.READING);
+            }
+        }
+    }
+
     /**
      * Parses the entire PDF
      *
@@ -741,6 +831,13 @@ public class PdfReader implements Closeable {
         } catch (IllegalArgumentException exc) {
             throw new PdfException(KernelExceptionMessageConstant.PDF_VERSION_IS_NOT_VALID, version);
         }
+        if (properties.lazyXrefLoading && pdfDocument.getWriter() == null) {
+            lazyXrefSections = new LazyXrefSections(pdfDocument, originalFile.createView());
+            pdfDocument.getXref().setLazySections(lazyXrefSections);
+        }
+        if (properties.compactXref && pdfDocument.getWriter() == null) {
+            pdfDocument.getXref().enableCompactStorage(pdfDocument);
+        }
         try {
             readXref();
         } catch (XrefCycledReferencesException | MemoryLimitsAwareException | InvalidXRefPrevException ex) {
@@ -767,65 +864,73 @@ public class PdfReader implements Closeable {
         int first = objectStream.getAsNumber(PdfName.First).intValue();
         int n = objectStream.getAsNumber(PdfName.N).intValue();
         byte[] bytes = readStreamBytes(objectStream, true);
-        PdfTokenizer saveTokens = tokens;
-        try {
-            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
-            int[] address = new int[n];
-            int[] objNumber = new int[n];
-            boolean ok = true;
-            for (int k = 0; k < n; ++k) {
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
-                }
-                objNumber[k] = tokens.getIntValue();
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
-                }
-                address[k] = tokens.getIntValue() + first;
+        // the object stream is parsed with its own tokenizer, so that concurrent readers of the shared one
+        // never observe a tokenizer positioned over the decoded object stream bytes
+        PdfTokenizer objStmTokens = new PdfTokenizer(
+                new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
+        int[] address = new int[n];
+        int[] objNumber = new int[n];
+        boolean ok = true;
+        for (int k = 0; k < n; ++k) {
+            ok = objStmTokens.nextToken();
+            if (!ok)
+                break;
+            if (objStmTokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
             }
+            objNumber[k] = objStmTokens.getIntValue();
+            ok = objStmTokens.nextToken();
             if (!ok)
-                throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_READING_OBJECT_STREAM);
-            for (int k = 0; k < n; ++k) {
-                tokens.seek(address[k]);
-                tokens.nextToken();
-                PdfObject obj;
-                PdfIndirectReference reference = pdfDocument.getXref().get(objNumber[k]);
-                if (reference.refersTo != null || reference.getObjStreamNumber() != objectStreamNumber) {
-                    // We skip reading of objects stream's element k if either it is already available in xref
-                    // or if corresponding indirect object reference points to a different object stream.
-                    // The first check prevents from re-initializing objects which are already read. One of the cases
-                    // when this can happen is that some other object from this objects stream was released and requested
-                    // to be re-read.
-                    // Second check ensures that object has no incremental updates and is not freed in append mode.
-
-                    continue;
-                }
-                if (tokens.getTokenType() == PdfTokenizer.TokenType.Number) {
-                    // This ensure that we don't even try to read as indirect reference token (two numbers and "R")
-                    // which are forbidden in object streams.
-                    obj = new PdfNumber(tokens.getByteContent());
-                } else {
-                    tokens.seek(address[k]);
-                    obj = readObject(false, true);
-                }
-                reference.setRefersTo(obj);
-                obj.setIndirectReference(reference);
+                break;
+            if (objStmTokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
             }
-            objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
-        } finally {
-            tokens = saveTokens;
+            address[k] = objStmTokens.getIntValue() + first;
+        }
+        if (!ok)
+            throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_READING_OBJECT_STREAM);
+        for (int k = 0; k < n; ++k) {
+            objStmTokens.seek(address[k]);
+            objStmTokens.nextToken();
+            PdfObject obj;
+            PdfIndirectReference reference = pdfDocument.getXref().get(objNumber[k]);
+            if (reference.refersTo != null || reference.getObjStreamNumber() != objectStreamNumber) {
+                // We skip reading of objects stream's element k if either it is already available in xref
+                // or if corresponding indirect object reference points to a different object stream.
+                // The first check prevents from re-initializing objects which are already read. One of the cases
+                // when this can happen is that some other object from this objects stream was released and requested
+                // to be re-read.
+                // Second check ensures that object has no incremental updates and is not freed in append mode.
+
+                continue;
+            }
+            if (objStmTokens.getTokenType() == PdfTokenizer.TokenType.Number) {
+                // This ensure that we don't even try to read as indirect reference token (two numbers and "R")
+                // which are forbidden in object streams.
+                obj = new PdfNumber(objStmTokens.getByteContent());
+            } else {
+                objStmTokens.seek(address[k]);
+                obj = readObject(objStmTokens, false, true);
+            }
+            reference.setRefersTo(obj);
+            obj.setIndirectReference(reference);
         }
+        objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
     }
 
     protected PdfObject readObject(PdfIndirectReference reference) {
+        if (properties.concurrentReading) {
+            synchronized (tokensLock) {
+                PdfObject object = readObject(reference, true);
+                // publish the object while holding the lock, so that other threads don't read it once again
+                if (reference != null && object != null) {
+                    reference.setRefersTo(object);
+                }
+                return object;
+            }
+        }
         return readObject(reference, true);
     }
 
@@ -834,7 +939,11 @@ public class PdfReader implements Closeable {
     }
 
     protected PdfObject readReference(boolean readAsDirect) {
-        int num = tokens.getObjNr();
+        return readReference(tokens, readAsDirect);
+    }
+
+    private PdfObject readReference(PdfTokenizer tokenizer, boolean readAsDirect) {
+        int num = tokenizer.getObjNr();
         if (num < 0) {
             return createPdfNullInstance(readAsDirect);
         }
@@ -843,16 +952,16 @@ public class PdfReader implements Closeable {
         if (reference != null) {
             if (reference.isFree()) {
                 Logger logger = LoggerFactory.getLogger(PdfReader.class);
-                logger.warn(MessageFormatUtil.format(IoLogMessageConstant.INVALID_INDIRECT_REFERENCE, tokens.getObjNr(),
-                        tokens.getGenNr()));
+                logger.warn(MessageFormatUtil.format(IoLogMessageConstant.INVALID_INDIRECT_REFERENCE, tokenizer.getObjNr(),
+                        tokenizer.getGenNr()));
                 return createPdfNullInstance(readAsDirect);
             }
-            if (reference.getGenNumber() != tokens.getGenNr()) {
+            if (reference.getGenNumber() != tokenizer.getGenNr()) {
                 if (fixedXref) {
                     Logger logger = LoggerFactory.getLogger(PdfReader.class);
                     logger.warn(
-                            MessageFormatUtil.format(IoLogMessageConstant.INVALID_INDIRECT_REFERENCE, tokens.getObjNr(),
-                                    tokens.getGenNr()));
+                            MessageFormatUtil.format(IoLogMessageConstant.INVALID_INDIRECT_REFERENCE, tokenizer.getObjNr(),
+                                    tokenizer.getGenNr()));
                     return createPdfNullInstance(readAsDirect);
                 } else {
                     throw new PdfException(KernelExceptionMessageConstant.INVALID_INDIRECT_REFERENCE,
@@ -862,77 +971,86 @@ public class PdfReader implements Closeable {
         } else {
             if (table.isReadingCompleted()) {
                 Logger logger = LoggerFactory.getLogger(PdfReader.class);
-                logger.warn(MessageFormatUtil.format(IoLogMessageConstant.INVALID_INDIRECT_REFERENCE, tokens.getObjNr(),
-                        tokens.getGenNr()));
+                logger.warn(MessageFormatUtil.format(IoLogMessageConstant.INVALID_INDIRECT_REFERENCE, tokenizer.getObjNr(),
+                        tokenizer.getGenNr()));
                 return createPdfNullInstance(readAsDirect);
             } else {
                 reference = table.add((PdfIndirectReference) new PdfIndirectReference(pdfDocument,
-                        num, tokens.getGenNr(), 0).setState(PdfObject.READING));
+                        num, tokenizer.getGenNr(), 0).setState(PdfObject.READING));
             }
         }
         return reference;
     }
 
     protected PdfObject readObject(boolean readAsDirect, boolean objStm) throws IOException {
-        tokens.nextValidToken();
-        PdfTokenizer.TokenType type = tokens.getTokenType();
+        return readObject(tokens, readAsDirect, objStm);
+    }
+
+    /**
+     * Parses the next object from the given tokenizer. Nested objects read from the shared {@link #tokens}
+     * are dispatched to the overridable methods, while a private tokenizer (e.g. the one of an object stream)
+     * is parsed without touching any shared reader state.
+     */
+    private PdfObject readObject(PdfTokenizer tokenizer, boolean readAsDirect, boolean objStm) throws IOException {
+        tokenizer.nextValidToken();
+        PdfTokenizer.TokenType type = tokenizer.getTokenType();
         switch (type) {
             case StartDic: {
-                PdfDictionary dict = readDictionary(objStm);
-                long pos = tokens.getPosition();
+                PdfDictionary dict = tokenizer == tokens ? readDictionary(objStm) : readDictionary(tokenizer, objStm);
+                long pos = tokenizer.getPosition();
                 // be careful in the trailer. May not be a "next" token.
                 boolean hasNext;
                 do {
-                    hasNext = tokens.nextToken();
-                } while (hasNext && tokens.getTokenType() == PdfTokenizer.TokenType.Comment);
+                    hasNext = tokenizer.nextToken();
+                } while (hasNext && tokenizer.getTokenType() == PdfTokenizer.TokenType.Comment);
 
-                if (hasNext && tokens.tokenValueEqualsTo(PdfTokenizer.Stream)) {
+                if (hasNext && tokenizer.tokenValueEqualsTo(PdfTokenizer.Stream)) {
                     //skip whitespaces
                     int ch;
                     do {
-                        ch = tokens.read();
+                        ch = tokenizer.read();
                     } while (ch == 32 || ch == 9 || ch == 0 || ch == 12);
                     if (ch != '\n') {
-                        ch = tokens.read();
+                        ch = tokenizer.read();
                     }
                     if (ch != '\n') {
-                        tokens.backOnePosition(ch);
+                        tokenizer.backOnePosition(ch);
                     }
-                    PdfStream pdfStream = new PdfStream(tokens.getPosition(), dict);
-                    tokens.seek(pdfStream.getOffset() + pdfStream.getLength());
+                    PdfStream pdfStream = new PdfStream(tokenizer.getPosition(), dict);
+                    tokenizer.seek(pdfStream.getOffset() + pdfStream.getLength());
                     return pdfStream;
                 } else {
-                    tokens.seek(pos);
+                    tokenizer.seek(pos);
                     return dict;
                 }
             }
             case StartArray:
-                return readArray(objStm);
+                return tokenizer == tokens ? readArray(objStm) : readArray(tokenizer, objStm);
             case Number:
-                return new PdfNumber(tokens.getByteContent());
+                return new PdfNumber(tokenizer.getByteContent());
             case String: {
-                PdfString pdfString = new PdfString(tokens.getByteContent(), tokens.isHexString());
+                PdfString pdfString = new PdfString(tokenizer.getByteContent(), tokenizer.isHexString());
                 if (encrypted && !decrypt.isEmbeddedFilesOnly() && !objStm) {
                     pdfString.setDecryption(currentIndirectReference.getObjNumber(), currentIndirectReference.getGenNumber(), decrypt);
                 }
                 return pdfString;
             }
             case Name:
-                return readPdfName(readAsDirect);
+                return tokenizer == tokens ? readPdfName(readAsDirect) : readPdfName(tokenizer, readAsDirect);
             case Ref:
-                return readReference(readAsDirect);
+                return tokenizer == tokens ? readReference(readAsDirect) : readReference(tokenizer, readAsDirect);
             case EndOfFile:
                 throw new PdfException(KernelExceptionMessageConstant.UNEXPECTED_END_OF_FILE);
             default:
-                if (tokens.tokenValueEqualsTo(PdfTokenizer.Null)) {
+                if (tokenizer.tokenValueEqualsTo(PdfTokenizer.Null)) {
                     return createPdfNullInstance(readAsDirect);
-                } else if (tokens.tokenValueEqualsTo(PdfTokenizer.True)) {
+                } else if (tokenizer.tokenValueEqualsTo(PdfTokenizer.True)) {
                     if (readAsDirect) {
                         return PdfBoolean.TRUE;
                     } else {
                         return new PdfBoolean(true);
                     }
-                } else if (tokens.tokenValueEqualsTo(PdfTokenizer.False)) {
+                } else if (tokenizer.tokenValueEqualsTo(PdfTokenizer.False)) {
                     if (readAsDirect) {
                         return PdfBoolean.FALSE;
                     } else {
@@ -944,34 +1062,42 @@ public class PdfReader implements Closeable {
     }
 
     protected PdfName readPdfName(boolean readAsDirect) {
+        return readPdfName(tokens, readAsDirect);
+    }
+
+    private PdfName readPdfName(PdfTokenizer tokenizer, boolean readAsDirect) {
         if (readAsDirect) {
-            PdfName cachedName = PdfName.staticNames.get(tokens.getStringValue());
+            PdfName cachedName = PdfName.staticNames.get(tokenizer.getStringValue());
             if (cachedName != null)
                 return cachedName;
         }
         // an indirect name (how odd...), or a non-standard one
-        return new PdfName(tokens.getByteContent());
+        return new PdfName(tokenizer.getByteContent());
     }
 
     protected PdfDictionary readDictionary(boolean objStm) throws IOException {
+        return readDictionary(tokens, objStm);
+    }
+
+    private PdfDictionary readDictionary(PdfTokenizer tokenizer, boolean objStm) throws IOException {
         PdfDictionary dic = new PdfDictionary();
         while (true) {
-            tokens.nextValidToken();
-            if (tokens.getTokenType() == PdfTokenizer.TokenType.EndDic) {
+            tokenizer.nextValidToken();
+            if (tokenizer.getTokenType() == PdfTokenizer.TokenType.EndDic) {
                 break;
             }
-            if (tokens.getTokenType() != PdfTokenizer.TokenType.Name) {
-                tokens.throwError(
-                        KernelExceptionMessageConstant.THIS_DICTIONARY_KEY_IS_NOT_A_NAME, tokens.getStringValue());
+            if (tokenizer.getTokenType() != PdfTokenizer.TokenType.Name) {
+                tokenizer.throwError(
+                        KernelExceptionMessageConstant.THIS_DICTIONARY_KEY_IS_NOT_A_NAME, tokenizer.getStringValue());
             }
-            PdfName name = readPdfName(true);
-            PdfObject obj = readObject(true, objStm);
+            PdfName name = tokenizer == tokens ? readPdfName(true) : readPdfName(tokenizer, true);
+            PdfObject obj = tokenizer == tokens ? readObject(true, objStm) : readObject(tokenizer, true, objStm);
             if (obj == null) {
-                if (tokens.getTokenType() == PdfTokenizer.TokenType.EndDic)
-                    tokens.throwError(MessageFormatUtil.
+                if (tokenizer.getTokenType() == PdfTokenizer.TokenType.EndDic)
+                    tokenizer.throwError(MessageFormatUtil.
                             format(KernelExceptionMessageConstant.UNEXPECTED_TOKEN, ">>"));
-                if (tokens.getTokenType() == PdfTokenizer.TokenType.EndArray)
-                    tokens.throwError(MessageFormatUtil.
+                if (tokenizer.getTokenType() == PdfTokenizer.TokenType.EndArray)
+                    tokenizer.throwError(MessageFormatUtil.
                             format(KernelExceptionMessageConstant.UNEXPECTED_TOKEN, "]"));
             }
             dic.put(name, obj);
@@ -980,11 +1106,15 @@ public class PdfReader implements Closeable {
     }
 
     protected PdfArray readArray(boolean objStm) throws IOException {
+        return readArray(tokens, objStm);
+    }
+
+    private PdfArray readArray(PdfTokenizer tokenizer, boolean objStm) throws IOException {
         PdfArray array = new PdfArray();
         while (true) {
-            PdfObject obj = readObject(true, objStm);
+            PdfObject obj = tokenizer == tokens ? readObject(true, objStm) : readObject(tokenizer, true, objStm);
             if (obj == null) {
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.EndArray) {
+                if (tokenizer.getTokenType() != PdfTokenizer.TokenType.EndArray) {
                     processArrayReadError();
                 }
                 break;
@@ -1079,6 +1209,12 @@ public class PdfReader implements Closeable {
                 tokens.throwError(KernelExceptionMessageConstant.NUMBER_OF_ENTRIES_IN_THIS_XREF_SUBSECTION_NOT_FOUND);
             }
             int end = tokens.getIntValue() + start;
+            if (lazyXrefSections != null) {
+                if (lazyXrefSections.addTableSubsection(tokens, start, end - start)) {
+                    continue;
+                }
+                disableLazyXrefLoading();
+            }
             for (int num = start; num < end; num++) {
                 tokens.nextValidToken();
                 long pos = tokens.getLongValue();
@@ -1101,6 +1237,9 @@ public class PdfReader implements Closeable {
                     end--;
                     continue;
                 }
+                if (pos != 0 && tokens.tokenValueEqualsTo(PdfTokenizer.N) && xref.addCompactEntry(num, gen, pos, 0)) {
+                    continue;
+                }
                 PdfIndirectReference reference = xref.get(num);
                 boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
                 // for references that are added by xref table itself (like 0 entry)
@@ -1210,7 +1349,14 @@ public class PdfReader implements Closeable {
             for (int k = 0; k < 3; ++k) {
                 wc[k] = w.getAsNumber(k).intValue();
             }
-            for (int idx = 0; idx < index.size(); idx += 2) {
+            boolean loadedOnDemand = false;
+            if (lazyXrefSections != null) {
+                loadedOnDemand = lazyXrefSections.addStreamSection(b, wc, index.toIntArray());
+                if (!loadedOnDemand) {
+                    disableLazyXrefLoading();
+                }
+            }
+            for (int idx = 0; !loadedOnDemand && idx < index.size(); idx += 2) {
                 int start = index.getAsNumber(idx).intValue();
                 int length = index.getAsNumber(idx + 1).intValue();
                 xref.setCapacity(start + length);
@@ -1231,6 +1377,11 @@ public class PdfReader implements Closeable {
                         field3 = (field3 << 8) + (b[bptr++] & 0xff);
                     }
                     int base = start;
+                    if (type == 1 && xref.addCompactEntry(base, field3, field2, 0)
+                            || type == 2 && xref.addCompactEntry(base, 0, field3, (int) field2)) {
+                        ++start;
+                        continue;
+                    }
                     PdfIndirectReference newReference;
                     switch (type) {
                         case 0:
@@ -1272,6 +1423,16 @@ public class PdfReader implements Closeable {
         return true;
     }
 
+    /**
+     * Stops loading of the cross-reference entries on demand, e.g. if a section can't be loaded lazily.
+     * The entries of already registered sections are loaded at once, so that the following sections
+     * are read in the same order as if lazy loading has never been used.
+     */
+    private void disableLazyXrefLoading() {
+        pdfDocument.getXref().loadLazyEntries();
+        lazyXrefSections = null;
+    }
+
     protected void fixXref() throws IOException {
         fixedXref = true;
         PdfXrefTable xref = pdfDocument.getXref();
@@ -1293,13 +1454,17 @@ public class PdfReader implements Closeable {
                 int gen = obj[1];
                 PdfIndirectReference reference = xref.get(num);
                 if (reference != null && reference.getGenNumber() == gen) {
-                    reference.fixOffset(pos);
+                    xref.fixOffset(reference, pos);
                 }
             }
         }
     }
 
     protected void rebuildXref() throws IOException {
+        if (lazyXrefSections != null) {
+            lazyXrefSections = null;
+            pdfDocument.getXref().setLazySections(null);
+        }
         xrefStm = false;
         hybridXref = false;
         rebuiltXref = true;
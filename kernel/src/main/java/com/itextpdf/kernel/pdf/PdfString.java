@@ -284,8 +284,11 @@ public class PdfString extends PdfPrimitiveObject {
     protected byte[] decodeContent() {
         byte[] decodedBytes = PdfTokenizer.decodeStringContent(content, hexWriting);
         if (decryption != null && !checkState(PdfObject.UNENCRYPTED)) {
-            decryption.setHashKeyForNextObject(decryptInfoNum, decryptInfoGen);
-            decodedBytes = decryption.decryptByteArray(decodedBytes);
+            // the same decryption instance may be used by several threads in concurrent reading mode
+            synchronized (decryption) {
+                decryption.setHashKeyForNextObject(decryptInfoNum, decryptInfoGen);
+                decodedBytes = decryption.decryptByteArray(decodedBytes);
+            }
         }
         return decodedBytes;
     }
@@ -82,7 +82,12 @@ public class PdfWriter extends PdfOutputStream {
     /**
      * Is used in smart mode to serialize and store serialized objects content.
      */
-    private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
+    private SmartModePdfObjectsSerializer smartModeSerializer;
+
+    /**
+     * Is used to compress streams in parallel if {@link WriterProperties#setCompressionExecutor} is set.
+     */
+    private ParallelStreamCompressor parallelStreamCompressor;
 
     //forewarned is forearmed
     protected boolean isUserWarnedAboutAcroFormCopying;
@@ -111,6 +116,11 @@ public class PdfWriter extends PdfOutputStream {
     public PdfWriter(java.io.OutputStream os, WriterProperties properties) {
         super(new CountOutputStream(FileUtil.wrapWithBufferedOutputStream(os)));
         this.properties = properties;
+        this.smartModeSerializer = new SmartModePdfObjectsSerializer(properties.smartModeIndex,
+                properties.smartModeHashAlgorithm);
+        if (properties.compressionExecutor != null) {
+            this.parallelStreamCompressor = new ParallelStreamCompressor(this, properties.compressionExecutor);
+        }
     }
 
     /**
@@ -198,7 +208,12 @@ public class PdfWriter extends PdfOutputStream {
             objectStream = new PdfObjectStream(document);
         } else if (objectStream.getSize() == PdfObjectStream.MAX_OBJ_STREAM_SIZE) {
             objectStream.flush();
-            objectStream = new PdfObjectStream(objectStream);
+            if (parallelStreamCompressor != null) {
+                // Flushed object stream may still be being compressed, so its buffers can't be reused
+                objectStream = new PdfObjectStream(document);
+            } else {
+                objectStream = new PdfObjectStream(objectStream);
+            }
         }
         return objectStream;
     }
@@ -222,6 +237,15 @@ public class PdfWriter extends PdfOutputStream {
      */
     protected void flushObject(PdfObject pdfObject, boolean canBeInObjStm) {
         PdfIndirectReference indirectReference = pdfObject.getIndirectReference();
+        if (parallelStreamCompressor != null) {
+            parallelStreamCompressor.writeCompressedStreams();
+            if (pdfObject.getType() == PdfObject.STREAM && parallelStreamCompressor.submit((PdfStream) pdfObject)) {
+                // Stream content is released once the stream is actually written
+                indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
+                markDictionaryContentToFlush((PdfDictionary) pdfObject);
+                return;
+            }
+        }
         if (isFullCompression() && canBeInObjStm) {
             PdfObjectStream objectStream = getObjectStream();
             objectStream.addObject(pdfObject);
@@ -280,7 +304,7 @@ public class PdfWriter extends PdfOutputStream {
         SerializedObjectContent serializedContent = null;
         if (properties.smartMode && tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page)) {
             serializedContent = smartModeSerializer.serializeObject(obj);
-            PdfIndirectReference objectRef = smartModeSerializer.getSavedSerializedObject(serializedContent);
+            PdfIndirectReference objectRef = smartModeSerializer.getSavedSerializedObject(serializedContent, documentTo);
             if (objectRef != null) {
                 copiedObjects.put(indirectReference, objectRef);
                 return objectRef.refersTo;
@@ -316,6 +340,41 @@ public class PdfWriter extends PdfOutputStream {
         writeBytes(endobj);
     }
 
+    /**
+     * Writes to the document all the streams which are still being compressed in parallel.
+     * Shall be called before the cross-reference table is written.
+     */
+    void flushParallelCompressedStreams() {
+        if (parallelStreamCompressor != null) {
+            parallelStreamCompressor.writeAllStreams();
+        }
+    }
+
+    /**
+     * Writes the stream, which content has already been compressed, to the body of PDF document
+     * and releases the stream content.
+     *
+     * @param pdfStream the stream to write
+     * @param compressedContent compressed content of the stream
+     */
+    void writeCompressedStream(PdfStream pdfStream, ByteArrayOutputStream compressedContent) {
+        PdfIndirectReference indirectReference = pdfStream.getIndirectReference();
+        if (crypto != null) {
+            crypto.setHashKeyForNextObject(indirectReference.getObjNumber(), indirectReference.getGenNumber());
+        }
+        indirectReference.setOffset(getCurrentPos());
+        writeInteger(indirectReference.getObjNumber()).
+                writeSpace().
+                writeInteger(indirectReference.getGenNumber()).writeBytes(obj);
+        writeStreamContent(pdfStream, compressedContent);
+        writeBytes(endobj);
+        if (pdfStream instanceof PdfObjectStream) {
+            ((PdfObjectStream) pdfStream).releaseContent(true);
+        } else {
+            pdfStream.releaseContent();
+        }
+    }
+
     /**
      * Writes PDF header.
      */
@@ -48,6 +48,8 @@ import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.kernel.actions.data.ITextCoreProductData;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -77,6 +79,23 @@ public class PdfXrefTable {
     private boolean readingCompleted;
     private MemoryLimitsAwareHandler memoryLimitsAwareHandler;
 
+    /**
+     * Sections which entries are loaded on demand, null if all entries are loaded.
+     */
+    private LazyXrefSections lazySections;
+
+    /**
+     * Storage of the in-use entries which references are not kept in the table itself,
+     * null if all references are in the table.
+     */
+    private CompactXrefEntries compactEntries;
+
+    /**
+     * The document for which the initialization of the free references list has been postponed
+     * until all the lazily loaded entries are loaded.
+     */
+    private PdfDocument postponedFreeReferencesDocument;
+
     /**
      * Free references linked list is stored in a form of a map, where:
      * key - free reference obj number;
@@ -153,6 +172,9 @@ public class PdfXrefTable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (compactEntries != null) {
+            compactEntries.remove(objNr);
+        }
         return reference;
     }
 
@@ -173,8 +195,12 @@ public class PdfXrefTable {
     public int getCountOfIndirectObjects() {
         int countOfIndirectObjects = 0;
 
-        for (final PdfIndirectReference ref: xref) {
-            if (ref != null && ! ref.isFree()) {
+        for (int i = 0; i <= count; i++) {
+            if (lazySections != null) {
+                resolveOnDemand(i);
+            }
+            final PdfIndirectReference ref = xref[i];
+            if (ref == null ? compactEntries != null && compactEntries.contains(i) : !ref.isFree()) {
                 countOfIndirectObjects++;
             }
         }
@@ -192,7 +218,14 @@ public class PdfXrefTable {
         if (index > count) {
             return null;
         }
-        return xref[index];
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && compactEntries != null) {
+            reference = compactEntries.get(index);
+        }
+        if (reference == null && lazySections != null) {
+            reference = loadOnDemand(index);
+        }
+        return reference;
     }
 
     /**
@@ -238,6 +271,7 @@ public class PdfXrefTable {
         if (reference.isFree()) {
             return;
         }
+        loadAllEntries();
         if (reference.checkState(PdfObject.MUST_BE_FLUSHED)) {
             Logger logger = LoggerFactory.getLogger(PdfXrefTable.class);
             logger.error(IoLogMessageConstant.INDIRECT_REFERENCE_USED_IN_FLUSHED_OBJECT_MADE_FREE);
@@ -288,6 +322,7 @@ public class PdfXrefTable {
      * @throws IOException if any I/O error occurs
      */
     protected void writeXrefTableAndTrailer(PdfDocument document, PdfObject fileId, PdfObject crypto) throws IOException {
+        loadAllEntries();
         PdfWriter writer = document.getWriter();
 
         if (!document.properties.appendMode) {
@@ -433,9 +468,206 @@ public class PdfXrefTable {
      * was completed.
      */
     void markReadingCompleted() {
+        if (lazySections != null) {
+            // references created while the sections were read are resolved right away, like they are resolved
+            // when all entries are read at once
+            for (int i = 0; i <= count; i++) {
+                PdfIndirectReference reference = xref[i];
+                if (reference != null && (reference.checkState(PdfObject.READING) || reference.getDocument() == null)) {
+                    resolveLazyEntry(i);
+                }
+            }
+        }
         readingCompleted = true;
     }
 
+    /**
+     * Sets the sections which entries shall be loaded on demand, see {@link ReaderProperties#setLazyXrefLoading}.
+     *
+     * @param lazySections the sections to load entries from
+     */
+    void setLazySections(LazyXrefSections lazySections) {
+        this.lazySections = lazySections;
+    }
+
+    /**
+     * Extends the table so that it covers the objects of the lazily loaded sections.
+     *
+     * @param maxObjectNumber the maximum object number of the lazily loaded sections
+     */
+    void extendForLazyEntries(int maxObjectNumber) {
+        if (maxObjectNumber > count) {
+            ensureCount(maxObjectNumber);
+            count = maxObjectNumber;
+        }
+        if (compactEntries != null) {
+            // the compact storage doesn't grow once the document can be read concurrently
+            compactEntries.ensureCapacity(maxObjectNumber + 1);
+        }
+    }
+
+    /**
+     * Gets the reference without loading it from the lazily loaded sections.
+     *
+     * @param index the number of the object
+     * @return the reference or null if it has not been loaded yet
+     */
+    PdfIndirectReference getWithoutLoading(int index) {
+        if (index > count) {
+            return null;
+        }
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && compactEntries != null) {
+            reference = compactEntries.get(index);
+        }
+        return reference;
+    }
+
+    /**
+     * Makes the table keep the in-use entries which are read from the cross-reference sections in
+     * the compact storage, see {@link ReaderProperties#setCompactXref(boolean)}. It shall be called
+     * before the sections are read.
+     *
+     * @param document the document the references belong to
+     */
+    void enableCompactStorage(PdfDocument document) {
+        if (compactEntries == null) {
+            compactEntries = new CompactXrefEntries(document, xref.length);
+        }
+    }
+
+    /**
+     * Puts the in-use entry which is read from a cross-reference section into the compact storage,
+     * see {@link #enableCompactStorage(PdfDocument)}. If the object is already stored, the entry is ignored
+     * since the object is defined by a newer section.
+     *
+     * @param objNr           the number of the object
+     * @param genNr           the generation number of the object
+     * @param offsetOrIndex   the offset of the object or its index in the object stream
+     * @param objStreamNumber the number of the object stream, 0 if the object is not compressed
+     * @return true, if the entry has been handled by the compact storage, false if it shall be
+     * added to the table as a reference
+     */
+    boolean addCompactEntry(int objNr, int genNr, long offsetOrIndex, int objStreamNumber) {
+        if (compactEntries == null || objNr <= 0 || objNr <= count && xref[objNr] != null) {
+            return false;
+        }
+        if (!compactEntries.contains(objNr)) {
+            ensureCount(objNr);
+            count = Math.max(count, objNr);
+            compactEntries.store(objNr, genNr, offsetOrIndex, objStreamNumber);
+        }
+        return true;
+    }
+
+    /**
+     * Fixes the offset of the in-use reference, so that the references which are recreated
+     * from the compact storage get the fixed offset too.
+     *
+     * @param reference the reference to fix
+     * @param offset    the actual offset of the object
+     */
+    void fixOffset(PdfIndirectReference reference, long offset) {
+        reference.fixOffset(offset);
+        if (compactEntries != null && !reference.isFree()) {
+            compactEntries.fixOffset(reference.getObjNumber(), offset);
+        }
+    }
+
+    /**
+     * Calculates the number of in-use references kept in memory: the ones held by the table itself and
+     * the ones handed out by the compact storage which have not been reclaimed yet.
+     *
+     * @return the number of in-use references kept in memory
+     */
+    int getCountOfRetainedReferences() {
+        int retained = compactEntries == null ? 0 : compactEntries.getCountOfHandedOutReferences();
+        for (int i = 1; i <= count; i++) {
+            if (xref[i] != null && !xref[i].isFree()) {
+                retained++;
+            }
+        }
+        return retained;
+    }
+
+    /**
+     * Loads all the entries which are loaded on demand. It is required by the operations which
+     * process the whole table.
+     */
+    void loadAllEntries() {
+        if (compactEntries != null) {
+            CompactXrefEntries entries = compactEntries;
+            compactEntries = null;
+            for (int i = 1; i <= count; i++) {
+                if (xref[i] == null) {
+                    xref[i] = entries.get(i);
+                }
+            }
+        }
+        loadLazyEntries();
+    }
+
+    /**
+     * Loads all the entries of the lazily loaded sections, see {@link ReaderProperties#setLazyXrefLoading}.
+     * In-use entries are put into the compact storage if it is enabled.
+     */
+    void loadLazyEntries() {
+        if (lazySections == null) {
+            return;
+        }
+        for (int i = 0; i <= count && lazySections != null; i++) {
+            PdfIndirectReference reference = xref[i];
+            if (reference == null ? compactEntries == null || !compactEntries.contains(i)
+                    : reference.checkState(PdfObject.READING) || reference.getDocument() == null) {
+                resolveLazyEntry(i);
+            }
+        }
+        completeLazyLoading();
+    }
+
+    private PdfIndirectReference loadOnDemand(int index) {
+        resolveOnDemand(index);
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && compactEntries != null) {
+            reference = compactEntries.get(index);
+        }
+        return reference;
+    }
+
+    private synchronized void resolveOnDemand(int index) {
+        if (xref[index] == null && (compactEntries == null || !compactEntries.contains(index))) {
+            resolveLazyEntry(index);
+        }
+    }
+
+    /**
+     * Resolves the entry from the lazily loaded sections. If the entry is damaged, lazy loading is stopped and
+     * the table is rebuilt in the same way as it is rebuilt when the damaged table is read at once.
+     */
+    private void resolveLazyEntry(int index) {
+        LazyXrefSections sections = lazySections;
+        if (sections == null || sections.resolve(index, this)) {
+            return;
+        }
+        lazySections = null;
+        sections.clear();
+        try {
+            sections.getDocument().getReader().rebuildDamagedLazyXref();
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.INVALID_XREF_TABLE, e);
+        }
+        completeLazyLoading();
+    }
+
+    private void completeLazyLoading() {
+        lazySections = null;
+        if (postponedFreeReferencesDocument != null) {
+            PdfDocument document = postponedFreeReferencesDocument;
+            postponedFreeReferencesDocument = null;
+            initFreeReferencesList(document);
+        }
+    }
+
     /**
      * Check if reading of the document was completed.
      *
@@ -451,14 +683,18 @@ public class PdfXrefTable {
      * @param pdfDocument is the current {@link PdfDocument document}
      */
     void initFreeReferencesList(PdfDocument pdfDocument) {
-        freeReferencesLinkedList.clear();
-
         // ensure zero object is free
         xref[0].setState(PdfObject.FREE);
+        if (lazySections != null) {
+            // the list requires all the entries, so it's initialized only when it's needed
+            postponedFreeReferencesDocument = pdfDocument;
+            return;
+        }
+        freeReferencesLinkedList.clear();
         TreeSet<Integer> freeReferences = new TreeSet<>();
         for (int i = 1; i < size(); ++i) {
             PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
+            if (ref == null ? compactEntries == null || !compactEntries.contains(i) : ref.isFree()) {
                 freeReferences.add(i);
             }
         }
@@ -517,6 +753,12 @@ public class PdfXrefTable {
      * Clear the state of the cross-reference table.
      */
     void clear() {
+        if (lazySections != null) {
+            lazySections.clear();
+        }
+        if (compactEntries != null) {
+            compactEntries.clear();
+        }
         for (int i = 1; i <= count; i++) {
             if (xref[i] != null && xref[i].isFree()) {
                 continue;
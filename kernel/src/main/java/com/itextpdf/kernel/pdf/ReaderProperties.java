@@ -64,6 +64,12 @@ public class ReaderProperties {
 
     protected MemoryLimitsAwareHandler memoryLimitsAwareHandler;
 
+    protected boolean concurrentReading;
+
+    protected boolean lazyXrefLoading;
+
+    protected boolean compactXref;
+
     /**
      * Defines the password which will be used if the document is encrypted with standard encryption.
      * This could be either user or owner password.
@@ -135,4 +141,59 @@ public class ReaderProperties {
         return this;
     }
 
+    /**
+     * Defines if the document shall be prepared for reading by several threads simultaneously.
+     * <p>
+     * If enabled, a file passed to {@link PdfReader} by its name is memory mapped as a whole and
+     * can be read without any synchronization, each stream being read through its own view of the file.
+     * Parsing of indirect objects is still performed one object at a time, while reading, decryption
+     * and decoding of stream bytes is performed by the requesting threads in parallel.
+     * <p>
+     * The mode is intended for reading only, e.g. for extracting content of different pages
+     * of the same document in parallel. Modifying the document while it is being read by
+     * several threads is not supported.
+     *
+     * @param concurrentReading true to enable concurrent reading, false to disable it
+     * @return this {@link ReaderProperties} instance
+     */
+    public ReaderProperties setConcurrentReading(boolean concurrentReading) {
+        this.concurrentReading = concurrentReading;
+        return this;
+    }
+
+    /**
+     * Defines whether the entries of the cross-reference structure shall be loaded on demand.
+     * <p>
+     * When lazy loading is enabled, the cross-reference sections are only validated when the document is opened,
+     * while the indirect references themselves are created when the corresponding objects are requested for
+     * the first time. This makes opening of huge documents much faster if only a few objects are read.
+     * Lazy loading is only used for documents opened in reading mode; if the cross-reference structure
+     * can't be loaded lazily, e.g. if its sections are malformed, it is loaded completely as usual.
+     * If a damaged entry is met only when it is loaded on demand, the cross-reference table is rebuilt
+     * in the same way as it is rebuilt on opening, keeping the trailer and the already loaded references.
+     *
+     * @param lazyXrefLoading true to load the cross-reference entries on demand, false to load them on opening
+     * @return this {@link ReaderProperties} instance
+     */
+    public ReaderProperties setLazyXrefLoading(boolean lazyXrefLoading) {
+        this.lazyXrefLoading = lazyXrefLoading;
+        return this;
+    }
+
+    /**
+     * Defines whether the cross-reference table shall keep its entries in a compact form.
+     * <p>
+     * In the compact form, the offsets, generation numbers and object stream numbers of the entries are stored
+     * in primitive arrays, while the indirect references are created when they are requested and can be reclaimed
+     * by the garbage collector as soon as neither they nor the objects they refer to are in use. This considerably
+     * reduces the memory consumed by documents with millions of objects, especially in combination with
+     * {@link #setLazyXrefLoading(boolean)}. The compact form is only used for documents opened in reading mode.
+     *
+     * @param compactXref true to keep the cross-reference entries in a compact form
+     * @return this {@link ReaderProperties} instance
+     */
+    public ReaderProperties setCompactXref(boolean compactXref) {
+        this.compactXref = compactXref;
+        return this;
+    }
 }
@@ -42,15 +42,57 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.kernel.exceptions.PdfException;
+
+import java.security.MessageDigest;
 import java.util.Arrays;
 
+/**
+ * The content of an object serialized in smart mode. By default the full serialized bytes are kept and compared,
+ * while a bounded {@link SmartModeIndex} only keeps their digest, so that its entries are small regardless
+ * of the size of the objects.
+ */
 class SerializedObjectContent {
+    static final String DIGEST_ALGORITHM = "SHA-256";
+
     private final byte[] serializedContent;
     private final int hash;
 
     SerializedObjectContent(byte[] serializedContent) {
+        this(serializedContent, calculateHash(serializedContent));
+    }
+
+    private SerializedObjectContent(byte[] serializedContent, int hash) {
         this.serializedContent = serializedContent;
-        this.hash = calculateHash(serializedContent);
+        this.hash = hash;
+    }
+
+    /**
+     * Creates the content from the digest of the serialized bytes, either calculated with
+     * {@link #createMessageDigest()} or with {@link ISmartModeHashAlgorithm}.
+     *
+     * @param digest the digest of the serialized content
+     * @return the serialized content
+     */
+    static SerializedObjectContent fromDigest(byte[] digest) {
+        return new SerializedObjectContent(digest, calculateDigestHash(digest));
+    }
+
+    static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (Exception e) {
+            throw new PdfException(e);
+        }
+    }
+
+    /**
+     * Gets the digest the content was created from, see {@link #fromDigest(byte[])}.
+     *
+     * @return the digest of the serialized content
+     */
+    byte[] getDigest() {
+        return serializedContent;
     }
 
     @Override
@@ -73,4 +115,9 @@ class SerializedObjectContent {
         }
         return hash;
     }
+
+    private static int calculateDigestHash(byte[] b) {
+        // the digest is uniformly distributed, so its first bytes make a good hash
+        return (b[0] & 0xff) << 24 | (b[1] & 0xff) << 16 | (b[2] & 0xff) << 8 | (b[3] & 0xff);
+    }
 }
@@ -0,0 +1,371 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The index which is used in smart mode to find already copied objects with the same content,
+ * see {@link WriterProperties#useSmartMode(SmartModeIndex)}.
+ * <p>
+ * The number of entries kept in memory can be limited: the least recently used entries are either dropped,
+ * in which case the objects they refer to are not reused anymore, or moved to a temporary file, so that
+ * the memory consumption stays flat however many documents are merged. A bounded index only keeps digests
+ * of the serialized objects content, while an unbounded one compares the full serialized content
+ * as smart mode does without an index.
+ * <p>
+ * An index belongs to a single document. It shall be closed when the document is closed in order to delete
+ * the temporary file.
+ */
+public class SmartModeIndex implements Closeable {
+
+    private final int maxEntriesInMemory;
+    private final String spillDirectory;
+    private final Map<SerializedObjectContent, PdfIndirectReference> entries =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private SpillFile spillFile;
+    private PdfDocument document;
+    private long lookupCount;
+    private long hitCount;
+
+    /**
+     * Creates an index which keeps all the entries in memory.
+     */
+    public SmartModeIndex() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an index which keeps at most the specified number of entries. The least recently used
+     * entries are dropped when the limit is reached.
+     *
+     * @param maxEntriesInMemory the maximum number of entries to keep
+     */
+    public SmartModeIndex(int maxEntriesInMemory) {
+        this(maxEntriesInMemory, null);
+    }
+
+    /**
+     * Creates an index which keeps at most the specified number of entries in memory. The least recently used
+     * entries are moved to a temporary file in the specified directory when the limit is reached.
+     *
+     * @param maxEntriesInMemory the maximum number of entries to keep in memory
+     * @param spillDirectory     the directory to create the temporary file in, or null to drop the entries
+     */
+    public SmartModeIndex(int maxEntriesInMemory, String spillDirectory) {
+        if (maxEntriesInMemory < 1) {
+            throw new IllegalArgumentException("The maximum number of entries must be a positive integer");
+        }
+        this.maxEntriesInMemory = maxEntriesInMemory;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Gets the number of times an object with the same content has been looked up.
+     *
+     * @return the number of lookups
+     */
+    public long getLookupCount() {
+        return lookupCount;
+    }
+
+    /**
+     * Gets the number of times an object with the same content has been found and reused.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the ratio of lookups which resulted in reusing an already copied object.
+     *
+     * @return the hit rate from 0 to 1, or 0 if there were no lookups
+     */
+    public double getHitRate() {
+        return lookupCount == 0 ? 0 : (double) hitCount / lookupCount;
+    }
+
+    /**
+     * Gets the number of entries kept in memory.
+     *
+     * @return the number of entries in memory
+     */
+    public int getEntriesInMemoryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of entries moved to the temporary file.
+     *
+     * @return the number of entries in the temporary file
+     */
+    public int getSpilledEntriesCount() {
+        return spillFile == null ? 0 : spillFile.size;
+    }
+
+    /**
+     * Checks whether the number of entries kept in memory is limited.
+     *
+     * @return true if the least recently used entries are dropped or spilled, false otherwise
+     */
+    boolean isBounded() {
+        return maxEntriesInMemory != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Deletes the temporary file, if any. The index can't be used after it is closed.
+     *
+     * @throws IOException on error
+     */
+    @Override
+    public void close() throws IOException {
+        entries.clear();
+        if (spillFile != null) {
+            spillFile.close();
+            spillFile = null;
+        }
+    }
+
+    /**
+     * Finds the reference of the copied object with the same content.
+     *
+     * @param content  the serialized content of the object
+     * @param document the document the object is copied to
+     * @return the reference of the copied object, or null if there is no such object
+     */
+    PdfIndirectReference get(SerializedObjectContent content, PdfDocument document) {
+        lookupCount++;
+        PdfIndirectReference reference = entries.get(content);
+        if (reference == null && spillFile != null && document == this.document) {
+            long entry = spillFile.get(content);
+            if (entry != SpillFile.ABSENT) {
+                PdfIndirectReference spilled = document.getXref().get((int) (entry >>> 32));
+                if (spilled != null && !spilled.isFree() && spilled.getGenNumber() == (int) entry
+                        && spilled.refersTo != null) {
+                    reference = spilled;
+                    put(content, reference);
+                }
+            }
+        }
+        if (reference != null) {
+            hitCount++;
+        }
+        return reference;
+    }
+
+    /**
+     * Adds the reference of the copied object to the index.
+     *
+     * @param content   the serialized content of the object
+     * @param reference the reference of the copied object
+     */
+    void put(SerializedObjectContent content, PdfIndirectReference reference) {
+        if (document == null) {
+            document = reference.getDocument();
+        } else if (document != reference.getDocument()) {
+            throw new PdfException(KernelExceptionMessageConstant.SMART_MODE_INDEX_IS_ALREADY_USED_BY_ANOTHER_DOCUMENT);
+        }
+        entries.put(content, reference);
+        if (entries.size() > maxEntriesInMemory) {
+            Iterator<Map.Entry<SerializedObjectContent, PdfIndirectReference>> iterator = entries.entrySet().iterator();
+            Map.Entry<SerializedObjectContent, PdfIndirectReference> eldest = iterator.next();
+            iterator.remove();
+            if (spillDirectory != null) {
+                if (spillFile == null) {
+                    spillFile = new SpillFile(spillDirectory, eldest.getKey().getDigest().length);
+                }
+                spillFile.put(eldest.getKey(), eldest.getValue().getObjNumber(), eldest.getValue().getGenNumber());
+            }
+        }
+    }
+
+    /**
+     * Open addressing hash table stored in a temporary file. Each record consists of the content digest,
+     * the object number and the generation number; records with zero object number are empty.
+     */
+    private static final class SpillFile {
+        static final long ABSENT = -1;
+
+        private static final int INITIAL_CAPACITY = 1 << 12;
+
+        private final String directory;
+        private final int digestLength;
+        private final int recordLength;
+        private final byte[] record;
+        private File file;
+        private RandomAccessFile raf;
+        private int capacity;
+        private int size;
+
+        SpillFile(String directory, int digestLength) {
+            this.directory = directory;
+            this.digestLength = digestLength;
+            this.recordLength = digestLength + 8;
+            this.record = new byte[recordLength];
+            try {
+                open(INITIAL_CAPACITY);
+            } catch (IOException e) {
+                throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, e);
+            }
+        }
+
+        long get(SerializedObjectContent content) {
+            try {
+                findSlot(content.getDigest());
+                return readObjNumber() == 0 ? ABSENT : (long) readObjNumber() << 32 | (readGenNumber() & 0xffffffffL);
+            } catch (IOException e) {
+                throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, e);
+            }
+        }
+
+        void put(SerializedObjectContent content, int objNr, int genNr) {
+            try {
+                if ((size + 1) * 2 > capacity) {
+                    grow();
+                }
+                write(content.getDigest(), objNr, genNr);
+            } catch (IOException e) {
+                throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, e);
+            }
+        }
+
+        void close() throws IOException {
+            raf.close();
+            FileUtil.deleteFile(file);
+        }
+
+        private void write(byte[] digest, int objNr, int genNr) throws IOException {
+            int slot = findSlot(digest);
+            if (readObjNumber() == 0) {
+                size++;
+            }
+            System.arraycopy(digest, 0, record, 0, digest.length);
+            writeInt(digest.length, objNr);
+            writeInt(digest.length + 4, genNr);
+            raf.seek((long) slot * recordLength);
+            raf.write(record);
+        }
+
+        /**
+         * Finds the slot which either contains the digest or is empty. The record of the slot is left in the buffer.
+         */
+        private int findSlot(byte[] digest) throws IOException {
+            // the digest is uniformly distributed, so any of its bytes make a good hash
+            int slot = ((digest[4] & 0xff) << 24 | (digest[5] & 0xff) << 16 | (digest[6] & 0xff) << 8
+                    | (digest[7] & 0xff)) & (capacity - 1);
+            while (true) {
+                raf.seek((long) slot * recordLength);
+                raf.readFully(record);
+                if (readObjNumber() == 0 || Arrays.equals(digest, Arrays.copyOf(record, digest.length))) {
+                    return slot;
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+        }
+
+        private void grow() throws IOException {
+            File oldFile = file;
+            RandomAccessFile oldRaf = raf;
+            int oldCapacity = capacity;
+            open(capacity * 2);
+            byte[] oldRecord = new byte[recordLength];
+            oldRaf.seek(0);
+            for (int i = 0; i < oldCapacity; i++) {
+                oldRaf.readFully(oldRecord);
+                System.arraycopy(oldRecord, 0, record, 0, recordLength);
+                int objNr = readObjNumber();
+                if (objNr != 0) {
+                    write(Arrays.copyOf(oldRecord, digestLength), objNr, readGenNumber());
+                }
+            }
+            oldRaf.close();
+            FileUtil.deleteFile(oldFile);
+        }
+
+        private void open(int capacity) throws IOException {
+            this.file = FileUtil.createTempFile(directory);
+            this.raf = FileUtil.getRandomAccessFile(file);
+            this.capacity = capacity;
+            this.size = 0;
+            // the content of an extended file is not defined, so the empty records are written explicitly
+            byte[] empty = new byte[recordLength * 256];
+            for (int i = 0; i < capacity; i += 256) {
+                raf.write(empty);
+            }
+        }
+
+        private int readObjNumber() {
+            return readInt(digestLength);
+        }
+
+        private int readGenNumber() {
+            return readInt(digestLength + 4);
+        }
+
+        private int readInt(int offset) {
+            return (record[offset] & 0xff) << 24 | (record[offset + 1] & 0xff) << 16
+                    | (record[offset + 2] & 0xff) << 8 | (record[offset + 3] & 0xff);
+        }
+
+        private void writeInt(int offset, int value) {
+            record[offset] = (byte) (value >>> 24);
+            record[offset + 1] = (byte) (value >>> 16);
+            record[offset + 2] = (byte) (value >>> 8);
+            record[offset + 3] = (byte) value;
+        }
+    }
+}
@@ -52,23 +52,42 @@ import java.util.Map;
 
 class SmartModePdfObjectsSerializer {
     private MessageDigest md5;
-    private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
+    private final MessageDigest contentDigest;
+    private final SmartModeIndex index;
+    private final ISmartModeHashAlgorithm hashAlgorithm;
 
     SmartModePdfObjectsSerializer() {
+        this(null, null);
+    }
+
+    /**
+     * Creates the serializer.
+     *
+     * @param index         the index of copied objects, or null to keep all of them in memory
+     * @param hashAlgorithm the algorithm to hash the objects content incrementally, or null to compare the full
+     *                      serialized content of the objects
+     */
+    SmartModePdfObjectsSerializer(SmartModeIndex index, ISmartModeHashAlgorithm hashAlgorithm) {
         try {
             md5 = MessageDigest.getInstance("MD5");
         } catch (Exception e) {
             throw new PdfException(e);
         }
+        this.index = index != null ? index : new SmartModeIndex();
+        this.hashAlgorithm = hashAlgorithm;
+        // only a bounded index keeps digests instead of the full serialized content
+        this.contentDigest = hashAlgorithm == null && this.index.isBounded()
+                ? SerializedObjectContent.createMessageDigest() : null;
     }
 
     public void saveSerializedObject(SerializedObjectContent serializedContent, PdfIndirectReference objectReference) {
-        serializedContentToObj.put(serializedContent, objectReference);
+        index.put(serializedContent, objectReference);
     }
 
-    public PdfIndirectReference getSavedSerializedObject(SerializedObjectContent serializedContent) {
+    public PdfIndirectReference getSavedSerializedObject(SerializedObjectContent serializedContent,
+            PdfDocument document) {
         if (serializedContent != null) {
-            return serializedContentToObj.get(serializedContent);
+            return index.get(serializedContent, document);
         }
         return null;
     }
@@ -79,7 +98,7 @@ class SmartModePdfObjectsSerializer {
         }
         PdfIndirectReference indRef = obj.getIndirectReference();
         assert indRef != null;
-        Map<PdfIndirectReference, byte[]> serializedCache = indRef.getDocument().serializedObjectsCache;
+        Map<PdfIndirectReference, byte[]> serializedCache = getSerializedCache(indRef.getDocument());
 
         byte[] content = serializedCache.get(indRef);
         if (content == null) {
@@ -90,11 +109,34 @@ class SmartModePdfObjectsSerializer {
             } catch (SelfReferenceException e) {
                 return null;
             }
-            content = bb.toByteArray();
+            if (hashAlgorithm == null) {
+                content = bb.toByteArray();
+            } else {
+                content = hashAlgorithm.hash(bb.getInternalBuffer(), 0, bb.size());
+            }
+        }
+        if (hashAlgorithm != null) {
+            // the cached content of indirect objects is already the hash of their serialized content
+            return SerializedObjectContent.fromDigest(content);
+        }
+        if (contentDigest != null) {
+            return SerializedObjectContent.fromDigest(contentDigest.digest(content));
         }
         return new SerializedObjectContent(content);
     }
 
+    private Map<PdfIndirectReference, byte[]> getSerializedCache(PdfDocument document) {
+        if (hashAlgorithm == null) {
+            return document.serializedObjectsCache;
+        }
+        Map<PdfIndirectReference, byte[]> cache = document.serializedObjectsHashesCache.get(hashAlgorithm);
+        if (cache == null) {
+            cache = new HashMap<>();
+            document.serializedObjectsHashesCache.put(hashAlgorithm, cache);
+        }
+        return cache;
+    }
+
     private void serObject(PdfObject obj, ByteBuffer bb, int level, Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
         if (level <= 0) {
             return;
@@ -130,7 +172,9 @@ class SmartModePdfObjectsSerializer {
             serDic((PdfDictionary) obj, bb, level - 1, serializedCache);
             bb.append("$B");
             if (level > 0) {
-                bb.append(md5.digest(((PdfStream) obj).getBytes(false)));
+                byte[] streamBytes = ((PdfStream) obj).getBytes(false);
+                bb.append(hashAlgorithm == null ? md5.digest(streamBytes)
+                        : hashAlgorithm.hash(streamBytes, 0, streamBytes.length));
             }
         } else if (obj.isDictionary()) {
             serDic((PdfDictionary) obj, bb, level - 1, serializedCache);
@@ -147,8 +191,11 @@ class SmartModePdfObjectsSerializer {
         }
 
         if (savedBb != null) {
-            serializedCache.put(reference, bb.toByteArray());
-            savedBb.append(bb.getInternalBuffer(), 0, bb.size());
+            // with a hash algorithm, indirect objects are represented by the hash of their content
+            byte[] serialized = hashAlgorithm == null ? bb.toByteArray()
+                    : hashAlgorithm.hash(bb.getInternalBuffer(), 0, bb.size());
+            serializedCache.put(reference, serialized);
+            savedBb.append(serialized);
         }
     }
 
@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.pdf;
 
 import java.security.cert.Certificate;
+import java.util.concurrent.ExecutorService;
 
 public class WriterProperties {
 
@@ -60,6 +61,18 @@ public class WriterProperties {
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+
+    /**
+     * The index used in smart mode to find objects with the same content. If null, all the objects are
+     * kept in memory.
+     */
+    protected SmartModeIndex smartModeIndex;
+
+    /**
+     * The algorithm used in smart mode to hash the objects content. If null, the full serialized content
+     * of the objects is compared.
+     */
+    protected ISmartModeHashAlgorithm smartModeHashAlgorithm;
     protected boolean addXmpMetadata;
     protected boolean addUAXmpMetadata;
     protected PdfVersion pdfVersion;
@@ -74,6 +87,12 @@ public class WriterProperties {
      */
     protected PdfString modifiedDocumentId;
 
+    /**
+     * The executor on which content of flushed streams is compressed. If null, streams are compressed
+     * on the thread which flushes them.
+     */
+    protected ExecutorService compressionExecutor;
+
     public WriterProperties() {
         smartMode = false;
         addUAXmpMetadata = false;
@@ -109,6 +128,38 @@ public class WriterProperties {
         return this;
     }
 
+    /**
+     * Enables smart mode with the specified index of copied objects.
+     * <br>
+     * The index allows to limit the memory used by smart mode and to find out how often the objects are reused,
+     * see {@link SmartModeIndex}. The index shall not be shared between documents.
+     *
+     * @param index the index of the copied objects
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useSmartMode(SmartModeIndex index) {
+        this.smartMode = true;
+        this.smartModeIndex = index;
+        return this;
+    }
+
+    /**
+     * Sets the hash algorithm which is used in smart mode to compare the content of copied objects.
+     * <br>
+     * By default, the content of each object is serialized together with the content of all the objects
+     * it refers to and compared byte by byte, or by its message digest if a bounded {@link SmartModeIndex}
+     * is used. With a hash algorithm, each referred object is only represented by its hash, which is calculated
+     * once, so that the comparison becomes considerably cheaper.
+     * See {@link Murmur3SmartModeHashAlgorithm} for a fast non-cryptographic algorithm.
+     *
+     * @param hashAlgorithm the hash algorithm, or null to use the default comparison
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setSmartModeHashAlgorithm(ISmartModeHashAlgorithm hashAlgorithm) {
+        this.smartModeHashAlgorithm = hashAlgorithm;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * For PDF 2.0 documents, metadata will be added in any case.
@@ -144,6 +195,25 @@ public class WriterProperties {
         return this;
     }
 
+    /**
+     * Defines the executor which is used to compress content of {@link PdfStream} objects in parallel.
+     * <br>
+     * When set, Flate compression of streams whose content is kept in memory (content streams, images,
+     * embedded font programs,...) is performed on the executor threads, while the streams themselves are
+     * still written to the output sequentially and in the order they were flushed. In full compression mode
+     * full object streams are compressed on the executor threads as well, while next objects are being added
+     * to the new object stream. The executor is not shut down by iText, its lifecycle shall be managed
+     * by the caller, so that the same executor can be shared by several documents.
+     *
+     * @param compressionExecutor the executor to compress streams on, or null to compress streams on
+     *                            the thread which flushes them
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setCompressionExecutor(ExecutorService compressionExecutor) {
+        this.compressionExecutor = compressionExecutor;
+        return this;
+    }
+
     /**
      * Sets the encryption options for the document.
      *
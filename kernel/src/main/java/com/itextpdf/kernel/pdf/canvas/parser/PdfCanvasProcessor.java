@@ -89,6 +89,7 @@ import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasOperands;
 import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
 import com.itextpdf.kernel.pdf.colorspace.PdfCieBasedCs;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
@@ -138,6 +139,12 @@ public class PdfCanvasProcessor {
      */
     private Map<String, IContentOperator> operators;
 
+    /**
+     * The same operators as in {@link #operators} map, but keyed by the operator literals, so that
+     * the lookup of the operators encountered in the content stream doesn't create strings.
+     */
+    private final Map<PdfLiteral, IContentOperator> operatorsByLiteral = new HashMap<>();
+
     /**
      * Resources for the content stream.
      * Current resources are always at the top of the stack.
@@ -226,6 +233,9 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
+        if (isLatinString(operatorString)) {
+            operatorsByLiteral.put(new PdfLiteral(operatorString), operator);
+        }
         return operators.put(operatorString, operator);
     }
 
@@ -274,9 +284,9 @@ public class PdfCanvasProcessor {
         this.resourcesStack.push(resources);
         PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
         PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
-        List<PdfObject> operands = new ArrayList<>();
+        PdfCanvasOperands operands = new PdfCanvasOperands();
         try {
-            while (ps.parse(operands).size() > 0) {
+            while (ps.parseOperands(operands).size() > 0) {
                 PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
                 invokeOperator(operator, operands);
             }
@@ -446,13 +456,52 @@ public class PdfCanvasProcessor {
      * @param operands a list with operands
      */
     protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
-        IContentOperator op = operators.get(operator.toString());
+        IContentOperator op = operatorsByLiteral.get(operator);
         if (op == null) {
             op = operators.get(DEFAULT_OPERATOR);
         }
         op.invoke(this, operator, operands);
     }
 
+    /**
+     * Gets the numeric operand as float value. The operands parsed by the processor are read
+     * without creating {@link PdfNumber} objects.
+     */
+    private static float getFloatOperand(List<PdfObject> operands, int index) {
+        return (float) getNumberOperand(operands, index);
+    }
+
+    /**
+     * Gets the numeric operand as int value the same way as {@link PdfNumber#intValue()} does.
+     */
+    private static int getIntOperand(List<PdfObject> operands, int index) {
+        double value = getNumberOperand(operands, index);
+        return value > (double) Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) value;
+    }
+
+    private static double getNumberOperand(List<PdfObject> operands, int index) {
+        if (operands instanceof PdfCanvasOperands) {
+            return ((PdfCanvasOperands) operands).getNumber(index);
+        }
+        return ((PdfNumber) operands.get(index)).getValue();
+    }
+
+    /**
+     * Checks whether the operator string can be represented as a literal. Strings with other characters
+     * never match the operators of content streams.
+     */
+    private static boolean isLatinString(String operatorString) {
+        if (operatorString == null) {
+            return false;
+        }
+        for (int i = 0; i < operatorString.length(); i++) {
+            if (operatorString.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected PdfStream getXObjectStream(PdfName xobjectName) {
         PdfDictionary xobjects = getResources().getResource(PdfName.XObject);
         return xobjects.getAsStream(xobjectName);
@@ -740,12 +789,12 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float a = ((PdfNumber) operands.get(0)).floatValue();
-            float b = ((PdfNumber) operands.get(1)).floatValue();
-            float c = ((PdfNumber) operands.get(2)).floatValue();
-            float d = ((PdfNumber) operands.get(3)).floatValue();
-            float e = ((PdfNumber) operands.get(4)).floatValue();
-            float f = ((PdfNumber) operands.get(5)).floatValue();
+            float a = getFloatOperand(operands, 0);
+            float b = getFloatOperand(operands, 1);
+            float c = getFloatOperand(operands, 2);
+            float d = getFloatOperand(operands, 3);
+            float e = getFloatOperand(operands, 4);
+            float f = getFloatOperand(operands, 5);
 
             processor.textLineMatrix = new Matrix(a, b, c, d, e, f);
             processor.textMatrix = processor.textLineMatrix;
@@ -768,7 +817,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float ty = ((PdfNumber) operands.get(1)).floatValue();
+            float ty = getFloatOperand(operands, 1);
 
             List<PdfObject> tlOperands = new ArrayList<PdfObject>(1);
             tlOperands.add(0, new PdfNumber(-ty));
@@ -785,8 +834,8 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float tx = ((PdfNumber) operands.get(0)).floatValue();
-            float ty = ((PdfNumber) operands.get(1)).floatValue();
+            float tx = getFloatOperand(operands, 0);
+            float ty = getFloatOperand(operands, 1);
 
             Matrix translationMatrix = new Matrix(tx, ty);
             processor.textMatrix = translationMatrix.multiply(processor.textLineMatrix);
@@ -803,7 +852,7 @@ public class PdfCanvasProcessor {
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
             PdfName fontResourceName = (PdfName) operands.get(0);
-            float size = ((PdfNumber) operands.get(1)).floatValue();
+            float size = getFloatOperand(operands, 1);
 
             PdfDictionary fontsDictionary = processor.getResources().getResource(PdfName.Font);
             PdfDictionary fontDict = fontsDictionary.getAsDictionary(fontResourceName);
@@ -824,8 +873,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber render = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setTextRenderingMode(render.intValue());
+            processor.getGraphicsState().setTextRenderingMode(getIntOperand(operands, 0));
         }
     }
 
@@ -837,8 +885,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber rise = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setTextRise(rise.floatValue());
+            processor.getGraphicsState().setTextRise(getFloatOperand(operands, 0));
         }
     }
 
@@ -850,8 +897,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber leading = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setLeading(leading.floatValue());
+            processor.getGraphicsState().setLeading(getFloatOperand(operands, 0));
         }
     }
 
@@ -863,8 +909,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber scale = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setHorizontalScaling(scale.floatValue());
+            processor.getGraphicsState().setHorizontalScaling(getFloatOperand(operands, 0));
         }
     }
 
@@ -876,8 +921,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber charSpace = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setCharSpacing(charSpace.floatValue());
+            processor.getGraphicsState().setCharSpacing(getFloatOperand(operands, 0));
         }
     }
 
@@ -889,8 +933,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber wordSpace = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setWordSpacing(wordSpace.floatValue());
+            processor.getGraphicsState().setWordSpacing(getFloatOperand(operands, 0));
         }
     }
 
@@ -950,12 +993,12 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float a = ((PdfNumber) operands.get(0)).floatValue();
-            float b = ((PdfNumber) operands.get(1)).floatValue();
-            float c = ((PdfNumber) operands.get(2)).floatValue();
-            float d = ((PdfNumber) operands.get(3)).floatValue();
-            float e = ((PdfNumber) operands.get(4)).floatValue();
-            float f = ((PdfNumber) operands.get(5)).floatValue();
+            float a = getFloatOperand(operands, 0);
+            float b = getFloatOperand(operands, 1);
+            float c = getFloatOperand(operands, 2);
+            float d = getFloatOperand(operands, 3);
+            float e = getFloatOperand(operands, 4);
+            float f = getFloatOperand(operands, 5);
             Matrix matrix = new Matrix(a, b, c, d, e, f);
             try {
                 processor.getGraphicsState().updateCtm(matrix);
@@ -1042,7 +1085,7 @@ public class PdfCanvasProcessor {
     private static Color getColor(int nOperands, List<PdfObject> operands) {
         float[] c = new float[nOperands];
         for (int i = 0; i < nOperands; i++) {
-            c[i] = ((PdfNumber) operands.get(i)).floatValue();
+            c[i] = getFloatOperand(operands, i);
         }
 
         switch (nOperands) {
@@ -1059,7 +1102,7 @@ public class PdfCanvasProcessor {
     private static float[] getColorants(List<PdfObject> operands) {
         float[] c = new float[operands.size() - 1];
         for (int i = 0; i < operands.size() - 1; i++) {
-            c[i] = ((PdfNumber) operands.get(i)).floatValue();
+            c[i] = getFloatOperand(operands, i);
         }
         return c;
     }
@@ -1346,7 +1389,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            float lineWidth = ((PdfNumber) operands.get(0)).floatValue();
+            float lineWidth = getFloatOperand(operands, 0);
             processor.getGraphicsState().setLineWidth(lineWidth);
         }
     }
@@ -1360,7 +1403,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            int lineCap = ((PdfNumber) operands.get(0)).intValue();
+            int lineCap = getIntOperand(operands, 0);
             processor.getGraphicsState().setLineCapStyle(lineCap);
         }
     }
@@ -1374,7 +1417,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            int lineJoin = ((PdfNumber) operands.get(0)).intValue();
+            int lineJoin = getIntOperand(operands, 0);
             processor.getGraphicsState().setLineJoinStyle(lineJoin);
         }
     }
@@ -1388,7 +1431,7 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            float miterLimit = ((PdfNumber) operands.get(0)).floatValue();
+            float miterLimit = getFloatOperand(operands, 0);
             processor.getGraphicsState().setMiterLimit(miterLimit);
         }
     }
@@ -1475,8 +1518,8 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x = ((PdfNumber) operands.get(0)).floatValue();
-            float y = ((PdfNumber) operands.get(1)).floatValue();
+            float x = getFloatOperand(operands, 0);
+            float y = getFloatOperand(operands, 1);
             processor.currentPath.moveTo(x, y);
         }
     }
@@ -1490,8 +1533,8 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x = ((PdfNumber) operands.get(0)).floatValue();
-            float y = ((PdfNumber) operands.get(1)).floatValue();
+            float x = getFloatOperand(operands, 0);
+            float y = getFloatOperand(operands, 1);
             processor.currentPath.lineTo(x, y);
         }
     }
@@ -1505,12 +1548,12 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x1 = ((PdfNumber) operands.get(0)).floatValue();
-            float y1 = ((PdfNumber) operands.get(1)).floatValue();
-            float x2 = ((PdfNumber) operands.get(2)).floatValue();
-            float y2 = ((PdfNumber) operands.get(3)).floatValue();
-            float x3 = ((PdfNumber) operands.get(4)).floatValue();
-            float y3 = ((PdfNumber) operands.get(5)).floatValue();
+            float x1 = getFloatOperand(operands, 0);
+            float y1 = getFloatOperand(operands, 1);
+            float x2 = getFloatOperand(operands, 2);
+            float y2 = getFloatOperand(operands, 3);
+            float x3 = getFloatOperand(operands, 4);
+            float y3 = getFloatOperand(operands, 5);
             processor.currentPath.curveTo(x1, y1, x2, y2, x3, y3);
         }
     }
@@ -1524,10 +1567,10 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x2 = ((PdfNumber) operands.get(0)).floatValue();
-            float y2 = ((PdfNumber) operands.get(1)).floatValue();
-            float x3 = ((PdfNumber) operands.get(2)).floatValue();
-            float y3 = ((PdfNumber) operands.get(3)).floatValue();
+            float x2 = getFloatOperand(operands, 0);
+            float y2 = getFloatOperand(operands, 1);
+            float x3 = getFloatOperand(operands, 2);
+            float y3 = getFloatOperand(operands, 3);
             processor.currentPath.curveTo(x2, y2, x3, y3);
         }
     }
@@ -1541,10 +1584,10 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x1 = ((PdfNumber) operands.get(0)).floatValue();
-            float y1 = ((PdfNumber) operands.get(1)).floatValue();
-            float x3 = ((PdfNumber) operands.get(2)).floatValue();
-            float y3 = ((PdfNumber) operands.get(3)).floatValue();
+            float x1 = getFloatOperand(operands, 0);
+            float y1 = getFloatOperand(operands, 1);
+            float x3 = getFloatOperand(operands, 2);
+            float y3 = getFloatOperand(operands, 3);
             processor.currentPath.curveFromTo(x1, y1, x3, y3);
         }
     }
@@ -1571,10 +1614,10 @@ public class PdfCanvasProcessor {
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x = ((PdfNumber) operands.get(0)).floatValue();
-            float y = ((PdfNumber) operands.get(1)).floatValue();
-            float w = ((PdfNumber) operands.get(2)).floatValue();
-            float h = ((PdfNumber) operands.get(3)).floatValue();
+            float x = getFloatOperand(operands, 0);
+            float y = getFloatOperand(operands, 1);
+            float w = getFloatOperand(operands, 2);
+            float h = getFloatOperand(operands, 3);
             processor.currentPath.rectangle(x, y, w, h);
         }
     }
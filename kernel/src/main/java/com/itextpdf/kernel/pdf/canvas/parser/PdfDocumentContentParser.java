@@ -43,11 +43,24 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListenerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * A utility class that makes it cleaner to process content from pages of a {@link PdfDocument}
@@ -56,6 +69,7 @@ import java.util.Map;
 public class PdfDocumentContentParser {
 
     private final PdfDocument pdfDocument;
+    private final Object fontCreationLock = new Object();
 
     public PdfDocumentContentParser(PdfDocument pdfDocument) {
         this.pdfDocument = pdfDocument;
@@ -90,4 +104,119 @@ public class PdfDocumentContentParser {
         return processContent(pageNumber, renderListener, new HashMap<String, IContentOperator>());
     }
 
+    /**
+     * Processes content from all pages of the document, every page with its own
+     * {@link PdfCanvasProcessor} and its own listener created by the specified factory.
+     * Pages are processed in parallel on the specified executor if the document is created without
+     * a reader or if the reader has been opened for concurrent reading
+     * (see {@link com.itextpdf.kernel.pdf.ReaderProperties#setConcurrentReading(boolean)}).
+     * Otherwise pages are processed one by one on the calling thread.
+     * Also allows registration of custom IContentOperators that can influence
+     * how (and whether or not) the PDF instructions will be parsed.
+     *
+     * <p>
+     * Note, that the document shall not be modified while its content is processed.
+     * The executor is not shut down by this method.
+     *
+     * @param <E>                        the type of the listeners
+     * @param listenerFactory            the factory of listeners that will receive render callbacks,
+     *                                   it is called once for every page on the calling thread
+     * @param executor                   the executor to process pages on
+     * @param additionalContentOperators an optional map of custom ContentOperators for rendering instructions,
+     *                                   custom operators are shared between pages, so they shall be thread-safe
+     * @return the list of listeners in the order of pages
+     */
+    public <E extends IEventListener> List<E> processContent(IEventListenerFactory<E> listenerFactory,
+            ExecutorService executor, Map<String, IContentOperator> additionalContentOperators) {
+        int numberOfPages = pdfDocument.getNumberOfPages();
+        List<E> listeners = new ArrayList<>(numberOfPages);
+        PdfReader reader = pdfDocument.getReader();
+        if (reader != null && !reader.isConcurrentReading()) {
+            for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
+                listeners.add(processContent(pageNumber, listenerFactory.createEventListener(pageNumber),
+                        additionalContentOperators));
+            }
+            return listeners;
+        }
+
+        // Pages and their resources are lazily initialized, so they are resolved on the calling thread
+        // before the content is processed concurrently.
+        List<Future<E>> results = new ArrayList<>(numberOfPages);
+        for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
+            PdfPage page = pdfDocument.getPage(pageNumber);
+            page.getResources();
+            results.add(executor.submit(new PageContentProcessingTask<>(page,
+                    listenerFactory.createEventListener(pageNumber), additionalContentOperators)));
+        }
+        for (Future<E> result : results) {
+            listeners.add(getProcessingResult(result));
+        }
+        return listeners;
+    }
+
+    /**
+     * Processes content from all pages of the document, every page with its own
+     * {@link PdfCanvasProcessor} and its own listener created by the specified factory.
+     * See {@link #processContent(IEventListenerFactory, ExecutorService, Map)} for the details.
+     *
+     * @param <E>             the type of the listeners
+     * @param listenerFactory the factory of listeners that will receive render callbacks
+     * @param executor        the executor to process pages on
+     * @return the list of listeners in the order of pages
+     */
+    public <E extends IEventListener> List<E> processContent(IEventListenerFactory<E> listenerFactory,
+            ExecutorService executor) {
+        return processContent(listenerFactory, executor, new HashMap<String, IContentOperator>());
+    }
+
+    private static <E> E getProcessingResult(Future<E> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e.getCause());
+        }
+    }
+
+    private final class PageContentProcessingTask<E extends IEventListener> implements Callable<E> {
+        private final PdfPage page;
+        private final E listener;
+        private final Map<String, IContentOperator> additionalContentOperators;
+
+        PageContentProcessingTask(PdfPage page, E listener,
+                Map<String, IContentOperator> additionalContentOperators) {
+            this.page = page;
+            this.listener = listener;
+            this.additionalContentOperators = additionalContentOperators;
+        }
+
+        @Override
+        public E call() {
+            new ConcurrentPdfCanvasProcessor(listener, additionalContentOperators).processPageContent(page);
+            return listener;
+        }
+    }
+
+    /**
+     * Font dictionaries are shared between pages and are updated while fonts are created,
+     * so the fonts are created under the document-wide lock.
+     */
+    private final class ConcurrentPdfCanvasProcessor extends PdfCanvasProcessor {
+        ConcurrentPdfCanvasProcessor(IEventListener eventListener,
+                Map<String, IContentOperator> additionalContentOperators) {
+            super(eventListener, additionalContentOperators);
+        }
+
+        @Override
+        protected PdfFont getFont(PdfDictionary fontDict) {
+            synchronized (fontCreationLock) {
+                return super.getFont(fontDict);
+            }
+        }
+    }
 }
@@ -43,12 +43,17 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListenerFactory;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
 import com.itextpdf.kernel.pdf.PdfPage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 public final class PdfTextExtractor {
 
@@ -95,4 +100,45 @@ public final class PdfTextExtractor {
     public static String getTextFromPage(PdfPage page) {
         return getTextFromPage(page, new LocationTextExtractionStrategy());
     }
+
+    /**
+     * Extract text from all pages of the document, pages are processed in parallel on the specified executor.
+     * See {@link PdfDocumentContentParser#processContent(IEventListenerFactory, ExecutorService, Map)}
+     * for the conditions of parallel processing.
+     *
+     * @param pdfDocument     the document for the text to be extracted from
+     * @param strategyFactory the factory of strategies, a new strategy shall be created for every page
+     * @param executor        the executor to process pages on
+     * @param <E>             the type of the strategies
+     * @return the list of extracted texts in the order of pages
+     */
+    public static <E extends ITextExtractionStrategy> List<String> getTextFromPages(PdfDocument pdfDocument,
+            IEventListenerFactory<E> strategyFactory, ExecutorService executor) {
+        List<E> strategies = new PdfDocumentContentParser(pdfDocument).processContent(strategyFactory, executor);
+        List<String> texts = new ArrayList<>(strategies.size());
+        for (E strategy : strategies) {
+            texts.add(strategy.getResultantText());
+        }
+        return texts;
+    }
+
+    /**
+     * Extract text from all pages of the document using the default strategy,
+     * pages are processed in parallel on the specified executor.
+     * Node: the default strategy is subject to change. If using a specific strategy
+     * is important, please use
+     * {@link PdfTextExtractor#getTextFromPages(PdfDocument, IEventListenerFactory, ExecutorService)}.
+     *
+     * @param pdfDocument the document for the text to be extracted from
+     * @param executor    the executor to process pages on
+     * @return the list of extracted texts in the order of pages
+     */
+    public static List<String> getTextFromPages(PdfDocument pdfDocument, ExecutorService executor) {
+        return getTextFromPages(pdfDocument, new IEventListenerFactory<LocationTextExtractionStrategy>() {
+            @Override
+            public LocationTextExtractionStrategy createEventListener(int pageNumber) {
+                return new LocationTextExtractionStrategy();
+            }
+        }, executor);
+    }
 }
@@ -0,0 +1,213 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * A reusable list of the operands of a content stream command, see {@link PdfCanvasParser#parseOperands}.
+ * As well as the list returned by {@link PdfCanvasParser#parse(java.util.List)} it has
+ * the command operator as the last element.
+ * <br>
+ * Numeric operands are kept as primitive values and {@link PdfNumber} objects are only created
+ * when such operands are requested with {@link #get(int)}. Use {@link #isNumber(int)} and
+ * {@link #getNumber(int)} in order to read numeric operands without creating objects.
+ */
+public class PdfCanvasOperands extends AbstractList<PdfObject> {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private PdfObject[] objects = new PdfObject[INITIAL_CAPACITY];
+    private double[] numbers = new double[INITIAL_CAPACITY];
+    private boolean[] numeric = new boolean[INITIAL_CAPACITY];
+    private int[] numberContentOffsets = new int[INITIAL_CAPACITY];
+    private int[] numberContentLengths = new int[INITIAL_CAPACITY];
+    private byte[] numberContent = new byte[INITIAL_CAPACITY * INITIAL_CAPACITY];
+    private int numberContentSize;
+    private int size;
+
+    /**
+     * Creates an empty list of operands.
+     */
+    public PdfCanvasOperands() {
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public PdfObject get(int index) {
+        checkIndex(index);
+        if (objects[index] == null) {
+            int offset = numberContentOffsets[index];
+            objects[index] = new PdfNumber(
+                    Arrays.copyOfRange(numberContent, offset, offset + numberContentLengths[index]));
+        }
+        return objects[index];
+    }
+
+    @Override
+    public PdfObject set(int index, PdfObject element) {
+        PdfObject previous = get(index);
+        objects[index] = element;
+        numeric[index] = false;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, PdfObject element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        int moved = size - index;
+        System.arraycopy(objects, index, objects, index + 1, moved);
+        System.arraycopy(numbers, index, numbers, index + 1, moved);
+        System.arraycopy(numeric, index, numeric, index + 1, moved);
+        System.arraycopy(numberContentOffsets, index, numberContentOffsets, index + 1, moved);
+        System.arraycopy(numberContentLengths, index, numberContentLengths, index + 1, moved);
+        objects[index] = element;
+        numeric[index] = false;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public PdfObject remove(int index) {
+        PdfObject removed = get(index);
+        int moved = size - index - 1;
+        System.arraycopy(objects, index + 1, objects, index, moved);
+        System.arraycopy(numbers, index + 1, numbers, index, moved);
+        System.arraycopy(numeric, index + 1, numeric, index, moved);
+        System.arraycopy(numberContentOffsets, index + 1, numberContentOffsets, index, moved);
+        System.arraycopy(numberContentLengths, index + 1, numberContentLengths, index, moved);
+        objects[--size] = null;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        numberContentSize = 0;
+        modCount++;
+    }
+
+    /**
+     * Checks whether the operand at the specified position is a number which has been read from the content
+     * stream and can be obtained with {@link #getNumber(int)} without creating a {@link PdfNumber} object.
+     *
+     * @param index the index of the operand
+     * @return true, if the operand is a number read from the content stream, otherwise false
+     */
+    public boolean isNumber(int index) {
+        checkIndex(index);
+        return numeric[index];
+    }
+
+    /**
+     * Gets the value of the numeric operand at the specified position.
+     *
+     * @param index the index of the operand
+     * @return the value of the operand
+     * @throws ClassCastException if the operand is not a number
+     */
+    public double getNumber(int index) {
+        checkIndex(index);
+        if (numeric[index]) {
+            return numbers[index];
+        }
+        return ((PdfNumber) objects[index]).getValue();
+    }
+
+    void addNumber(PdfTokenizer tokeniser) {
+        ensureCapacity(size + 1);
+        int length = tokeniser.getByteContentLength();
+        if (numberContentSize + length > numberContent.length) {
+            numberContent = Arrays.copyOf(numberContent, Math.max(numberContent.length * 2,
+                    numberContentSize + length));
+        }
+        tokeniser.getByteContent(numberContent, numberContentSize);
+        numberContentOffsets[size] = numberContentSize;
+        numberContentLengths[size] = length;
+        numberContentSize += length;
+        double value;
+        try {
+            value = tokeniser.getDoubleValue();
+        } catch (NumberFormatException e) {
+            // The same value as PdfNumber gets for malformed numbers
+            value = Double.NaN;
+        }
+        numbers[size] = value;
+        numeric[size] = true;
+        objects[size] = null;
+        size++;
+        modCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > objects.length) {
+            int newCapacity = Math.max(objects.length * 2, capacity);
+            objects = Arrays.copyOf(objects, newCapacity);
+            numbers = Arrays.copyOf(numbers, newCapacity);
+            numeric = Arrays.copyOf(numeric, newCapacity);
+            numberContentOffsets = Arrays.copyOf(numberContentOffsets, newCapacity);
+            numberContentLengths = Arrays.copyOf(numberContentLengths, newCapacity);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.pdf.canvas.parser.util;
 
 import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
@@ -59,6 +60,7 @@ import com.itextpdf.kernel.pdf.PdfString;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -67,6 +69,13 @@ import java.util.List;
  */
 public class PdfCanvasParser {
 
+    private static final byte[] BI = ByteUtils.getIsoBytes("BI");
+
+    /**
+     * The size of the cache of operator literals. Shall be a power of two.
+     */
+    private static final int OPERATOR_CACHE_SIZE = 128;
+
     /**
      * Holds value of property tokeniser.
      */
@@ -74,6 +83,10 @@ public class PdfCanvasParser {
 
     private PdfResources currentResources;
 
+    private PdfLiteral[] operatorLiterals = new PdfLiteral[OPERATOR_CACHE_SIZE];
+    private byte[][] operatorBytes = new byte[OPERATOR_CACHE_SIZE][];
+    private byte[] tokenBuffer = new byte[16];
+
     /**
      * Creates a new instance of PdfContentParser
      * @param tokeniser the tokeniser with the content
@@ -129,6 +142,42 @@ public class PdfCanvasParser {
         return ls;
     }
 
+    /**
+     * Parses a single command from the content in the same way as {@link #parse(List)} does, but
+     * the numeric operands are not wrapped into {@link PdfNumber} objects unless they are requested and
+     * the operator literals are shared between the commands with the same operator.
+     *
+     * @param operands a {@link PdfCanvasOperands} to use. It will be cleared before using. If it's
+     *                 <CODE>null</CODE> will create a new {@link PdfCanvasOperands}
+     * @return the same {@link PdfCanvasOperands} given as argument or a new one
+     * @throws IOException on error
+     */
+    public PdfCanvasOperands parseOperands(PdfCanvasOperands operands) throws IOException {
+        if (operands == null)
+            operands = new PdfCanvasOperands();
+        else
+            operands.clear();
+        while (nextValidToken()) {
+            PdfTokenizer.TokenType type = tokeniser.getTokenType();
+            if (type == PdfTokenizer.TokenType.Number) {
+                operands.addNumber(tokeniser);
+            } else if (type == PdfTokenizer.TokenType.Other) {
+                if (tokeniser.tokenValueEqualsTo(BI)) {
+                    PdfStream inlineImageAsStream = InlineImageParsingUtils.parse(this, currentResources.getResource(PdfName.ColorSpace));
+                    operands.clear();
+                    operands.add(inlineImageAsStream);
+                    operands.add(new PdfLiteral("EI"));
+                } else {
+                    operands.add(getOperatorLiteral());
+                }
+                break;
+            } else {
+                operands.add(readCurrentObject());
+            }
+        }
+        return operands;
+    }
+
     /**
      * Gets the tokeniser.
      * @return the tokeniser.
@@ -195,6 +244,10 @@ public class PdfCanvasParser {
     public PdfObject readObject() throws IOException {
         if (!nextValidToken())
             return null;
+        return readCurrentObject();
+    }
+
+    private PdfObject readCurrentObject() throws IOException {
         final PdfTokenizer.TokenType type = tokeniser.getTokenType();
         switch (type) {
             case StartDic: {
@@ -216,6 +269,38 @@ public class PdfCanvasParser {
         }
     }
 
+    /**
+     * Gets the literal of the current operator token, the literals are cached so that
+     * the same operators do not lead to creation of new objects.
+     */
+    private PdfLiteral getOperatorLiteral() {
+        int length = tokeniser.getByteContentLength();
+        if (length > tokenBuffer.length) {
+            return new PdfLiteral(tokeniser.getByteContent());
+        }
+        tokeniser.getByteContent(tokenBuffer, 0);
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + tokenBuffer[i];
+        }
+        int mask = OPERATOR_CACHE_SIZE - 1;
+        int index = hash & mask;
+        for (int probe = 0; probe < OPERATOR_CACHE_SIZE; probe++) {
+            byte[] cached = operatorBytes[index];
+            if (cached == null) {
+                byte[] content = Arrays.copyOf(tokenBuffer, length);
+                operatorBytes[index] = content;
+                operatorLiterals[index] = new PdfLiteral(content);
+                return operatorLiterals[index];
+            }
+            if (tokeniser.tokenValueEqualsTo(cached)) {
+                return operatorLiterals[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return new PdfLiteral(tokeniser.getByteContent());
+    }
+
     /**
      * Reads the next token skipping over the comments.
      * @return <CODE>true</CODE> if a token was read, <CODE>false</CODE> if the end of content was reached
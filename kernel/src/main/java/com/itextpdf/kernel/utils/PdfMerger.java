@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -55,6 +56,7 @@ public class PdfMerger {
     private boolean closeSrcDocuments;
     private boolean mergeTags;
     private boolean mergeOutlines;
+    private boolean streamingMode;
 
     /**
      * This class is used to merge a number of existing documents into one. By default, if source document
@@ -96,6 +98,29 @@ public class PdfMerger {
         return this;
     }
 
+    /**
+     * If set to <i>true</i> then the pages are merged in streaming mode: each merged page is flushed together with its
+     * resources right after copying, and the objects copied from the source document are flushed and released, together
+     * with the smart mode caches of the source document, as soon as the <i>{@code PdfMerger#merge}</i> call for this
+     * source document is finished. This way the memory consumption
+     * doesn't grow with the number of merged documents, but merged pages can't be modified anymore and the same pages
+     * shouldn't be merged from the same source document twice, as the copied objects would be duplicated.
+     * Default value - <i>false</i>.
+     * <p>
+     * Note, that in streaming mode the resources are shared between different source documents only if the
+     * destination document is written in smart mode, see {@link com.itextpdf.kernel.pdf.WriterProperties#useSmartMode()}.
+     * To keep this cross-document cache bounded as well, use
+     * {@link com.itextpdf.kernel.pdf.WriterProperties#useSmartMode(com.itextpdf.kernel.pdf.SmartModeIndex)}
+     * with a limited index.
+     *
+     * @param streamingMode should be true to flush the merged pages and copied objects in merge method
+     * @return this {@code PdfMerger} instance
+     */
+    public PdfMerger setStreamingMode(boolean streamingMode) {
+        this.streamingMode = streamingMode;
+        return this;
+    }
+
     /**
      * This method merges pages from the source document to the current one.
      * <p>
@@ -137,7 +162,13 @@ public class PdfMerger {
             pdfDocument.initializeOutlines();
         }
 
-        from.copyPagesTo(pages, pdfDocument);
+        List<PdfPage> mergedPages = from.copyPagesTo(pages, pdfDocument);
+        if (streamingMode) {
+            for (PdfPage page : mergedPages) {
+                page.flush(true);
+            }
+            pdfDocument.flushCopiedObjects(from, true);
+        }
         if (closeSrcDocuments) {
             from.close();
         }
@@ -0,0 +1,440 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfOutline;
+import com.itextpdf.kernel.pdf.PdfOutputStream;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfStream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the objects which are needed for every page of a document, when the page is copied into
+ * another document, and of the number of bytes these objects take in the resultant document.
+ * The index is built in a single pass over the pages and the length of every object is calculated only once,
+ * no matter how many pages share it, so that the document can be split into parts of the given size
+ * in a time close to linear.
+ */
+final class PdfResourceSizeIndex {
+
+    // "N G obj\n" and "\nendobj\n" around the object content, the object numbers are about five digits long
+    private static final int OBJECT_OVERHEAD = 20;
+    // an entry of the cross-reference table
+    private static final int XREF_ENTRY_LENGTH = 20;
+    // "stream\n" and "\nendstream" around the stream content
+    private static final int STREAM_OVERHEAD = 17;
+    // the header, catalog, page tree root, document info, cross-reference table and trailer of a new document
+    private static final int DOCUMENT_OVERHEAD = 1000;
+    // a reference to the structure element in the parent tree, which is written for every marked content
+    private static final int PARENT_TREE_ENTRY_LENGTH = 10;
+
+    // the keys of the page dictionary, which are not copied along with the page, see PdfPage#copyTo
+    private static final List<PdfName> PAGE_EXCLUDED_KEYS = Arrays.asList(PdfName.Parent, PdfName.Annots,
+            PdfName.StructParents, PdfName.B);
+    // the keys of the annotation dictionary, which are not copied along with the page, see PdfPage#copyTo
+    private static final List<PdfName> ANNOTATION_EXCLUDED_KEYS = Arrays.asList(PdfName.P, PdfName.Parent);
+    // the keys of the structure element, which are not copied as is, see StructureTreeCopier
+    private static final List<PdfName> STRUCT_ELEM_EXCLUDED_KEYS = Arrays.asList(PdfName.P, PdfName.Pg,
+            PdfName.Obj, PdfName.NS);
+    // the keys of the structure element, which refer to the other elements, pages and annotations
+    private static final List<PdfName> STRUCT_ELEM_TREE_KEYS = Arrays.asList(PdfName.K, PdfName.P, PdfName.Pg,
+            PdfName.Obj, PdfName.NS);
+    // the keys of the outline item, which refer to the other items
+    private static final List<PdfName> OUTLINE_EXCLUDED_KEYS = Arrays.asList(PdfName.Parent, PdfName.First,
+            PdfName.Last, PdfName.Next, PdfName.Prev);
+    // the keys of the page dictionary, which are copied from the ancestor Pages nodes if the page lacks them
+    private static final List<PdfName> INHERITABLE_PAGE_KEYS = Arrays.asList(PdfName.Resources, PdfName.MediaBox,
+            PdfName.CropBox, PdfName.Rotate);
+
+    private final Map<Integer, ObjectEntry> objects = new HashMap<>();
+    private final long baseLength;
+    private final ObjectEntry[][] pageObjects;
+    private final long[] pageLengths;
+
+    /**
+     * Creates the index of the specified document.
+     *
+     * @param pdfDocument       the document opened in reading mode
+     * @param preserveTagged    defines whether the structure elements are copied along with the pages
+     * @param preserveOutlines  defines whether the outlines are copied along with the pages
+     */
+    PdfResourceSizeIndex(PdfDocument pdfDocument, boolean preserveTagged, boolean preserveOutlines) {
+        int numberOfPages = pdfDocument.getNumberOfPages();
+        pageObjects = new ObjectEntry[numberOfPages][];
+        pageLengths = new long[numberOfPages];
+        List<List<ObjectEntry>> pageEntries = new ArrayList<>(numberOfPages);
+        for (int i = 0; i < numberOfPages; i++) {
+            pageEntries.add(new ArrayList<ObjectEntry>());
+        }
+        long structureLength = 0;
+        if (preserveTagged && pdfDocument.isTagged()) {
+            PdfDictionary structTreeRoot = pdfDocument.getCatalog().getPdfObject()
+                    .getAsDictionary(PdfName.StructTreeRoot);
+            // the role map is copied to every part
+            PdfDictionary roleMap = structTreeRoot.getAsDictionary(PdfName.RoleMap);
+            if (roleMap != null) {
+                structureLength += getObjectLength(roleMap, Collections.<PdfName>emptyList());
+            }
+            addStructElemEntries(structTreeRoot.get(PdfName.K), null, null, pdfDocument, pageEntries);
+        }
+        baseLength = DOCUMENT_OVERHEAD + structureLength;
+
+        List<ObjectEntry> collected = new ArrayList<>();
+        for (int i = 0; i < numberOfPages; i++) {
+            collected.clear();
+            PdfPage page = pdfDocument.getPage(i + 1);
+            PdfDictionary pageCopy = createPageCopy(page.getPdfObject());
+            List<ObjectEntry> entries = pageEntries.get(i);
+            entries.addAll(getReferencedEntries(pageCopy, Collections.<PdfName>emptyList()));
+            PdfArray annots = page.getPdfObject().getAsArray(PdfName.Annots);
+            if (annots != null) {
+                for (int j = 0; j < annots.size(); j++) {
+                    // the links are copied only if they lead to the copied pages, most of them do not
+                    PdfDictionary annot = annots.getAsDictionary(j);
+                    if (annot != null && !PdfName.Link.equals(annot.getAsName(PdfName.Subtype))) {
+                        addReferencedEntry(annots.get(j, false), entries, ANNOTATION_EXCLUDED_KEYS);
+                    }
+                }
+                pageCopy.put(PdfName.Annots, annots);
+            }
+            if (preserveOutlines && pdfDocument.hasOutlines()) {
+                List<PdfOutline> outlines = page.getOutlines(false);
+                if (outlines != null) {
+                    for (PdfOutline outline : outlines) {
+                        addOutlineEntry(outline, entries);
+                    }
+                }
+            }
+            collectEntries(entries, collected, i);
+            pageObjects[i] = collected.toArray(new ObjectEntry[collected.size()]);
+            // the page dictionary itself is always a new object
+            pageLengths[i] += getObjectLength(pageCopy, Collections.<PdfName>emptyList()) + sum(collected);
+        }
+    }
+
+    /**
+     * Plans the page ranges of the parts of the document, each of which shall take no more than the specified number
+     * of bytes. A part is never empty, so it may be bigger than that if it contains only one page.
+     *
+     * @param size the preferred size of a part in bytes
+     * @return the page ranges of the parts
+     */
+    List<PageRange> planPageRanges(long size) {
+        List<PageRange> pageRanges = new ArrayList<>();
+        int numberOfPages = pageObjects.length;
+        int rangeStart = 0;
+        long rangeLength = baseLength;
+        for (int i = 0; i < numberOfPages; i++) {
+            // the objects are stamped with the first page of the range they have been counted for
+            long pageLength = pageLengths[i];
+            for (ObjectEntry entry : pageObjects[i]) {
+                if (entry.rangeStart == rangeStart) {
+                    pageLength -= entry.length;
+                }
+            }
+            if (i > rangeStart && rangeLength + pageLength > size) {
+                pageRanges.add(new PageRange().addPageSequence(rangeStart + 1, i));
+                rangeStart = i;
+                rangeLength = baseLength;
+                pageLength = pageLengths[i];
+            }
+            for (ObjectEntry entry : pageObjects[i]) {
+                entry.rangeStart = rangeStart;
+            }
+            rangeLength += pageLength;
+        }
+        if (numberOfPages > 0) {
+            pageRanges.add(new PageRange().addPageSequence(rangeStart + 1, numberOfPages));
+        }
+        return pageRanges;
+    }
+
+    private static PdfDictionary createPageCopy(PdfDictionary page) {
+        PdfDictionary pageCopy = new PdfDictionary(page);
+        for (PdfName key : PAGE_EXCLUDED_KEYS) {
+            pageCopy.remove(key);
+        }
+        for (PdfName key : INHERITABLE_PAGE_KEYS) {
+            if (!page.containsKey(key)) {
+                PdfObject inheritedValue = getInheritedValue(page, key);
+                if (inheritedValue != null) {
+                    pageCopy.put(key, inheritedValue);
+                }
+            }
+        }
+        return pageCopy;
+    }
+
+    /**
+     * Walks the structure tree and adds the structure elements to the entries of the pages they have content on.
+     * The parents of the element are referenced by its entry, since they are copied along with it.
+     */
+    private void addStructElemEntries(PdfObject kids, ObjectEntry parent, PdfDictionary parentPage,
+            PdfDocument pdfDocument, List<List<ObjectEntry>> pageEntries) {
+        if (kids == null) {
+            return;
+        }
+        if (kids.isArray()) {
+            PdfArray kidsArray = (PdfArray) kids;
+            for (int i = 0; i < kidsArray.size(); i++) {
+                addStructElemEntries(kidsArray.get(i), parent, parentPage, pdfDocument, pageEntries);
+            }
+            return;
+        }
+        if (!kids.isDictionary()) {
+            // marked-content identifier on the page of the parent element
+            addPageEntry(parent, parentPage, pdfDocument, pageEntries);
+            return;
+        }
+        PdfDictionary kid = (PdfDictionary) kids;
+        PdfDictionary page = kid.getAsDictionary(PdfName.Pg);
+        if (page == null) {
+            page = parentPage;
+        }
+        if (!kid.containsKey(PdfName.S)) {
+            // marked-content or object reference
+            addPageEntry(parent, page, pdfDocument, pageEntries);
+            return;
+        }
+        PdfIndirectReference reference = kid.getIndirectReference();
+        if (reference != null && objects.containsKey(reference.getObjNumber())) {
+            return;
+        }
+        ObjectEntry entry = new ObjectEntry(getObjectLength(kid, STRUCT_ELEM_EXCLUDED_KEYS));
+        if (reference != null) {
+            objects.put(reference.getObjNumber(), entry);
+        }
+        entry.children = getReferencedEntries(kid, STRUCT_ELEM_TREE_KEYS);
+        if (parent != null) {
+            entry.children.add(parent);
+        }
+        addStructElemEntries(kid.get(PdfName.K), entry, page, pdfDocument, pageEntries);
+    }
+
+    private void addPageEntry(ObjectEntry entry, PdfDictionary page, PdfDocument pdfDocument,
+            List<List<ObjectEntry>> pageEntries) {
+        if (entry == null || page == null) {
+            return;
+        }
+        int pageNumber = pdfDocument.getPageNumber(page);
+        if (pageNumber > 0) {
+            pageEntries.get(pageNumber - 1).add(entry);
+            pageLengths[pageNumber - 1] += PARENT_TREE_ENTRY_LENGTH;
+        }
+    }
+
+    /**
+     * Adds the entry of the outline, which refers to the entries of its parents, since they are copied along with it.
+     */
+    private void addOutlineEntry(PdfOutline outline, List<ObjectEntry> entries) {
+        // the root outline is the part of the catalog
+        if (outline.getParent() == null) {
+            return;
+        }
+        PdfDictionary content = outline.getContent();
+        PdfIndirectReference reference = content.getIndirectReference();
+        ObjectEntry entry = reference == null ? null : objects.get(reference.getObjNumber());
+        if (entry == null) {
+            entry = new ObjectEntry(getObjectLength(content, Collections.<PdfName>emptyList()));
+            if (reference != null) {
+                objects.put(reference.getObjNumber(), entry);
+            }
+            entry.children = getReferencedEntries(content, OUTLINE_EXCLUDED_KEYS);
+            addOutlineEntry(outline.getParent(), entry.children);
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Adds the entries and all the entries they reference to the list, unless they have already been
+     * collected for the same page.
+     */
+    private static void collectEntries(List<ObjectEntry> entries, List<ObjectEntry> collected, int pageIndex) {
+        for (ObjectEntry entry : entries) {
+            if (entry.collectedFor == pageIndex) {
+                continue;
+            }
+            entry.collectedFor = pageIndex;
+            collected.add(entry);
+            collectEntries(entry.children, collected, pageIndex);
+        }
+    }
+
+    /**
+     * Gets the entries of the indirect objects, which are referenced by the specified object directly or from its
+     * direct objects. The entries are created when the objects are met for the first time.
+     */
+    private List<ObjectEntry> getReferencedEntries(PdfObject obj, List<PdfName> excludedKeys) {
+        List<ObjectEntry> entries = new ArrayList<>();
+        addReferencedEntries(obj, entries, excludedKeys);
+        return entries;
+    }
+
+    private void addReferencedEntries(PdfObject obj, List<ObjectEntry> entries, List<PdfName> excludedKeys) {
+        switch (obj.getType()) {
+            case PdfObject.ARRAY:
+                PdfArray array = (PdfArray) obj;
+                for (int i = 0; i < array.size(); i++) {
+                    addReferencedEntry(array.get(i, false), entries, Collections.<PdfName>emptyList());
+                }
+                break;
+            case PdfObject.DICTIONARY:
+            case PdfObject.STREAM:
+                PdfDictionary dict = (PdfDictionary) obj;
+                for (PdfName key : dict.keySet()) {
+                    if (!excludedKeys.contains(key)) {
+                        addReferencedEntry(dict.get(key, false), entries, Collections.<PdfName>emptyList());
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void addReferencedEntry(PdfObject obj, List<ObjectEntry> entries, List<PdfName> excludedKeys) {
+        if (obj == null) {
+            return;
+        }
+        PdfIndirectReference reference = obj.isIndirectReference()
+                ? (PdfIndirectReference) obj : obj.getIndirectReference();
+        if (reference == null) {
+            addReferencedEntries(obj, entries, excludedKeys);
+            return;
+        }
+        ObjectEntry entry = objects.get(reference.getObjNumber());
+        if (entry == null) {
+            PdfObject refersTo = reference.getRefersTo();
+            if (refersTo == null || isPageTreeNode(refersTo)) {
+                // the other pages and the page tree are not copied along with the page
+                return;
+            }
+            entry = new ObjectEntry(getObjectLength(refersTo, excludedKeys));
+            // registered before the children are processed to stop on the cyclic references
+            objects.put(reference.getObjNumber(), entry);
+            entry.children = getReferencedEntries(refersTo, excludedKeys);
+        }
+        entries.add(entry);
+    }
+
+    private static boolean isPageTreeNode(PdfObject obj) {
+        if (!obj.isDictionary()) {
+            return false;
+        }
+        PdfName type = ((PdfDictionary) obj).getAsName(PdfName.Type);
+        return PdfName.Page.equals(type) || PdfName.Pages.equals(type);
+    }
+
+    private static PdfObject getInheritedValue(PdfDictionary page, PdfName key) {
+        PdfDictionary parent = page.getAsDictionary(PdfName.Parent);
+        // the depth is limited to not hang on the cyclic page trees
+        for (int depth = 0; parent != null && depth < 100; depth++) {
+            PdfObject value = parent.get(key, false);
+            if (value != null) {
+                return value;
+            }
+            parent = parent.getAsDictionary(PdfName.Parent);
+        }
+        return null;
+    }
+
+    private static long getObjectLength(PdfObject obj, List<PdfName> excludedKeys) {
+        PdfOutputStream os = new PdfOutputStream(new IdleOutputStream());
+        if (!excludedKeys.isEmpty() && obj.isDictionary()) {
+            PdfDictionary dict = new PdfDictionary((PdfDictionary) obj);
+            for (PdfName key : excludedKeys) {
+                dict.remove(key);
+            }
+            obj = dict;
+        }
+        if (obj.isStream() && isCopiedAsIs((PdfStream) obj)) {
+            // encoded content is copied without changes, so there is no need to read it
+            os.write(new PdfDictionary((PdfDictionary) obj));
+            return os.getCurrentPos() + ((PdfStream) obj).getLength() + STREAM_OVERHEAD
+                    + OBJECT_OVERHEAD + XREF_ENTRY_LENGTH;
+        }
+        // not yet compressed streams are compressed when they are written, so the only way to know their length
+        // is to write them
+        os.write(obj.isStream() ? obj.clone() : obj);
+        return os.getCurrentPos() + OBJECT_OVERHEAD + XREF_ENTRY_LENGTH;
+    }
+
+    private static boolean isCopiedAsIs(PdfStream stream) {
+        return stream.getLength() >= 0 && (stream.containsKey(PdfName.Filter)
+                || PdfName.Metadata.equals(stream.getAsName(PdfName.Type)));
+    }
+
+    private static long sum(List<ObjectEntry> entries) {
+        long length = 0;
+        for (ObjectEntry entry : entries) {
+            length += entry.length;
+        }
+        return length;
+    }
+
+    private static final class ObjectEntry {
+        final long length;
+        List<ObjectEntry> children = Collections.<ObjectEntry>emptyList();
+        // the index of the last page for which the object has been collected
+        int collectedFor = Integer.MIN_VALUE;
+        // the first page of the range in which the object has been counted last time
+        int rangeStart = -1;
+
+        ObjectEntry(long length) {
+            this.length = length;
+        }
+    }
+}
@@ -58,7 +58,9 @@ import com.itextpdf.kernel.pdf.PdfWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class PdfSplitter {
 
@@ -66,6 +68,8 @@ public class PdfSplitter {
     private boolean preserveTagged;
     private boolean preserveOutlines;
     private IMetaInfo metaInfo;
+    // guards the source document and the creation of the resultant documents when splitting in parallel
+    private final Object splitLock = new Object();
 
     /**
      * Creates a new instance of PdfSplitter class.
@@ -121,18 +125,8 @@ public class PdfSplitter {
      * Be warned that these documents are not closed.
      */
     public List<PdfDocument> splitBySize(long size) {
-        List<PageRange> splitRanges = new ArrayList<>();
-        int currentPage = 1;
-        int numOfPages = pdfDocument.getNumberOfPages();
-
-        while (currentPage <= numOfPages) {
-            PageRange nextRange = getNextRange(currentPage, numOfPages, size);
-            splitRanges.add(nextRange);
-            List<Integer> allPages = nextRange.getQualifyingPageNums(numOfPages);
-            currentPage = (int) allPages.get(allPages.size() - 1) + 1;
-        }
-
-        return extractPageRanges(splitRanges);
+        return extractPageRanges(new PdfResourceSizeIndex(pdfDocument, preserveTagged, preserveOutlines)
+                .planPageRanges(size));
     }
 
     /**
@@ -144,22 +138,27 @@ public class PdfSplitter {
      *                      You can close this document in this listener, for instance.
      */
     public void splitByPageNumbers(List<Integer> pageNumbers, IDocumentReadyListener documentReady) {
-        int currentPageNumber = 1;
-
-        for (int ind = 0; ind <= pageNumbers.size(); ind++) {
-            int nextPageNumber = ind == pageNumbers.size() ? pdfDocument.getNumberOfPages() + 1 : (int) pageNumbers.get(ind);
-            if (ind == 0 && nextPageNumber == 1)
-                continue;
-
-            PageRange currentPageRange = new PageRange().addPageSequence(currentPageNumber, nextPageNumber - 1);
-            PdfDocument currentDocument = createPdfDocument(currentPageRange);
-            pdfDocument.copyPagesTo(currentPageNumber, nextPageNumber - 1, currentDocument);
-            documentReady.documentReady(currentDocument, currentPageRange);
-
-            currentPageNumber = nextPageNumber;
+        for (PageRange currentPageRange : getPageRangesByPageNumbers(pageNumbers)) {
+            documentReady.documentReady(createSplitDocument(currentPageRange), currentPageRange);
         }
     }
 
+    /**
+     * Splits the document by page numbers. The resultant documents are created and filled in parallel
+     * on the specified executor, see {@link #extractPageRanges(List, IDocumentReadyListener, ExecutorService)}
+     * for the details.
+     *
+     * @param pageNumbers   the numbers of pages from which another document is to be started.
+     *                      If the first element is not 1, then 1 is implied (i.e. the first split document will start from page 1 in any case).
+     * @param documentReady the event listener which is called on the executor thread when another document is ready,
+     *                      it shall be thread-safe. You can close this document in this listener, for instance.
+     * @param executor      the executor to create the resultant documents on
+     */
+    public void splitByPageNumbers(List<Integer> pageNumbers, IDocumentReadyListener documentReady,
+            ExecutorService executor) {
+        extractPageRanges(getPageRangesByPageNumbers(pageNumbers), documentReady, executor);
+    }
+
     /**
      * Splits the document by page numbers.
      *
@@ -183,16 +182,25 @@ public class PdfSplitter {
      *                      You can close this document in this listener, for instance.
      */
     public void splitByPageCount(int pageCount, IDocumentReadyListener documentReady) {
-        for (int startPage = 1; startPage <= pdfDocument.getNumberOfPages(); startPage += pageCount) {
-            int endPage = Math.min(startPage + pageCount - 1, pdfDocument.getNumberOfPages());
-
-            PageRange currentPageRange = new PageRange().addPageSequence(startPage, endPage);
-            PdfDocument currentDocument = createPdfDocument(currentPageRange);
-            pdfDocument.copyPagesTo(startPage, endPage, currentDocument);
-            documentReady.documentReady(currentDocument, currentPageRange);
+        for (PageRange currentPageRange : getPageRangesByPageCount(pageCount)) {
+            documentReady.documentReady(createSplitDocument(currentPageRange), currentPageRange);
         }
     }
 
+    /**
+     * Splits a document into smaller documents with no more than @pageCount pages each. The resultant documents
+     * are created and filled in parallel on the specified executor,
+     * see {@link #extractPageRanges(List, IDocumentReadyListener, ExecutorService)} for the details.
+     *
+     * @param pageCount     the biggest possible number of pages in a split document.
+     * @param documentReady the event listener which is called on the executor thread when another document is ready,
+     *                      it shall be thread-safe. You can close this document in this listener, for instance.
+     * @param executor      the executor to create the resultant documents on
+     */
+    public void splitByPageCount(int pageCount, IDocumentReadyListener documentReady, ExecutorService executor) {
+        extractPageRanges(getPageRangesByPageCount(pageCount), documentReady, executor);
+    }
+
     /**
      * Splits a document into smaller documents with no more than @pageCount pages each.
      *
@@ -228,6 +236,44 @@ public class PdfSplitter {
         return splitDocuments;
     }
 
+    /**
+     * Extracts the specified page ranges from a document. The resultant documents are created and filled in parallel
+     * on the specified executor and are passed to the listener on the executor threads, so that they can be written
+     * concurrently, e.g. by closing them in the listener.
+     * <p>
+     * Note, that {@link PdfDocument} is not thread-safe, so the pages are copied from the source document,
+     * and {@link #getNextPdfWriter(PageRange)} is called, one resultant document at a time. The order in which
+     * the resultant documents are created is not defined. This method returns when all the resultant documents
+     * have been passed to the listener. If any of them fails, the first occurred exception is rethrown.
+     * The executor is not shut down by this method.
+     *
+     * @param pageRanges    the list of page ranges for each of the resultant document.
+     * @param documentReady the event listener which is called on the executor thread when another document is ready,
+     *                      it shall be thread-safe. You can close this document in this listener, for instance.
+     * @param executor      the executor to create the resultant documents on
+     */
+    public void extractPageRanges(List<PageRange> pageRanges, IDocumentReadyListener documentReady,
+            ExecutorService executor) {
+        List<Future<?>> results = new ArrayList<>(pageRanges.size());
+        for (PageRange pageRange : pageRanges) {
+            results.add(executor.submit(new SplitTask(pageRange, documentReady)));
+        }
+        // all the tasks are awaited, so that none of them uses the source document after this method returns
+        RuntimeException failure = null;
+        for (Future<?> result : results) {
+            try {
+                getSplitResult(result);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     /**
      * Extracts the specified page ranges from a document.
      *
@@ -257,6 +303,49 @@ public class PdfSplitter {
         return new PdfWriter(new ByteArrayOutputStream());
     }
 
+    private PdfDocument createSplitDocument(PageRange pageRange) {
+        PdfDocument currentDocument = createPdfDocument(pageRange);
+        pdfDocument.copyPagesTo(pageRange.getQualifyingPageNums(pdfDocument.getNumberOfPages()), currentDocument);
+        return currentDocument;
+    }
+
+    private List<PageRange> getPageRangesByPageNumbers(List<Integer> pageNumbers) {
+        List<PageRange> pageRanges = new ArrayList<>(pageNumbers.size() + 1);
+        int currentPageNumber = 1;
+        for (int ind = 0; ind <= pageNumbers.size(); ind++) {
+            int nextPageNumber = ind == pageNumbers.size() ? pdfDocument.getNumberOfPages() + 1 : (int) pageNumbers.get(ind);
+            if (ind == 0 && nextPageNumber == 1)
+                continue;
+
+            pageRanges.add(new PageRange().addPageSequence(currentPageNumber, nextPageNumber - 1));
+            currentPageNumber = nextPageNumber;
+        }
+        return pageRanges;
+    }
+
+    private List<PageRange> getPageRangesByPageCount(int pageCount) {
+        List<PageRange> pageRanges = new ArrayList<>();
+        for (int startPage = 1; startPage <= pdfDocument.getNumberOfPages(); startPage += pageCount) {
+            int endPage = Math.min(startPage + pageCount - 1, pdfDocument.getNumberOfPages());
+            pageRanges.add(new PageRange().addPageSequence(startPage, endPage));
+        }
+        return pageRanges;
+    }
+
+    private static void getSplitResult(Future<?> result) {
+        try {
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_SPLIT_DOCUMENT, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_SPLIT_DOCUMENT, e.getCause());
+        }
+    }
+
     private PdfDocument createPdfDocument(PageRange currentPageRange) {
         PdfDocument newDocument = new PdfDocument(getNextPdfWriter(currentPageRange), new DocumentProperties().setEventCountingMetaInfo(metaInfo));
         if (pdfDocument.isTagged() && preserveTagged)
@@ -373,37 +462,23 @@ public class PdfSplitter {
         return nextPdfOutline;
     }
 
-    private PageRange getNextRange(int startPage, int endPage, long size) {
-        PdfResourceCounter counter = new PdfResourceCounter(pdfDocument.getTrailer());
-        Map<Integer, PdfObject> resources = counter.getResources();
-        // initialize with trailer length
-        long lengthWithoutXref = counter.getLength(null);
-        int currentPage = startPage;
-        boolean oversized = false;
-
-        do {
-            PdfPage page = pdfDocument.getPage(currentPage++);
-            counter = new PdfResourceCounter(page.getPdfObject());
-            lengthWithoutXref += counter.getLength(resources);
-            resources.putAll(counter.getResources());
-
-            if (lengthWithoutXref + xrefLength(resources.size()) > size) {
-                oversized = true;
-            }
-        } while (currentPage <= endPage && !oversized);
+    private final class SplitTask implements Runnable {
+        private final PageRange pageRange;
+        private final IDocumentReadyListener documentReady;
 
-        // true if at least the first page to be copied didn't cause the oversize
-        if (oversized && (currentPage - 1) != startPage) {
-            // we shouldn't copy previous page because it caused
-            // the oversize and it isn't the first page to be copied
-            --currentPage;
+        SplitTask(PageRange pageRange, IDocumentReadyListener documentReady) {
+            this.pageRange = pageRange;
+            this.documentReady = documentReady;
         }
 
-        return new PageRange().addPageSequence(startPage, currentPage - 1);
-    }
-
-    private long xrefLength(int size) {
-        return 20L * (size + 1);
+        @Override
+        public void run() {
+            PdfDocument currentDocument;
+            synchronized (splitLock) {
+                currentDocument = createSplitDocument(pageRange);
+            }
+            documentReady.documentReady(currentDocument, pageRange);
+        }
     }
 
     private static final class SplitReadyListener implements IDocumentReadyListener {
@@ -0,0 +1,82 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class Murmur3SmartModeHashAlgorithmTest extends ExtendedITextTest {
+
+    @Test
+    public void knownHashesTest() {
+        assertHash("00000000000000000000000000000000", "");
+        assertHash("897859f6655555855a890e51483ab5e6", "a");
+        assertHash("029bbd41b3a7d8cb191dae486a901e5b", "hello");
+        assertHash("6c1b07bc7bbc4be347939ac4a93c437a", "The quick brown fox jumps over the lazy dog");
+        assertHash("ccb6683642029a84af50d148df03d36b", "0123456789abcdef0123456789");
+    }
+
+    @Test
+    public void hashOfRangeTest() {
+        byte[] content = "__hello__".getBytes(StandardCharsets.ISO_8859_1);
+        Assert.assertArrayEquals(new Murmur3SmartModeHashAlgorithm().hash(content, 2, 5),
+                new Murmur3SmartModeHashAlgorithm().hash("hello".getBytes(StandardCharsets.ISO_8859_1), 0, 5));
+    }
+
+    private static void assertHash(String expected, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] hash = new Murmur3SmartModeHashAlgorithm().hash(bytes, 0, bytes.length);
+        StringBuilder actual = new StringBuilder();
+        for (byte b : hash) {
+            actual.append(String.format("%02x", b & 0xff));
+        }
+        Assert.assertEquals(expected, actual.toString());
+    }
+}
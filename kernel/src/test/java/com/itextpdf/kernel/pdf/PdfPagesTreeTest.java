@@ -30,6 +30,7 @@ import com.itextpdf.test.AssertUtil;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import org.junit.Assert;
 import org.junit.Test;
@@ -42,4 +43,57 @@ public class PdfPagesTreeTest extends ExtendedITextTest {
         PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
         AssertUtil.doesNotThrow(() -> pdfDoc.close());
     }
+
+    @Test
+    public void pageNumbersAfterAddingAndRemovingPagesTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        for (int i = 0; i < 25; i++) {
+            pdfDoc.addNewPage();
+        }
+        assertPageNumbers(pdfDoc);
+
+        PdfPage insertedPage = pdfDoc.addNewPage(3);
+        Assert.assertEquals(3, pdfDoc.getPageNumber(insertedPage));
+        assertPageNumbers(pdfDoc);
+
+        PdfPage removedPage = pdfDoc.getPage(1);
+        pdfDoc.removePage(1);
+        Assert.assertEquals(0, pdfDoc.getPageNumber(removedPage));
+        Assert.assertEquals(0, pdfDoc.getPageNumber(removedPage.getPdfObject()));
+        Assert.assertEquals(2, pdfDoc.getPageNumber(insertedPage));
+        assertPageNumbers(pdfDoc);
+
+        pdfDoc.movePage(pdfDoc.getNumberOfPages(), 1);
+        pdfDoc.removePage(pdfDoc.getNumberOfPages());
+        assertPageNumbers(pdfDoc);
+
+        pdfDoc.close();
+    }
+
+    @Test
+    public void pageNumbersInReadingModeTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        for (int i = 0; i < 100; i++) {
+            pdfDoc.addNewPage();
+        }
+        pdfDoc.close();
+
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfDictionary lastPageDictionary = pdfDoc.getCatalog().getPdfObject().getAsDictionary(PdfName.Pages)
+                .getAsArray(PdfName.Kids).getAsDictionary(9).getAsArray(PdfName.Kids).getAsDictionary(9);
+        Assert.assertEquals(100, pdfDoc.getPageNumber(lastPageDictionary));
+        Assert.assertEquals(0, pdfDoc.getPageNumber(new PdfDictionary()));
+        Assert.assertEquals(0, pdfDoc.getPageNumber(pdfDoc.getCatalog().getPdfObject()));
+        assertPageNumbers(pdfDoc);
+        pdfDoc.close();
+    }
+
+    private static void assertPageNumbers(PdfDocument pdfDoc) {
+        for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+            PdfPage page = pdfDoc.getPage(i);
+            Assert.assertEquals(i, pdfDoc.getPageNumber(page));
+            Assert.assertEquals(i, pdfDoc.getPageNumber(page.getPdfObject()));
+        }
+    }
 }
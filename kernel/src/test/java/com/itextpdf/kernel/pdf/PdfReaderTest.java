@@ -73,12 +73,16 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -100,6 +104,203 @@ public class PdfReaderTest extends ExtendedITextTest {
         createDestinationFolder(DESTINATION_FOLDER);
     }
 
+    @Test
+    public void concurrentReadingTest() throws Exception {
+        String filename = SOURCE_FOLDER + "1000PagesDocumentWithFullCompression.pdf";
+        List<byte[]> expectedContents = new ArrayList<>();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename))) {
+            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+                expectedContents.add(pdfDoc.getPage(i).getContentBytes());
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (PdfDocument pdfDoc = new PdfDocument(
+                new PdfReader(filename, new ReaderProperties().setConcurrentReading(true)))) {
+            List<Future<byte[]>> contents = new ArrayList<>();
+            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+                final PdfPage page = pdfDoc.getPage(i);
+                contents.add(executor.submit(() -> page.getContentBytes()));
+            }
+            Assert.assertEquals(expectedContents.size(), contents.size());
+            for (int i = 0; i < contents.size(); i++) {
+                Assert.assertArrayEquals(expectedContents.get(i), contents.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentObjectStreamAndStreamReadingTest() throws Exception {
+        String filename = SOURCE_FOLDER + "1000PagesDocumentWithFullCompression.pdf";
+        List<Integer> objectNumbers = new ArrayList<>();
+        List<String> expectedObjects = new ArrayList<>();
+        List<byte[]> expectedStreams = new ArrayList<>();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename))) {
+            PdfXrefTable xref = pdfDoc.getXref();
+            for (int i = 1; i < xref.size(); i++) {
+                PdfIndirectReference reference = xref.get(i);
+                PdfObject object = reference == null ? null : reference.getRefersTo();
+                if (object == null) {
+                    continue;
+                }
+                objectNumbers.add(i);
+                if (object.isStream()) {
+                    expectedStreams.add(((PdfStream) object).getBytes());
+                    expectedObjects.add(null);
+                } else {
+                    expectedStreams.add(null);
+                    expectedObjects.add(object.toString());
+                }
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (PdfDocument pdfDoc = new PdfDocument(
+                new PdfReader(filename, new ReaderProperties().setConcurrentReading(true)))) {
+            List<Future<Object>> results = new ArrayList<>();
+            for (final int objectNumber : objectNumbers) {
+                // streams are decoded outside of the tokenizer lock, while objects from the object streams
+                // are parsed under it, so both kinds of reads interleave here
+                results.add(executor.submit(() -> {
+                    PdfObject object = pdfDoc.getPdfObject(objectNumber);
+                    return object.isStream() ? ((PdfStream) object).getBytes() : object.toString();
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Object result = results.get(i).get();
+                if (expectedStreams.get(i) != null) {
+                    Assert.assertArrayEquals(expectedStreams.get(i), (byte[]) result);
+                } else {
+                    Assert.assertEquals(expectedObjects.get(i), result);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void lazyXrefLoadingTest() throws IOException {
+        String[] files = new String[] {"1000PagesDocument.pdf", "1000PagesDocumentAppended.pdf",
+                "1000PagesDocumentWithFullCompression.pdf", "1000PagesDocumentWithFullCompressionAppended.pdf",
+                "indirectPrev.pdf", "objectStreamIncrementalUpdate.pdf"};
+        for (String file : files) {
+            String filename = SOURCE_FOLDER + file;
+            try (PdfDocument expectedDoc = new PdfDocument(new PdfReader(filename));
+                    PdfDocument pdfDoc = new PdfDocument(
+                            new PdfReader(filename, new ReaderProperties().setLazyXrefLoading(true)))) {
+                Assert.assertEquals(file, expectedDoc.getNumberOfPages(), pdfDoc.getNumberOfPages());
+                Assert.assertFalse(file, pdfDoc.getReader().hasRebuiltXref());
+                for (int i = 1; i <= expectedDoc.getNumberOfPages(); i++) {
+                    Assert.assertArrayEquals(file, expectedDoc.getPage(i).getContentBytes(),
+                            pdfDoc.getPage(i).getContentBytes());
+                }
+                PdfXrefTable expectedXref = expectedDoc.getXref();
+                PdfXrefTable xref = pdfDoc.getXref();
+                Assert.assertEquals(file, expectedXref.size(), xref.size());
+                for (int i = 1; i < expectedXref.size(); i++) {
+                    PdfIndirectReference expected = expectedXref.get(i);
+                    PdfIndirectReference actual = xref.get(i);
+                    Assert.assertEquals(file, expected == null, actual == null);
+                    if (expected != null && !expected.isFree()) {
+                        Assert.assertFalse(file, actual.isFree());
+                        Assert.assertEquals(file, expected.getGenNumber(), actual.getGenNumber());
+                        Assert.assertEquals(file, expected.getOffset(), actual.getOffset());
+                        Assert.assertEquals(file, expected.getObjStreamNumber(), actual.getObjStreamNumber());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate =
+            IoLogMessageConstant.XREF_ERROR_WHILE_READING_TABLE_WILL_BE_REBUILT, count = 2))
+    public void lazyXrefLoadingDamagedEntryTest() throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "1000PagesDocument.pdf"));
+        String content = new String(bytes, StandardCharsets.ISO_8859_1);
+        int entriesOffset = content.lastIndexOf("xref\n0 3114\n") + "xref\n0 3114\n".length();
+        // corrupt the type of an entry in the middle of the subsection, so that it's met only on demand
+        int damagedEntry = entriesOffset + 1557 * 20 + 17;
+        Assert.assertEquals('n', bytes[damagedEntry]);
+        bytes[damagedEntry] = 'x';
+        try (PdfDocument expectedDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes)));
+                PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes),
+                        new ReaderProperties().setLazyXrefLoading(true)))) {
+            Assert.assertTrue(expectedDoc.getReader().hasRebuiltXref());
+            Assert.assertEquals(expectedDoc.getNumberOfPages(), pdfDoc.getNumberOfPages());
+            for (int i = 1; i <= expectedDoc.getNumberOfPages(); i++) {
+                Assert.assertArrayEquals(expectedDoc.getPage(i).getContentBytes(),
+                        pdfDoc.getPage(i).getContentBytes());
+            }
+            Assert.assertTrue(pdfDoc.getReader().hasRebuiltXref());
+            Assert.assertEquals(expectedDoc.getXref().getCountOfIndirectObjects(),
+                    pdfDoc.getXref().getCountOfIndirectObjects());
+        }
+    }
+
+    @Test
+    public void compactXrefTest() throws IOException {
+        String[] files = new String[] {"1000PagesDocument.pdf", "1000PagesDocumentWithFullCompressionAppended.pdf"};
+        for (String file : files) {
+            String filename = SOURCE_FOLDER + file;
+            for (boolean lazyXrefLoading : new boolean[] {false, true}) {
+                ReaderProperties properties = new ReaderProperties().setCompactXref(true)
+                        .setLazyXrefLoading(lazyXrefLoading);
+                try (PdfDocument expectedDoc = new PdfDocument(new PdfReader(filename));
+                        PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename, properties))) {
+                    PdfXrefTable expectedXref = expectedDoc.getXref();
+                    PdfXrefTable xref = pdfDoc.getXref();
+                    Assert.assertEquals(file, expectedXref.size(), xref.size());
+                    Assert.assertEquals(file, expectedXref.getCountOfIndirectObjects(),
+                            xref.getCountOfIndirectObjects());
+                    for (int i = 1; i < expectedXref.size(); i++) {
+                        PdfIndirectReference expected = expectedXref.get(i);
+                        PdfIndirectReference actual = xref.get(i);
+                        if (expected != null && !expected.isFree()) {
+                            Assert.assertEquals(file, expected.getGenNumber(), actual.getGenNumber());
+                            Assert.assertEquals(file, expected.getOffset(), actual.getOffset());
+                            Assert.assertEquals(file, expected.getObjStreamNumber(), actual.getObjStreamNumber());
+                            // the same instance is returned while it is in use
+                            Assert.assertSame(file, actual, xref.get(i));
+                        }
+                    }
+                    Assert.assertEquals(file, expectedDoc.getNumberOfPages(), pdfDoc.getNumberOfPages());
+                    for (int i = 1; i <= expectedDoc.getNumberOfPages(); i++) {
+                        Assert.assertArrayEquals(file, expectedDoc.getPage(i).getContentBytes(),
+                                pdfDoc.getPage(i).getContentBytes());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void compactXrefRetainedReferencesTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocument.pdf";
+        try (PdfDocument expectedDoc = new PdfDocument(new PdfReader(filename))) {
+            Assert.assertEquals(3113, expectedDoc.getXref().getCountOfRetainedReferences());
+        }
+        for (boolean lazyXrefLoading : new boolean[] {false, true}) {
+            ReaderProperties properties = new ReaderProperties().setCompactXref(true)
+                    .setLazyXrefLoading(lazyXrefLoading);
+            try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename, properties))) {
+                PdfXrefTable xref = pdfDoc.getXref();
+                // only the references of the objects read on opening are kept
+                int retainedOnOpening = xref.getCountOfRetainedReferences();
+                Assert.assertTrue(retainedOnOpening <= 13);
+                Assert.assertEquals(3113, xref.getCountOfIndirectObjects());
+                // counting of the objects doesn't create references
+                Assert.assertTrue(xref.getCountOfRetainedReferences() <= retainedOnOpening);
+                PdfIndirectReference reference = xref.get(2000);
+                Assert.assertSame(reference, xref.get(2000));
+                Assert.assertTrue(xref.getCountOfRetainedReferences() <= retainedOnOpening + 1);
+            }
+        }
+    }
+
     @Test
     public void openSimpleDoc() throws IOException {
         String filename = DESTINATION_FOLDER + "openSimpleDoc.pdf";
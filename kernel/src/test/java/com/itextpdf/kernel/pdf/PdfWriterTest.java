@@ -59,6 +59,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Category(IntegrationTest.class)
 public class PdfWriterTest extends ExtendedITextTest {
@@ -629,4 +631,101 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assert.assertArrayEquals("Stream by InputStream", streamContent.getBytes(), pdfStream.getBytes());
         document.close();
     }
+
+    @Test
+    public void parallelStreamCompressionTest() throws IOException {
+        String filename = destinationFolder + "parallelStreamCompression.pdf";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            WriterProperties properties = new WriterProperties().setCompressionExecutor(executor);
+            writeDocumentWithLargeStreams(new PdfDocument(new PdfWriter(filename, properties)));
+        } finally {
+            executor.shutdown();
+        }
+
+        validateDocumentWithLargeStreams(new PdfReader(filename));
+    }
+
+    @Test
+    public void parallelStreamCompressionWithEncryptionTest() throws IOException {
+        String filename = destinationFolder + "parallelStreamCompressionWithEncryption.pdf";
+        byte[] password = "password".getBytes();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            WriterProperties properties = new WriterProperties()
+                    .setCompressionExecutor(executor)
+                    .setStandardEncryption(password, password, EncryptionConstants.ALLOW_PRINTING,
+                            EncryptionConstants.ENCRYPTION_AES_128);
+            writeDocumentWithLargeStreams(new PdfDocument(new PdfWriter(filename, properties)));
+        } finally {
+            executor.shutdown();
+        }
+
+        validateDocumentWithLargeStreams(new PdfReader(filename, new ReaderProperties().setPassword(password)));
+    }
+
+    @Test
+    public void parallelObjectStreamCompressionTest() throws IOException {
+        String filename = destinationFolder + "parallelObjectStreamCompression.pdf";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            WriterProperties properties = new WriterProperties()
+                    .setCompressionExecutor(executor)
+                    .setFullCompressionMode(true);
+            PdfDocument pdfDoc = new PdfDocument(new PdfWriter(filename, properties));
+            PdfArray items = new PdfArray();
+            for (int i = 0; i < 1000; i++) {
+                PdfDictionary item = new PdfDictionary();
+                item.put(new PdfName("Index"), new PdfNumber(i));
+                item.put(new PdfName("Text"), new PdfString("Indirect dictionary number " + i));
+                items.add(item.makeIndirect(pdfDoc));
+            }
+            pdfDoc.getCatalog().put(new PdfName("Items"), items);
+            writeDocumentWithLargeStreams(pdfDoc);
+        } finally {
+            executor.shutdown();
+        }
+
+        PdfReader reader = new PdfReader(filename);
+        validateDocumentWithLargeStreams(reader);
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename));
+        PdfArray items = pdfDoc.getCatalog().getPdfObject().getAsArray(new PdfName("Items"));
+        Assert.assertEquals(1000, items.size());
+        for (int i = 0; i < 1000; i++) {
+            PdfDictionary item = items.getAsDictionary(i);
+            Assert.assertEquals(i, item.getAsNumber(new PdfName("Index")).intValue());
+            Assert.assertEquals("Indirect dictionary number " + i,
+                    item.getAsString(new PdfName("Text")).getValue());
+        }
+        pdfDoc.close();
+    }
+
+    private static void writeDocumentWithLargeStreams(PdfDocument pdfDoc) {
+        for (int i = 1; i <= 20; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            page.getFirstContentStream().setData(createLargeContent(i));
+            page.flush();
+        }
+        pdfDoc.close();
+    }
+
+    private static void validateDocumentWithLargeStreams(PdfReader reader) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(reader);
+        Assert.assertFalse("Rebuilt", reader.hasRebuiltXref());
+        Assert.assertEquals(20, pdfDoc.getNumberOfPages());
+        for (int i = 1; i <= 20; i++) {
+            PdfStream contentStream = pdfDoc.getPage(i).getFirstContentStream();
+            Assert.assertEquals(PdfName.FlateDecode, contentStream.getAsName(PdfName.Filter));
+            Assert.assertArrayEquals(createLargeContent(i), contentStream.getBytes());
+        }
+        pdfDoc.close();
+    }
+
+    private static byte[] createLargeContent(int pageNumber) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(pageNumber).append(' ').append(i).append(" m ").append(i).append(" 100 l S\n");
+        }
+        return ByteUtils.getIsoBytes(content.toString());
+    }
 }
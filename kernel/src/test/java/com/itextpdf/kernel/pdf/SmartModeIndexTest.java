@@ -0,0 +1,138 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class SmartModeIndexTest extends ExtendedITextTest {
+
+    public static final String DESTINATION_FOLDER = "./target/test/com/itextpdf/kernel/pdf/SmartModeIndexTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreDroppedTest() throws IOException {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        try (SmartModeIndex index = new SmartModeIndex(2)) {
+            PdfIndirectReference[] references = createReferences(document, 3);
+            for (int i = 0; i < references.length; i++) {
+                index.put(createContent(i), references[i]);
+            }
+
+            Assert.assertEquals(2, index.getEntriesInMemoryCount());
+            Assert.assertEquals(0, index.getSpilledEntriesCount());
+            Assert.assertNull(index.get(createContent(0), document));
+            Assert.assertSame(references[1], index.get(createContent(1), document));
+            Assert.assertSame(references[2], index.get(createContent(2), document));
+            Assert.assertEquals(3, index.getLookupCount());
+            Assert.assertEquals(2, index.getHitCount());
+        }
+        document.close();
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreSpilledTest() throws IOException {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        // enough entries to grow the temporary file several times
+        int count = 10000;
+        try (SmartModeIndex index = new SmartModeIndex(100, DESTINATION_FOLDER)) {
+            PdfIndirectReference[] references = createReferences(document, count);
+            for (int i = 0; i < count; i++) {
+                index.put(createContent(i), references[i]);
+            }
+
+            Assert.assertEquals(100, index.getEntriesInMemoryCount());
+            Assert.assertEquals(count - 100, index.getSpilledEntriesCount());
+            for (int i = 0; i < count; i++) {
+                Assert.assertSame(references[i], index.get(createContent(i), document));
+            }
+            Assert.assertNull(index.get(createContent(count), document));
+            Assert.assertEquals(count, index.getHitCount());
+            Assert.assertEquals(count / (double) (count + 1), index.getHitRate(), 1e-9);
+            Assert.assertEquals(100, index.getEntriesInMemoryCount());
+        }
+        document.close();
+    }
+
+    @Test
+    public void indexUsedByAnotherDocumentTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfDocument anotherDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        SmartModeIndex index = new SmartModeIndex();
+        index.put(createContent(0), createReferences(document, 1)[0]);
+
+        PdfIndirectReference reference = createReferences(anotherDocument, 1)[0];
+        Exception e = Assert.assertThrows(PdfException.class, () -> index.put(createContent(1), reference));
+        Assert.assertEquals(KernelExceptionMessageConstant.SMART_MODE_INDEX_IS_ALREADY_USED_BY_ANOTHER_DOCUMENT,
+                e.getMessage());
+    }
+
+    private static PdfIndirectReference[] createReferences(PdfDocument document, int count) {
+        PdfIndirectReference[] references = new PdfIndirectReference[count];
+        for (int i = 0; i < count; i++) {
+            references[i] = new PdfDictionary().makeIndirect(document).getIndirectReference();
+        }
+        return references;
+    }
+
+    private static SerializedObjectContent createContent(int i) {
+        byte[] serialized = ("$D$N/Test$L" + i + "$\\D").getBytes(StandardCharsets.ISO_8859_1);
+        return SerializedObjectContent.fromDigest(SerializedObjectContent.createMessageDigest().digest(serialized));
+    }
+}
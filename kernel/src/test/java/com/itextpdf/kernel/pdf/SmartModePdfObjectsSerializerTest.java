@@ -68,4 +68,21 @@ public class SmartModePdfObjectsSerializerTest extends ExtendedITextTest {
 
         Assert.assertEquals(expected, serializedObject);
     }
+
+    @Test
+    public void serializedContentIsComparedByDigestOnlyForBoundedIndexTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfDictionary dict = new PdfDictionary();
+        dict.put(PdfName.Type, PdfName.XObject);
+        dict.makeIndirect(document);
+        byte[] serialized = "$D$N/Type$N/XObject$\\D".getBytes(StandardCharsets.ISO_8859_1);
+
+        Assert.assertEquals(new SerializedObjectContent(serialized),
+                new SmartModePdfObjectsSerializer().serializeObject(dict));
+        Assert.assertEquals(new SerializedObjectContent(serialized),
+                new SmartModePdfObjectsSerializer(new SmartModeIndex(), null).serializeObject(dict));
+        Assert.assertEquals(
+                SerializedObjectContent.fromDigest(SerializedObjectContent.createMessageDigest().digest(serialized)),
+                new SmartModePdfObjectsSerializer(new SmartModeIndex(10), null).serializeObject(dict));
+    }
 }
@@ -51,6 +51,7 @@ import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -104,6 +105,84 @@ public class SmartModeTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFile, cmpFile, destinationFolder));
     }
 
+    @Test
+    public void smartModeCachesAreReleasedOnlyOnRequestTest() throws IOException {
+        String srcFile = sourceFolder + "indirectResourcesStructure.pdf";
+        PdfDocument outputDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream(),
+                new WriterProperties().useSmartMode()));
+        PdfDocument sourceDoc = new PdfDocument(new PdfReader(srcFile));
+
+        sourceDoc.copyPagesTo(1, 1, outputDoc);
+        Assert.assertFalse(sourceDoc.serializedObjectsCache.isEmpty());
+        outputDoc.flushCopiedObjects(sourceDoc);
+        Assert.assertFalse(sourceDoc.serializedObjectsCache.isEmpty());
+
+        sourceDoc.copyPagesTo(1, 1, outputDoc);
+        outputDoc.flushCopiedObjects(sourceDoc, true);
+        Assert.assertTrue(sourceDoc.serializedObjectsCache.isEmpty());
+
+        sourceDoc.close();
+        outputDoc.close();
+    }
+
+    @Test
+    public void smartModeWithHashAlgorithmTest() throws IOException, InterruptedException {
+        String outFile = destinationFolder + "smartModeWithHashAlgorithm.pdf";
+        String cmpFile = sourceFolder + "cmp_smartModeSameResourcesCopyingAndFlushing.pdf";
+        String[] srcFiles = new String[]{
+                sourceFolder + "indirectResourcesStructure.pdf",
+                sourceFolder + "indirectResourcesStructure2.pdf"
+        };
+
+        SmartModeIndex index = new SmartModeIndex();
+        PdfDocument outputDoc = new PdfDocument(new PdfWriter(outFile, new WriterProperties().useSmartMode(index)
+                .setSmartModeHashAlgorithm(new Murmur3SmartModeHashAlgorithm())));
+        for (String srcFile : srcFiles) {
+            PdfDocument sourceDoc = new PdfDocument(new PdfReader(srcFile));
+            sourceDoc.copyPagesTo(1, sourceDoc.getNumberOfPages(), outputDoc);
+            sourceDoc.close();
+
+            outputDoc.flushCopiedObjects(sourceDoc);
+        }
+        outputDoc.close();
+        Assert.assertTrue(index.getHitCount() > 0);
+
+        Assert.assertNull(new CompareTool().compareByContent(outFile, cmpFile, destinationFolder));
+    }
+
+    @Test
+    public void smartModeIndexWithSpilledEntriesTest() throws IOException {
+        String outFile = destinationFolder + "smartModeIndexWithSpilledEntries.pdf";
+        String[] srcFiles = new String[]{
+                sourceFolder + "indirectResourcesStructure.pdf",
+                sourceFolder + "indirectResourcesStructure2.pdf"
+        };
+
+        try (SmartModeIndex index = new SmartModeIndex(1, destinationFolder)) {
+            PdfDocument outputDoc = new PdfDocument(new PdfWriter(outFile, new WriterProperties().useSmartMode(index)));
+            for (String srcFile : srcFiles) {
+                PdfDocument sourceDoc = new PdfDocument(new PdfReader(srcFile));
+                sourceDoc.copyPagesTo(1, sourceDoc.getNumberOfPages(), outputDoc);
+                sourceDoc.close();
+
+                outputDoc.flushCopiedObjects(sourceDoc);
+            }
+            outputDoc.close();
+
+            Assert.assertEquals(1, index.getEntriesInMemoryCount());
+            Assert.assertTrue(index.getSpilledEntriesCount() > 0);
+            Assert.assertTrue(index.getHitCount() > 0);
+        }
+
+        PdfDocument assertDoc = new PdfDocument(new PdfReader(outFile));
+        PdfIndirectReference page1ResFontObj = assertDoc.getPage(1).getPdfObject().getAsDictionary(PdfName.Resources)
+                .getAsDictionary(PdfName.Font).getIndirectReference();
+        PdfIndirectReference page3ResFontObj = assertDoc.getPage(3).getPdfObject().getAsDictionary(PdfName.Resources)
+                .getAsDictionary(PdfName.Font).getIndirectReference();
+        Assert.assertEquals(page1ResFontObj, page3ResFontObj);
+        assertDoc.close();
+    }
+
     @Test
     public void smartModeSameResourcesCopyingModifyingAndFlushing() throws IOException {
         String outFile = destinationFolder + "smartModeSameResourcesCopyingModifyingAndFlushing.pdf";
@@ -45,6 +45,7 @@ package com.itextpdf.kernel.pdf.canvas.parser;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
@@ -54,6 +55,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Category(IntegrationTest.class)
 public class PdfTextExtractorTest extends ExtendedITextTest {
@@ -82,6 +86,58 @@ public class PdfTextExtractorTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void parallelTextExtractionTest() throws IOException {
+        String inFile = "./src/test/resources/com/itextpdf/kernel/parser/LocationExtractionTest/aliceInWonderland.pdf";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(inFile,
+                new ReaderProperties().setConcurrentReading(true)));
+                PdfDocument sequentialDocument = new PdfDocument(new PdfReader(inFile))) {
+            List<String> texts = PdfTextExtractor.getTextFromPages(pdfDocument, executor);
+            Assert.assertEquals(sequentialDocument.getNumberOfPages(), texts.size());
+            for (int i = 1; i <= sequentialDocument.getNumberOfPages(); i++) {
+                Assert.assertEquals(PdfTextExtractor.getTextFromPage(sequentialDocument.getPage(i)),
+                        texts.get(i - 1));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void parallelTextExtractionWithObjectStreamsTest() throws IOException {
+        // page dictionaries of this document are spread over many object streams, so the pages resolved
+        // on the calling thread load object streams while the content streams of previous pages are decoded
+        String inFile = "./src/test/resources/com/itextpdf/kernel/pdf/PdfReaderTest/"
+                + "1000PagesDocumentWithFullCompression.pdf";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(inFile,
+                new ReaderProperties().setConcurrentReading(true)));
+                PdfDocument sequentialDocument = new PdfDocument(new PdfReader(inFile))) {
+            List<String> texts = PdfTextExtractor.getTextFromPages(pdfDocument, executor);
+            Assert.assertEquals(sequentialDocument.getNumberOfPages(), texts.size());
+            for (int i = 1; i <= sequentialDocument.getNumberOfPages(); i++) {
+                Assert.assertEquals(PdfTextExtractor.getTextFromPage(sequentialDocument.getPage(i)),
+                        texts.get(i - 1));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void parallelTextExtractionWithoutConcurrentReadingTest() throws IOException {
+        String inFile = "./src/test/resources/com/itextpdf/kernel/parser/LocationExtractionTest/aliceInWonderland.pdf";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(inFile))) {
+            List<String> texts = PdfTextExtractor.getTextFromPages(pdfDocument, executor);
+            Assert.assertEquals(pdfDocument.getNumberOfPages(), texts.size());
+            Assert.assertEquals(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(5)), texts.get(4));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void type3FontNoCMapTest() throws IOException {
         String inFile = sourceFolder + "type3NoCMap.pdf";
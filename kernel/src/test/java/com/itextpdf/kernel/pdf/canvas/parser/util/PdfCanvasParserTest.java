@@ -31,6 +31,7 @@ import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfResources;
@@ -40,6 +41,7 @@ import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Assert;
@@ -100,4 +102,46 @@ public class PdfCanvasParserTest extends ExtendedITextTest {
         Assert.assertEquals(MessageFormatUtil.format(KernelExceptionMessageConstant.UNEXPECTED_TOKEN, ">>"),
                 exception.getCause().getMessage());
     }
+
+    @Test
+    public void parseOperandsTest() throws IOException {
+        byte[] content = ("1 0 0 1 10.5 -20 cm /F1 12 Tf [(H) -250 (i)] TJ q Q 0.5 .25 m")
+                .getBytes(StandardCharsets.ISO_8859_1);
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfCanvasParser expectedParser = new PdfCanvasParser(
+                new PdfTokenizer(new RandomAccessFileOrArray(factory.createSource(content))));
+        PdfCanvasParser actualParser = new PdfCanvasParser(
+                new PdfTokenizer(new RandomAccessFileOrArray(factory.createSource(content))));
+
+        List<PdfObject> expected = new ArrayList<>();
+        PdfCanvasOperands actual = new PdfCanvasOperands();
+        while (expectedParser.parse(expected).size() > 0) {
+            Assert.assertSame(actual, actualParser.parseOperands(actual));
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                PdfObject expectedObject = expected.get(i);
+                Assert.assertEquals(expectedObject.isNumber(), actual.isNumber(i));
+                if (expectedObject.isNumber()) {
+                    Assert.assertEquals(((PdfNumber) expectedObject).getValue(), actual.getNumber(i), 0);
+                }
+                Assert.assertEquals(expectedObject.toString(), actual.get(i).toString());
+            }
+        }
+        Assert.assertEquals(0, actualParser.parseOperands(actual).size());
+    }
+
+    @Test
+    public void operatorLiteralsAreSharedTest() throws IOException {
+        byte[] content = "q 1 w Q q 2 w Q".getBytes(StandardCharsets.ISO_8859_1);
+        PdfCanvasParser ps = new PdfCanvasParser(new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(content))));
+
+        PdfObject firstSave = ps.parseOperands(null).get(0);
+        PdfObject firstLineWidth = ps.parseOperands(null).get(1);
+        ps.parseOperands(null);
+        Assert.assertSame(firstSave, ps.parseOperands(null).get(0));
+        PdfCanvasOperands lineWidthOperands = ps.parseOperands(null);
+        Assert.assertSame(firstLineWidth, lineWidthOperands.get(1));
+        Assert.assertEquals(2, lineWidthOperands.getNumber(0), 0);
+    }
 }
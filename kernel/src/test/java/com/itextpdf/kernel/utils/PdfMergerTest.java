@@ -44,12 +44,16 @@ package com.itextpdf.kernel.utils;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfOutline;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.SmartModeIndex;
+import com.itextpdf.kernel.pdf.WriterProperties;
 import com.itextpdf.kernel.pdf.navigation.PdfExplicitDestination;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
@@ -61,7 +65,9 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.xml.parsers.ParserConfigurationException;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -519,6 +525,42 @@ public class PdfMergerTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(mergedDocument, cmpDocument, destinationFolder));
     }
 
+    @Test
+    public void mergeDocumentsInStreamingModeTest() throws IOException {
+        String[] sources = new String[] {sourceFolder + "courierTest.pdf", sourceFolder + "helveticaTest.pdf",
+                sourceFolder + "timesRomanTest.pdf"};
+        String resultFile = destinationFolder + "mergeDocumentsInStreamingMode.pdf";
+
+        try (PdfDocument mergedPdf = new PdfDocument(new PdfWriter(resultFile,
+                new WriterProperties().useSmartMode(new SmartModeIndex(10))))) {
+            PdfMerger merger = new PdfMerger(mergedPdf).setStreamingMode(true).setCloseSourceDocuments(true);
+            for (int i = 0; i < 3; i++) {
+                for (String source : sources) {
+                    PdfDocument sourcePdf = new PdfDocument(new PdfReader(source));
+                    merger.merge(sourcePdf, 1, sourcePdf.getNumberOfPages());
+                }
+            }
+            for (int i = 1; i <= mergedPdf.getNumberOfPages(); i++) {
+                Assert.assertTrue(mergedPdf.getPage(i).isFlushed());
+            }
+        }
+
+        try (PdfDocument resultPdf = new PdfDocument(new PdfReader(resultFile))) {
+            Assert.assertEquals(9, resultPdf.getNumberOfPages());
+            Set<PdfIndirectReference> fonts = new HashSet<>();
+            for (int i = 1; i <= resultPdf.getNumberOfPages(); i++) {
+                PdfDictionary pageFonts = resultPdf.getPage(i).getResources().getResource(PdfName.Font);
+                for (PdfName fontName : pageFonts.keySet()) {
+                    fonts.add(pageFonts.getAsDictionary(fontName).getIndirectReference());
+                }
+                Assert.assertEquals(resultPdf.getPage((i - 1) % 3 + 1).getContentBytes().length,
+                        resultPdf.getPage(i).getContentBytes().length);
+            }
+            // fonts of the same source documents are reused via smart mode
+            Assert.assertEquals(3, fonts.size());
+        }
+    }
+
     private void mergePdfs(List<File> sources, String destination) throws IOException {
         PdfDocument mergedDoc = new PdfDocument(new PdfWriter(destination));
         PdfMerger merger = new PdfMerger(mergedDoc);
@@ -55,11 +55,15 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Category(IntegrationTest.class)
 public class PdfSplitterTest extends ExtendedITextTest{
@@ -140,6 +144,76 @@ public class PdfSplitterTest extends ExtendedITextTest{
         }
     }
 
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 3)
+    })
+    public void splitDocumentInParallelTest() throws IOException, InterruptedException {
+        String inputFileName =  sourceFolder + "iphone_user_guide.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            new PdfSplitter(inputPdfDoc) {
+                @Override
+                protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                    // the documents are created in arbitrary order, so the part number is defined by the page range
+                    int partNumber = (documentPageRange.getQualifyingPageNums(180).get(0) - 1) / 60 + 1;
+                    try {
+                        return new PdfWriter(destinationFolder + "splitDocumentInParallel_" + partNumber + ".pdf");
+                    } catch (FileNotFoundException e) {
+                        throw new RuntimeException();
+                    }
+                }
+            }.splitByPageCount(60, new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    if (new PageRange("61-120").equals(pageRange)) {
+                        pdfDocument.getDocumentInfo().setAuthor("Modified Author");
+                    }
+
+                    pdfDocument.close();
+                }
+            }, executor);
+        } finally {
+            executor.shutdown();
+        }
+        inputPdfDoc.close();
+
+        for (int i = 1; i <= 3; i++) {
+            Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "splitDocumentInParallel_" + i + ".pdf",
+                    sourceFolder + "cmp/" + "cmp_splitDocument2_" + i + ".pdf", destinationFolder, "diff_"));
+        }
+    }
+
+    @Test
+    public void splitDocumentInParallelFailureTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfWriter(baos));
+        for (int i = 0; i < 4; i++) {
+            inputPdfDoc.addNewPage();
+        }
+        inputPdfDoc.close();
+        final PdfDocument sourcePdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Exception e = Assert.assertThrows(IllegalStateException.class,
+                    () -> new PdfSplitter(sourcePdfDoc).splitByPageCount(1, new PdfSplitter.IDocumentReadyListener() {
+                        @Override
+                        public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                            pdfDocument.close();
+                            if (pageRange.getQualifyingPageNums(4).get(0) == 3) {
+                                throw new IllegalStateException("part 3");
+                            }
+                        }
+                    }, executor));
+            Assert.assertEquals("part 3", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     @LogMessages(messages = {
             @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 2)
@@ -257,6 +331,41 @@ public class PdfSplitterTest extends ExtendedITextTest{
         }
     }
 
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 15)
+    })
+    public void splitDocumentBySizeAccuracyTest() throws IOException {
+        String inputFileName = sourceFolder + "iphone_user_guide.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+        final List<ByteArrayOutputStream> outputs = new ArrayList<>();
+        PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                outputs.add(baos);
+                return new PdfWriter(baos);
+            }
+        };
+
+        long size = 300000;
+        List<PdfDocument> documents = splitter.splitBySize(size);
+        List<Integer> pageCounts = new ArrayList<>();
+        for (PdfDocument doc : documents) {
+            pageCounts.add(doc.getNumberOfPages());
+            doc.close();
+        }
+        inputPdfDoc.close();
+
+        Assert.assertEquals(15, outputs.size());
+        for (int i = 0; i < outputs.size(); i++) {
+            // only a part of a single page may exceed the requested size noticeably
+            if (pageCounts.get(i) > 1) {
+                Assert.assertTrue(outputs.get(i).size() < size * 1.05);
+            }
+        }
+    }
+
     @Test
     @LogMessages(messages = {
             @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY , count = 10)
@@ -58,6 +58,7 @@ import com.itextpdf.layout.properties.BorderRadius;
 import com.itextpdf.layout.properties.FontKerning;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.PropertyMap;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.TransparentColor;
 import com.itextpdf.layout.properties.Underline;
@@ -65,7 +66,6 @@ import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.splitting.ISplitCharacters;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -78,11 +78,11 @@ import java.util.Map;
 public abstract class ElementPropertyContainer<T extends IPropertyContainer> extends AbstractIdentifiableElement
         implements IPropertyContainer {
 
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
 
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.setProperty(properties, property, value);
     }
 
     @Override
@@ -92,12 +92,12 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> ext
 
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.containsProperty(properties, property);
     }
 
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        PropertyMap.removeProperty(properties, property);
     }
 
     @Override
@@ -107,7 +107,7 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> ext
 
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.<T1>get(property);
+        return (T1) PropertyMap.getProperty(properties, property);
     }
 
     @Override
@@ -0,0 +1,173 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.canvas.CanvasArtifact;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.IBlockElement;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.renderer.DrawContext;
+import com.itextpdf.layout.renderer.IRenderer;
+
+/**
+ * An element, which has been laid out and drawn once into a {@link PdfFormXObject}, so that it can be placed
+ * any number of times without being laid out again.
+ * <p>
+ * This is suitable for the content, which is repeated on many pages without changes, e.g. headers, footers
+ * or stamps added by the page event handlers: the content stream of the element is written to the document
+ * only once and every placement just refers to it.
+ * <p>
+ * Since the same content is repeated, it is not a part of the logical structure of the document:
+ * if the document is tagged, the element is drawn untagged and every placement is marked as an artifact.
+ * Note that the annotations, e.g. links, cannot be a part of a form XObject, so they are not supported.
+ */
+public class ElementXObject {
+
+    // the properties, for which the root element creates the default values
+    private static final int[] ROOT_DEFAULT_PROPERTIES = {Property.FONT, Property.FONT_PROVIDER,
+            Property.SPLIT_CHARACTERS};
+
+    private final PdfDocument pdfDocument;
+    private final PdfFormXObject xObject;
+    private final LayoutArea occupiedArea;
+
+    /**
+     * Lays out the element into a new {@link PdfFormXObject}. The properties of the document, e.g. the font
+     * or the font provider, are applied to the element in the same way as if the element was added to the document.
+     *
+     * @param element  the element to be laid out
+     * @param document the document, on which pages the element will be placed
+     * @param area     the area available for the element. The element shall fit it entirely.
+     */
+    public ElementXObject(IBlockElement element, Document document, Rectangle area) {
+        this(element, document.getPdfDocument(), area, document);
+    }
+
+    /**
+     * Lays out the element into a new {@link PdfFormXObject}.
+     *
+     * @param element     the element to be laid out
+     * @param pdfDocument the document, on which pages the element will be placed
+     * @param area        the area available for the element. The element shall fit it entirely.
+     */
+    public ElementXObject(IBlockElement element, PdfDocument pdfDocument, Rectangle area) {
+        this(element, pdfDocument, area, null);
+    }
+
+    private ElementXObject(IBlockElement element, PdfDocument pdfDocument, Rectangle area,
+            RootElement<?> propertiesSource) {
+        this.pdfDocument = pdfDocument;
+        this.xObject = new PdfFormXObject(area);
+        Canvas canvas = new Canvas(xObject, pdfDocument);
+        if (propertiesSource != null) {
+            canvas.properties.putAll(propertiesSource.properties);
+            for (int property : ROOT_DEFAULT_PROPERTIES) {
+                if (!canvas.hasOwnProperty(property)) {
+                    canvas.setProperty(property, propertiesSource.<Object>getDefaultProperty(property));
+                }
+            }
+        }
+        // the content of the form is not tagged, each placement of the form is marked as an artifact instead
+        canvas.setProperty(Property.TAGGING_HELPER, null);
+
+        IRenderer renderer = element.createRendererSubTree().setParent(canvas.getRenderer());
+        LayoutResult result = renderer.layout(new LayoutContext(new LayoutArea(1, area.clone())));
+        if (result.getStatus() != LayoutResult.FULL) {
+            throw new PdfException(LayoutExceptionMessageConstant.ELEMENT_DOES_NOT_FIT_FORM_XOBJECT_AREA);
+        }
+        renderer.draw(new DrawContext(pdfDocument, canvas.getPdfCanvas(), false));
+        this.occupiedArea = result.getOccupiedArea().clone();
+        xObject.setBBox(new PdfArray(occupiedArea.getBBox()));
+    }
+
+    /**
+     * Gets the form XObject, which contains the laid out element. Its bounding box is
+     * the {@link #getOccupiedArea() area occupied by the element}.
+     *
+     * @return the form XObject with the element
+     */
+    public PdfFormXObject getXObject() {
+        return xObject;
+    }
+
+    /**
+     * Gets the area occupied by the element, as it has been laid out.
+     *
+     * @return the occupied area of the element
+     */
+    public LayoutArea getOccupiedArea() {
+        return occupiedArea;
+    }
+
+    /**
+     * Places the laid out element on the canvas, so that the lower left corner of its
+     * {@link #getOccupiedArea() occupied area} is at the specified position.
+     *
+     * @param canvas the canvas of the page or of the form XObject of the same document
+     * @param x      the horizontal position of the element
+     * @param y      the vertical position of the element
+     */
+    public void placeAt(PdfCanvas canvas, float x, float y) {
+        if (canvas.getDocument() != pdfDocument) {
+            throw new PdfException(LayoutExceptionMessageConstant.FORM_XOBJECT_BELONGS_TO_ANOTHER_DOCUMENT);
+        }
+        boolean isTagged = pdfDocument.isTagged();
+        if (isTagged) {
+            canvas.openTag(new CanvasArtifact());
+        }
+        canvas.addXObjectAt(xObject, x, y);
+        if (isTagged) {
+            canvas.closeTag();
+        }
+    }
+}
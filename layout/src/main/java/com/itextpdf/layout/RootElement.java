@@ -59,6 +59,7 @@ import com.itextpdf.layout.properties.FontKerning;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.Leading;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.PropertyMap;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.properties.VerticalAlignment;
@@ -146,7 +147,7 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.containsProperty(properties, property);
     }
 
     @Override
@@ -156,7 +157,7 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.<T1>get(property);
+        return (T1) PropertyMap.getProperty(properties, property);
     }
 
     @Override
@@ -198,12 +199,12 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        PropertyMap.removeProperty(properties, property);
     }
 
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.setProperty(properties, property, value);
     }
 
     /**
@@ -778,17 +778,17 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         int firstRow = lastAddedRowGroups.get(0).startRow;
         int lastRow = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).finishRow;
 
-        List<IElement> toRemove = new ArrayList<>();
+        // the flushed cells and rows are removed at once, so that flushing of many rows takes linear time
+        List<IElement> remainingCells = new ArrayList<>();
         for (IElement cell : childElements) {
-            if (((Cell) cell).getRow() >= firstRow && ((Cell) cell).getRow() <= lastRow) {
-                toRemove.add(cell);
+            if (((Cell) cell).getRow() < firstRow || ((Cell) cell).getRow() > lastRow) {
+                remainingCells.add(cell);
             }
         }
-        childElements.removeAll(toRemove);
+        childElements.clear();
+        childElements.addAll(remainingCells);
 
-        for (int i = 0; i < lastRow - firstRow; i++) {
-            rows.remove(firstRow - rowWindowStart);
-        }
+        rows.subList(firstRow - rowWindowStart, lastRow - rowWindowStart).clear();
         lastAddedRow = rows.remove(firstRow - rowWindowStart);
         rowWindowStart = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).getFinishRow() + 1;
 
@@ -35,12 +35,16 @@ public final class LayoutExceptionMessageConstant {
             + "flushed pages.";
     public static final String DOCUMENT_CLOSED_IT_IS_IMPOSSIBLE_TO_EXECUTE_ACTION = "Document was closed. It is "
             + "impossible to execute action.";
+    public static final String ELEMENT_DOES_NOT_FIT_FORM_XOBJECT_AREA = "The element does not fit the area of the "
+            + "form XObject.";
     public static final String FLEX_BASIS_CANNOT_BE_NULL = "Flex basis cannot be null.";
     public static final String FLEX_GROW_CANNOT_BE_NEGATIVE = "Flex grow cannot be negative.";
     public static final String FLEX_SHRINK_CANNOT_BE_NEGATIVE = "Flex shrink cannot be negative.";
     public static final String FONT_PROVIDER_NOT_SET_FONT_FAMILY_NOT_RESOLVED = "FontProvider and FontSet are empty. "
             + "Cannot resolve font family name (see ElementPropertyContainer#setFontFamily) without initialized "
             + "FontProvider (see RootElement#setFontProvider).";
+    public static final String FORM_XOBJECT_BELONGS_TO_ANOTHER_DOCUMENT = "The form XObject with the laid out element "
+            + "can only be placed in the document, for which it has been created.";
     public static final String IO_EXCEPTION_WHILE_CREATING_FONT = "I/O exception while creating Font";
     public static final String NONINVERTIBLE_MATRIX_CANNOT_BE_PROCESSED = "A noninvertible matrix has been parsed. "
             + "The behaviour is unpredictable.";
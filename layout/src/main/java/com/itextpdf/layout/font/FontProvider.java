@@ -69,6 +69,8 @@ import java.util.Map;
  * FontProvider depends on {@link PdfDocument} due to {@link PdfFont}, so it cannot be reused for different documents
  * unless reset with {@link FontProvider#reset()} or recreated with {@link FontProvider#getFontSet()}.
  * In the former case the {@link FontSelectorCache} is reused and in the latter it's reinitialised.
+ * To reuse the selected fonts by the providers, which are created for the different documents in the different
+ * threads, create them with the shared {@link FontSelectorCache}, see {@link #FontProvider(FontSelectorCache, String)}.
  * FontProvider the only end point for creating {@link PdfFont}.
  * <p>
  * It is allowed to use only one {@link FontProvider} per document. If additional fonts per element needed,
@@ -121,9 +123,23 @@ public class FontProvider {
      * @param defaultFontFamily default font family.
      */
     public FontProvider(FontSet fontSet, String defaultFontFamily) {
-        this.fontSet = fontSet != null ? fontSet : new FontSet();
+        this(new FontSelectorCache(fontSet != null ? fontSet : new FontSet()), defaultFontFamily);
+    }
+
+    /**
+     * Creates a new instance of FontProvider, which uses the fonts of the specified {@link FontSelectorCache}.
+     * The cache is thread-safe and can be shared by the font providers of the documents, which are processed
+     * in the different threads, so that each {@link FontSelector} is created only once for all of them.
+     * Note, the cache shall be shared only by the providers, which create the font selectors the same way,
+     * see {@link #createFontSelector(Collection, List, FontCharacteristics)}.
+     *
+     * @param fontSelectorCache the cache of the font selectors, which defines the set of fonts
+     * @param defaultFontFamily default font family.
+     */
+    public FontProvider(FontSelectorCache fontSelectorCache, String defaultFontFamily) {
+        this.fontSet = fontSelectorCache.getFontSet();
         pdfFonts = new HashMap<>();
-        fontSelectorCache = new FontSelectorCache(this.fontSet);
+        this.fontSelectorCache = fontSelectorCache;
         this.defaultFontFamily = defaultFontFamily;
     }
 
@@ -321,6 +337,16 @@ public class FontProvider {
         return fontSet;
     }
 
+    /**
+     * Gets the cache of the font selectors, which are created for the {@link #getFontSet() font set}
+     * of the provider.
+     *
+     * @return the font selector cache
+     */
+    public FontSelectorCache getFontSelectorCache() {
+        return fontSelectorCache;
+    }
+
     /**
      * Gets the default font-family.
      *
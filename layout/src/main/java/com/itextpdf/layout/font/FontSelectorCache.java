@@ -42,90 +42,178 @@
  */
 package com.itextpdf.layout.font;
 
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of {@link FontSelector} instances created for a {@link FontSet}.
+ * <p>
+ * The cache is thread-safe, so a single instance can be shared by all the {@link FontProvider}s which are
+ * created for the same {@link FontSet}, see {@link FontProvider#FontProvider(FontSelectorCache, String)}.
+ * That allows to select fonts once for all the documents, which are laid out with the same set of fonts,
+ * even if they are processed in different threads. The selectors are invalidated when the number of fonts in
+ * the font set, or in the additional font set they have been created for, changes.
+ * <p>
+ * The number of cached selectors is limited, if the limit is reached, arbitrary selectors are evicted
+ * to give place to the new ones.
+ */
+public class FontSelectorCache {
 
-class FontSelectorCache {
+    /**
+     * The default maximum number of the cached selectors.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1000;
 
-    private final FontSetSelectors defaultSelectors;
     private final FontSet defaultFontSet;
-    private final Map<Long, FontSetSelectors> caches = new HashMap<>();
+    private final int maxSize;
+    private final Map<CacheKey, CacheEntry> selectors = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates a new instance of {@link FontSelectorCache} with the {@link #DEFAULT_MAX_SIZE default maximum size}.
+     *
+     * @param defaultFontSet the font set, for which the selectors are cached
+     */
+    public FontSelectorCache(FontSet defaultFontSet) {
+        this(defaultFontSet, DEFAULT_MAX_SIZE);
+    }
 
-    FontSelectorCache(FontSet defaultFontSet) {
+    /**
+     * Creates a new instance of {@link FontSelectorCache}.
+     *
+     * @param defaultFontSet the font set, for which the selectors are cached
+     * @param maxSize        the maximum number of the cached selectors
+     */
+    public FontSelectorCache(FontSet defaultFontSet, int maxSize) {
         assert defaultFontSet != null;
-        this.defaultSelectors = new FontSetSelectors();
-        this.defaultSelectors.update(defaultFontSet);
         this.defaultFontSet = defaultFontSet;
+        this.maxSize = Math.max(maxSize, 1);
+    }
+
+    /**
+     * Gets the font set, for which the selectors are cached.
+     *
+     * @return the font set of the cache
+     */
+    public FontSet getFontSet() {
+        return defaultFontSet;
+    }
+
+    /**
+     * Gets the maximum number of the cached selectors.
+     *
+     * @return the maximum size of the cache
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of the cached selectors.
+     *
+     * @return the size of the cache
+     */
+    public int size() {
+        return selectors.size();
+    }
+
+    /**
+     * Gets the number of the lookups, which have found a valid selector in the cache.
+     *
+     * @return the number of the cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of the lookups, which have not found a valid selector in the cache,
+     * so the selector had to be created.
+     *
+     * @return the number of the cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
     }
 
     FontSelector get(FontSelectorKey key) {
-        if (update(null, null)) {
-            return null;
-        } else {
-            return defaultSelectors.map.get(key);
-        }
+        return get(key, null);
     }
 
     FontSelector get(FontSelectorKey key, FontSet additionalFonts) {
-        if (additionalFonts == null) {
-            return get(key);
-        } else {
-            FontSetSelectors selectors = caches.get(additionalFonts.getId());
-            if (selectors == null) {
-                caches.put(additionalFonts.getId(), selectors = new FontSetSelectors());
-            }
-            if (update(selectors, additionalFonts)) {
-                return null;
-            } else {
-                return selectors.map.get(key);
-            }
+        CacheEntry entry = selectors.get(new CacheKey(key, additionalFonts));
+        if (entry != null && entry.isValid(defaultFontSet, additionalFonts)) {
+            hitCount.incrementAndGet();
+            return entry.fontSelector;
         }
+        missCount.incrementAndGet();
+        return null;
     }
 
     void put(FontSelectorKey key, FontSelector fontSelector) {
-        //update defaultSelectors to reset counter before pushing if needed.
-        update(null, null);
-        defaultSelectors.map.put(key, fontSelector);
+        put(key, fontSelector, null);
     }
 
     void put(FontSelectorKey key, FontSelector fontSelector, FontSet fontSet) {
-        if (fontSet == null) {
-            put(key, fontSelector);
-        } else {
-            FontSetSelectors selectors = caches.get(fontSet.getId());
-            if (selectors == null) {
-                caches.put(fontSet.getId(), selectors = new FontSetSelectors());
-            }
-            //update selectors and defaultSelectors to reset counter before pushing if needed.
-            update(selectors, fontSet);
-            selectors.map.put(key, fontSelector);
+        CacheKey cacheKey = new CacheKey(key, fontSet);
+        if (selectors.size() >= maxSize && !selectors.containsKey(cacheKey)) {
+            evict();
+        }
+        // the stale selector, which has been created before the font set changed, is replaced
+        selectors.put(cacheKey, new CacheEntry(fontSelector, defaultFontSet, fontSet));
+    }
+
+    private void evict() {
+        Iterator<CacheKey> iterator = selectors.keySet().iterator();
+        while (selectors.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
         }
     }
 
-    private boolean update(FontSetSelectors selectors, FontSet fontSet) {
-        boolean updated = false;
-        if (defaultSelectors.update(defaultFontSet)) {
-            updated = true;
+    private static final class CacheKey {
+        private final FontSelectorKey key;
+        // the identifiers of the font sets start with 1
+        private final long additionalFontSetId;
+
+        CacheKey(FontSelectorKey key, FontSet additionalFonts) {
+            this.key = key;
+            this.additionalFontSetId = additionalFonts != null ? additionalFonts.getId() : 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey that = (CacheKey) o;
+
+            return additionalFontSetId == that.additionalFontSetId && key.equals(that.key);
         }
-        if (selectors != null && selectors.update(fontSet)) {
-            updated = true;
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + (int) (additionalFontSetId ^ (additionalFontSetId >>> 32));
         }
-        return updated;
     }
 
-    private static class FontSetSelectors {
-        final Map<FontSelectorKey, FontSelector> map = new HashMap<>();
-        private int fontSetSize = -1;
-
-        boolean update(FontSet fontSet) {
-            assert fontSet != null;
-            if (fontSetSize == fontSet.size()) {
-                return false;
-            } else {
-                map.clear();
-                fontSetSize = fontSet.size();
-                return true;
-            }
+    private static final class CacheEntry {
+        final FontSelector fontSelector;
+        // the selector is valid as long as the number of fonts in the font sets remains the same
+        private final int fontSetSize;
+        private final int additionalFontSetSize;
+
+        CacheEntry(FontSelector fontSelector, FontSet fontSet, FontSet additionalFonts) {
+            this.fontSelector = fontSelector;
+            this.fontSetSize = fontSet.size();
+            this.additionalFontSetSize = additionalFonts != null ? additionalFonts.size() : -1;
+        }
+
+        boolean isValid(FontSet fontSet, FontSet additionalFonts) {
+            return fontSetSize == fontSet.size()
+                    && additionalFontSetSize == (additionalFonts != null ? additionalFonts.size() : -1);
         }
     }
 }
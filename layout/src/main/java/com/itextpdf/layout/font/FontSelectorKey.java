@@ -56,7 +56,8 @@ final class FontSelectorKey {
 
     FontSelectorKey(List<String> fontFamilies, FontCharacteristics fc) {
         this.fontFamilies = new ArrayList<>(fontFamilies);
-        this.fc = fc;
+        // the key may be stored in the cache shared by the providers, so it shall not change
+        this.fc = fc != null ? new FontCharacteristics(fc) : null;
     }
 
     @Override
@@ -0,0 +1,364 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.properties;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact storage of the layout properties, which are keyed by the {@link Property} constants.
+ * <p>
+ * The properties are kept in the array of keys sorted in ascending order and in the parallel array of values.
+ * Layout elements and renderers usually have just a few properties, so the binary search in the array of
+ * primitive keys is faster and takes much less memory than the hashing of the boxed keys, and copying of
+ * the properties is reduced to copying of two arrays. The methods, which take primitive keys, namely
+ * {@link #get(int)}, {@link #set(int, Object)}, {@link #containsKey(int)} and {@link #remove(int)},
+ * do not box them. {@code null} values are allowed.
+ */
+public class PropertyMap extends AbstractMap<Integer, Object> {
+
+    private static final int[] EMPTY_KEYS = new int[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int size;
+    private Set<Map.Entry<Integer, Object>> entrySet;
+
+    /**
+     * Creates an empty {@link PropertyMap}.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a {@link PropertyMap} with the same properties as the specified map.
+     *
+     * @param properties the properties to be copied
+     */
+    public PropertyMap(Map<Integer, Object> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Checks whether the property is present.
+     *
+     * @param property the property to be checked
+     * @return {@code true} if the map contains the property, {@code false} otherwise
+     */
+    public boolean containsKey(int property) {
+        return indexOf(property) >= 0;
+    }
+
+    /**
+     * Gets the value of the property.
+     *
+     * @param property the property to be retrieved
+     * @return the value of the property, or {@code null} if it is not present
+     */
+    public Object get(int property) {
+        int index = indexOf(property);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Sets the value of the property.
+     *
+     * @param property the property to be set
+     * @param value    the value of the property
+     * @return the previous value of the property, or {@code null} if it has not been present
+     */
+    public Object set(int property, Object value) {
+        int index = indexOf(property);
+        if (index >= 0) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        insert(-index - 1, property, value);
+        return null;
+    }
+
+    /**
+     * Removes the property.
+     *
+     * @param property the property to be removed
+     * @return the value of the removed property, or {@code null} if it has not been present
+     */
+    public Object remove(int property) {
+        int index = indexOf(property);
+        if (index < 0) {
+            return null;
+        }
+        Object previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    /**
+     * Checks whether the property is present in the map, without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of the properties
+     * @param property   the property to be checked
+     * @return {@code true} if the map contains the property, {@code false} otherwise
+     */
+    public static boolean containsProperty(Map<Integer, Object> properties, int property) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).containsKey(property)
+                : properties.containsKey(property);
+    }
+
+    /**
+     * Gets the value of the property from the map, without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of the properties
+     * @param property   the property to be retrieved
+     * @return the value of the property, or {@code null} if it is not present
+     */
+    public static Object getProperty(Map<Integer, Object> properties, int property) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).get(property)
+                : properties.get(property);
+    }
+
+    /**
+     * Sets the value of the property in the map, without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of the properties
+     * @param property   the property to be set
+     * @param value      the value of the property
+     */
+    public static void setProperty(Map<Integer, Object> properties, int property, Object value) {
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).set(property, value);
+        } else {
+            properties.put(property, value);
+        }
+    }
+
+    /**
+     * Removes the property from the map, without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of the properties
+     * @param property   the property to be removed
+     */
+    public static void removeProperty(Map<Integer, Object> properties, int property) {
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).remove(property);
+        } else {
+            properties.remove(property);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return set((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> properties) {
+        if (size == 0 && properties instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) properties;
+            keys = Arrays.copyOf(other.keys, other.size);
+            values = Arrays.copyOf(other.values, other.size);
+            size = other.size;
+        } else if (properties instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) properties;
+            for (int i = 0; i < other.size; i++) {
+                set(other.keys[i], other.values[i]);
+            }
+        } else {
+            for (Map.Entry<? extends Integer, ?> entry : properties.entrySet()) {
+                set((int) entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int indexOf(int property) {
+        return Arrays.binarySearch(keys, 0, size, property);
+    }
+
+    private void insert(int index, int property, Object value) {
+        if (size == keys.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        keys[index] = property;
+        values[index] = value;
+        size++;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        values[--size] = null;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            PropertyMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new Entry(keys[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+        }
+    }
+
+    private final class Entry implements Map.Entry<Integer, Object> {
+        private final int key;
+
+        Entry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return set(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(that.getKey()) && (value == null ? that.getValue() == null
+                    : value.equals(that.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key ^ (value == null ? 0 : value.hashCode());
+        }
+    }
+}
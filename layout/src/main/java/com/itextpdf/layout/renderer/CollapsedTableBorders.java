@@ -49,6 +49,7 @@ import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.Property;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -155,14 +156,12 @@ class CollapsedTableBorders extends TableBorders {
 
     @Override
     public List<Border> getVerticalBorder(int index) {
+        // The outer borders are requested for each cell, so they are collapsed lazily rather than copied:
+        // otherwise the layout of a table would be quadratic in the number of its rows.
         if (index == 0) {
-            List<Border> borderList = TableBorderUtil
-                    .createAndFillBorderList(null, tableBoundingBorders[3], verticalBorders.get(0).size());
-            return getCollapsedList(verticalBorders.get(0), borderList);
+            return new CollapsedBorderList(verticalBorders.get(0), tableBoundingBorders[3]);
         } else if (index == numberOfColumns) {
-            List<Border> borderList = TableBorderUtil.createAndFillBorderList(null, tableBoundingBorders[1],
-                    verticalBorders.get(verticalBorders.size() - 1).size());
-            return getCollapsedList(verticalBorders.get(verticalBorders.size() - 1), borderList);
+            return new CollapsedBorderList(verticalBorders.get(verticalBorders.size() - 1), tableBoundingBorders[1]);
         } else {
             return verticalBorders.get(index);
         }
@@ -715,6 +714,29 @@ class CollapsedTableBorders extends TableBorders {
         return crossingBorders;
     }
 
+    /**
+     * A read-only view of the list of cell borders, which are collapsed with the table border.
+     */
+    private static final class CollapsedBorderList extends AbstractList<Border> {
+        private final List<Border> cellBorders;
+        private final Border tableBorder;
+
+        CollapsedBorderList(List<Border> cellBorders, Border tableBorder) {
+            this.cellBorders = cellBorders;
+            this.tableBorder = tableBorder;
+        }
+
+        @Override
+        public Border get(int index) {
+            return getCollapsedBorder(cellBorders.get(index), tableBorder);
+        }
+
+        @Override
+        public int size() {
+            return null == cellBorders ? 0 : cellBorders.size();
+        }
+    }
+
     /**
      * A comparison function to compare two {@link Border} instances.
      */
@@ -0,0 +1,293 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.layout.font.FontCharacteristics;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
+import com.itextpdf.layout.properties.FontKerning;
+import com.itextpdf.layout.properties.Property;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the {@link GlyphLine glyph lines}, which {@link TextRenderer} produces from the text.
+ * <p>
+ * The cache stores the results of the conversion of the strings to glyphs, of the font selection
+ * performed for the {@link Property#FONT font families} and of the OpenType shaping and kerning,
+ * so that the text, which occurs many times in a document (e.g. table headers, labels or repeated
+ * column values), is processed only once. The cache is not used unless it is set as
+ * {@link Property#GLYPH_LINE_CACHE} property, usually on the {@link com.itextpdf.layout.Document}:
+ * <pre>
+ * document.setProperty(Property.GLYPH_LINE_CACHE, new GlyphLineCache());
+ * </pre>
+ * The cache is thread-safe and can be shared between documents. Note, however, that the cached
+ * glyph lines refer to the {@link PdfFont} instances, which belong to a specific document, so the
+ * fonts of a processed document are retained by a shared cache until they are evicted.
+ * <p>
+ * The number of cached glyph lines is limited, if the limit is reached, arbitrary entries are evicted
+ * to give place to the new ones.
+ */
+public class GlyphLineCache {
+
+    /**
+     * The default maximum number of the cached glyph lines.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static final int CONVERSION = 1;
+    private static final int FONT_RESOLUTION = 2;
+    private static final int SHAPING = 3;
+
+    private final int maxSize;
+    private final Map<CacheKey, Object> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates a new instance of {@link GlyphLineCache} with the {@link #DEFAULT_MAX_SIZE default maximum size}.
+     */
+    public GlyphLineCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new instance of {@link GlyphLineCache}.
+     *
+     * @param maxSize the maximum number of the cached glyph lines
+     */
+    public GlyphLineCache(int maxSize) {
+        this.maxSize = Math.max(maxSize, 1);
+    }
+
+    /**
+     * Gets the maximum number of the cached glyph lines.
+     *
+     * @return the maximum size of the cache
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of the cached glyph lines.
+     *
+     * @return the size of the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of the lookups, which have found the processed text in the cache.
+     *
+     * @return the number of the cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of the lookups, which have not found the processed text in the cache,
+     * so the text had to be processed.
+     *
+     * @return the number of the cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Removes all the cached glyph lines, e.g. in order to release the fonts of the processed documents.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    GlyphLine getConvertedText(String text, PdfFont font) {
+        GlyphLine glyphLine = (GlyphLine) get(new CacheKey(CONVERSION, text, font));
+        return glyphLine == null ? null : copyOf(glyphLine);
+    }
+
+    void putConvertedText(String text, PdfFont font, GlyphLine glyphLine) {
+        put(new CacheKey(CONVERSION, text, font), copyOf(glyphLine));
+    }
+
+    List<ResolvedGlyphLine> getResolvedText(String text, List<String> fontFamilies, FontCharacteristics fc,
+            FontSet additionalFonts, FontProvider provider) {
+        @SuppressWarnings("unchecked")
+        List<ResolvedGlyphLine> resolvedText = (List<ResolvedGlyphLine>) get(
+                createFontResolutionKey(text, fontFamilies, fc, additionalFonts, provider));
+        if (resolvedText == null) {
+            return null;
+        }
+        List<ResolvedGlyphLine> copy = new ArrayList<>(resolvedText.size());
+        for (ResolvedGlyphLine resolvedGlyphLine : resolvedText) {
+            copy.add(new ResolvedGlyphLine(copyOf(resolvedGlyphLine.glyphLine), resolvedGlyphLine.font));
+        }
+        return copy;
+    }
+
+    void putResolvedText(String text, List<String> fontFamilies, FontCharacteristics fc,
+            FontSet additionalFonts, FontProvider provider, List<ResolvedGlyphLine> resolvedText) {
+        List<ResolvedGlyphLine> copy = new ArrayList<>(resolvedText.size());
+        for (ResolvedGlyphLine resolvedGlyphLine : resolvedText) {
+            copy.add(new ResolvedGlyphLine(copyOf(resolvedGlyphLine.glyphLine), resolvedGlyphLine.font));
+        }
+        put(createFontResolutionKey(text, fontFamilies, fc, additionalFonts, provider),
+                Collections.unmodifiableList(copy));
+    }
+
+    ShapedGlyphLine getShapedText(GlyphLine text, PdfFont font, Character.UnicodeScript script,
+            Object typographyConfig, FontKerning fontKerning) {
+        ShapedGlyphLine shapedText = (ShapedGlyphLine) get(
+                new CacheKey(SHAPING, text, font, script, typographyConfig, fontKerning));
+        return shapedText == null ? null
+                : new ShapedGlyphLine(copyOf(shapedText.glyphLine), shapedText.rtlScriptDetected);
+    }
+
+    void putShapedText(GlyphLine text, PdfFont font, Character.UnicodeScript script,
+            Object typographyConfig, FontKerning fontKerning, ShapedGlyphLine shapedText) {
+        put(new CacheKey(SHAPING, copyOf(text), font, script, typographyConfig, fontKerning),
+                new ShapedGlyphLine(copyOf(shapedText.glyphLine), shapedText.rtlScriptDetected));
+    }
+
+    private Object get(CacheKey key) {
+        Object entry = entries.get(key);
+        if (entry != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return entry;
+    }
+
+    private void put(CacheKey key, Object entry) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict();
+        }
+        entries.put(key, entry);
+    }
+
+    private void evict() {
+        Iterator<CacheKey> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static CacheKey createFontResolutionKey(String text, List<String> fontFamilies, FontCharacteristics fc,
+            FontSet additionalFonts, FontProvider provider) {
+        // the font selection changes as soon as fonts are added to the font sets
+        return new CacheKey(FONT_RESOLUTION, text, fontFamilies, new FontCharacteristics(fc),
+                additionalFonts, additionalFonts == null ? null : additionalFonts.size(),
+                provider, provider.getFontSet().size());
+    }
+
+    /**
+     * The processed glyph lines are modified during layout, so only the copies of them are shared.
+     * The glyphs themselves are never modified and thus are not copied.
+     */
+    private static GlyphLine copyOf(GlyphLine glyphLine) {
+        return glyphLine.copy(glyphLine.start, glyphLine.end);
+    }
+
+    static final class ResolvedGlyphLine {
+        final GlyphLine glyphLine;
+        final PdfFont font;
+
+        ResolvedGlyphLine(GlyphLine glyphLine, PdfFont font) {
+            this.glyphLine = glyphLine;
+            this.font = font;
+        }
+    }
+
+    static final class ShapedGlyphLine {
+        final GlyphLine glyphLine;
+        // whether the base direction of the line shall be autodetected
+        final boolean rtlScriptDetected;
+
+        ShapedGlyphLine(GlyphLine glyphLine, boolean rtlScriptDetected) {
+            this.glyphLine = glyphLine;
+            this.rtlScriptDetected = rtlScriptDetected;
+        }
+    }
+
+    private static final class CacheKey {
+        private final int type;
+        // the fonts, the font sets, the font providers and the typography configurations are compared by identity
+        private final Object[] components;
+        private final int hash;
+
+        CacheKey(int type, Object... components) {
+            this.type = type;
+            this.components = components;
+            this.hash = 31 * type + Arrays.hashCode(components);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey that = (CacheKey) o;
+
+            return type == that.type && hash == that.hash && Arrays.equals(components, that.components);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -754,8 +754,22 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
             final SequenceId sequenceId = pdfDocument == null ? null : pdfDocument.getDocumentIdWrapper();
             final MetaInfoContainer metaInfoContainer = this.<MetaInfoContainer>getProperty(Property.META_INFO);
             final IMetaInfo metaInfo = metaInfoContainer == null ? null : metaInfoContainer.getMetaInfo();
+            Object typographyConfig = this.<Object>getProperty(Property.TYPOGRAPHY_CONFIG);
+            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
+            GlyphLineCache cache = this.<GlyphLineCache>getProperty(Property.GLYPH_LINE_CACHE);
+            GlyphLine textToShape = null;
+            if (cache != null) {
+                textToShape = text.copy(text.start, text.end);
+                GlyphLineCache.ShapedGlyphLine shapedText = cache.getShapedText(
+                        textToShape, font, script, typographyConfig, fontKerning);
+                if (shapedText != null) {
+                    replaceShapedText(shapedText);
+                    otfFeaturesApplied = true;
+                    return;
+                }
+            }
+            boolean rtlScriptDetected = false;
             if (hasOtfFont()) {
-                Object typographyConfig = this.<Object>getProperty(Property.TYPOGRAPHY_CONFIG);
                 Collection<Character.UnicodeScript> supportedScripts = null;
         	    if (typographyConfig != null) {
     	            supportedScripts = TypographyUtils.getSupportedScripts(typographyConfig);
@@ -803,13 +817,9 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                     text.start = shapingRangeStart;
                     text.end = scriptsRange.rangeEnd;
 
-                    if ((scriptsRange.script == Character.UnicodeScript.ARABIC || scriptsRange.script == Character.UnicodeScript.HEBREW) && parent instanceof LineRenderer) {
-                        // It's safe to set here BASE_DIRECTION to TextRenderer without additional checks, because
-                        // by convention this property makes sense only if it's applied to LineRenderer or it's
-                        // parents (Paragraph or above).
-                        // Only if it's not found there first, LineRenderer tries to fetch autodetected BaseDirection
-                        // from text renderers (see LineRenderer#applyOtf).
-                        setProperty(Property.BASE_DIRECTION, BaseDirection.DEFAULT_BIDI);
+                    if (scriptsRange.script == Character.UnicodeScript.ARABIC || scriptsRange.script == Character.UnicodeScript.HEBREW) {
+                        rtlScriptDetected = true;
+                        markBaseDirectionForAutodetection();
                     }
                     TypographyUtils.applyOtfScript(
                             font.getFontProgram(), text, scriptsRange.script, typographyConfig, sequenceId, metaInfo);
@@ -821,15 +831,42 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                 text.end = origTextEnd + delta;
             }
 
-            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
             if (fontKerning == FontKerning.YES) {
                 TypographyUtils.applyKerning(font.getFontProgram(), text, sequenceId, metaInfo);
             }
+            if (cache != null) {
+                cache.putShapedText(textToShape, font, script, typographyConfig, fontKerning,
+                        new GlyphLineCache.ShapedGlyphLine(text, rtlScriptDetected));
+            }
 
             otfFeaturesApplied = true;
         }
     }
 
+    private void replaceShapedText(GlyphLineCache.ShapedGlyphLine shapedText) {
+        GlyphLine newText = text.copy(0, text.start);
+        newText.add(shapedText.glyphLine);
+        int newTextEnd = newText.size();
+        newText.add(text.copy(text.end, text.size()));
+        newText.start = text.start;
+        newText.end = newTextEnd;
+        text.replaceContent(newText);
+        if (shapedText.rtlScriptDetected) {
+            markBaseDirectionForAutodetection();
+        }
+    }
+
+    private void markBaseDirectionForAutodetection() {
+        if (parent instanceof LineRenderer) {
+            // It's safe to set here BASE_DIRECTION to TextRenderer without additional checks, because
+            // by convention this property makes sense only if it's applied to LineRenderer or it's
+            // parents (Paragraph or above).
+            // Only if it's not found there first, LineRenderer tries to fetch autodetected BaseDirection
+            // from text renderers (see LineRenderer#applyOtf).
+            setProperty(Property.BASE_DIRECTION, BaseDirection.DEFAULT_BIDI);
+        }
+    }
+
     @Override
     public void draw(DrawContext drawContext) {
         if (occupiedArea == null) {
@@ -1538,16 +1575,29 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                         LayoutExceptionMessageConstant.FONT_PROVIDER_NOT_SET_FONT_FAMILY_NOT_RESOLVED);
             }
             FontCharacteristics fc = createFontCharacteristics();
-            FontSelectorStrategy strategy = provider.getStrategy(strToBeConverted, Arrays.asList((String[])font), fc, fontSet);
+            List<String> fontFamilies = Arrays.asList((String[]) font);
             // process empty renderers because they can have borders or paddings with background to be drawn
             if (null == strToBeConverted || strToBeConverted.isEmpty()) {
                 addTo.add(this);
             } else {
-                while (!strategy.endOfText()) {
-                    GlyphLine nextGlyphs = new GlyphLine(strategy.nextGlyphs());
-                    PdfFont currentFont = strategy.getCurrentFont();
-                    GlyphLine newGlyphs = TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(nextGlyphs, currentFont);
-                    TextRenderer textRenderer = createCopy(newGlyphs, currentFont);
+                GlyphLineCache cache = this.<GlyphLineCache>getProperty(Property.GLYPH_LINE_CACHE);
+                List<GlyphLineCache.ResolvedGlyphLine> resolvedText = cache == null ? null
+                        : cache.getResolvedText(strToBeConverted, fontFamilies, fc, fontSet, provider);
+                if (resolvedText == null) {
+                    resolvedText = new ArrayList<>();
+                    FontSelectorStrategy strategy = provider.getStrategy(strToBeConverted, fontFamilies, fc, fontSet);
+                    while (!strategy.endOfText()) {
+                        GlyphLine nextGlyphs = new GlyphLine(strategy.nextGlyphs());
+                        PdfFont currentFont = strategy.getCurrentFont();
+                        GlyphLine newGlyphs = TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(nextGlyphs, currentFont);
+                        resolvedText.add(new GlyphLineCache.ResolvedGlyphLine(newGlyphs, currentFont));
+                    }
+                    if (cache != null) {
+                        cache.putResolvedText(strToBeConverted, fontFamilies, fc, fontSet, provider, resolvedText);
+                    }
+                }
+                for (GlyphLineCache.ResolvedGlyphLine resolvedGlyphLine : resolvedText) {
+                    TextRenderer textRenderer = createCopy(resolvedGlyphLine.glyphLine, resolvedGlyphLine.font);
                     addTo.add(textRenderer);
                 }
             }
@@ -1747,8 +1797,15 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                     logger.error(IoLogMessageConstant.FONT_PROPERTY_MUST_BE_PDF_FONT_OBJECT);
                 }
             }
-            GlyphLine newText = newFont.createGlyphLine(strToBeConverted);
-            newText = TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(newText, newFont);
+            GlyphLineCache cache = this.<GlyphLineCache>getProperty(Property.GLYPH_LINE_CACHE);
+            GlyphLine newText = cache == null ? null : cache.getConvertedText(strToBeConverted, newFont);
+            if (newText == null) {
+                newText = newFont.createGlyphLine(strToBeConverted);
+                newText = TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(newText, newFont);
+                if (cache != null) {
+                    cache.putConvertedText(strToBeConverted, newFont, newText);
+                }
+            }
             setProcessedGlyphLineAndFont(newText, newFont);
         }
     }
@@ -0,0 +1,133 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ElementXObjectTest extends ExtendedITextTest {
+
+    @Test
+    public void headerPlacedOnEveryPageTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        pdfDocument.setTagged();
+        Document document = new Document(pdfDocument, PageSize.A4, false);
+        document.add(new Paragraph("Page 1"));
+        document.add(new AreaBreak());
+        document.add(new Paragraph("Page 2"));
+        document.add(new AreaBreak());
+        document.add(new Paragraph("Page 3"));
+
+        ElementXObject header = new ElementXObject(new Div().add(new Paragraph("Monthly statement")),
+                document, new Rectangle(0, 0, 523, 100));
+        Assert.assertEquals(523, header.getOccupiedArea().getBBox().getWidth(), 1e-3);
+        Assert.assertTrue(header.getOccupiedArea().getBBox().getHeight() < 100);
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            header.placeAt(new PdfCanvas(pdfDocument.getPage(i)), 36, 800);
+        }
+        document.close();
+
+        try (PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            PdfDictionary headerXObject = null;
+            for (int i = 1; i <= resultDocument.getNumberOfPages(); i++) {
+                PdfDictionary xObjects = resultDocument.getPage(i).getResources().getResource(PdfName.XObject);
+                Assert.assertEquals(1, xObjects.size());
+                PdfDictionary xObject = xObjects.getAsStream(xObjects.keySet().iterator().next());
+                if (headerXObject == null) {
+                    headerXObject = xObject;
+                }
+                // the element is written to the document only once
+                Assert.assertSame(headerXObject, xObject);
+                // and is not a part of the structure tree
+                Assert.assertTrue(new String(resultDocument.getPage(i).getContentBytes()).contains("/Artifact BMC"));
+                String text = PdfTextExtractor.getTextFromPage(resultDocument.getPage(i));
+                Assert.assertTrue(text.contains("Monthly statement"));
+                Assert.assertTrue(text.contains("Page " + i));
+            }
+        }
+    }
+
+    @Test
+    public void elementDoesNotFitAreaTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Paragraph paragraph = new Paragraph("Too long to fit").setFontSize(30);
+
+        Exception e = Assert.assertThrows(PdfException.class,
+                () -> new ElementXObject(paragraph, pdfDocument, new Rectangle(0, 0, 50, 40)));
+        Assert.assertEquals(LayoutExceptionMessageConstant.ELEMENT_DOES_NOT_FIT_FORM_XOBJECT_AREA, e.getMessage());
+    }
+
+    @Test
+    public void placeInAnotherDocumentTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        ElementXObject stamp = new ElementXObject(new Paragraph("Stamp"), pdfDocument, new Rectangle(0, 0, 100, 100));
+
+        PdfDocument anotherDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfCanvas canvas = new PdfCanvas(anotherDocument.addNewPage());
+        Exception e = Assert.assertThrows(PdfException.class, () -> stamp.placeAt(canvas, 0, 0));
+        Assert.assertEquals(LayoutExceptionMessageConstant.FORM_XOBJECT_BELONGS_TO_ANOTHER_DOCUMENT, e.getMessage());
+    }
+}
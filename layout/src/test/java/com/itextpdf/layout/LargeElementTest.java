@@ -1330,6 +1330,39 @@ public class LargeElementTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
 
+    @Test
+    public void largeTableWithThickBorderTest() throws IOException, InterruptedException {
+        String testName = "largeTableWithThickBorderTest.pdf";
+        String outFileName = destinationFolder + testName;
+        String cmpFileName = sourceFolder + "cmp_" + testName;
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(outFileName));
+        Document doc = new Document(pdfDoc);
+
+        Table table = new Table(UnitValue.createPercentArray(4), true);
+        table.setBorder(new SolidBorder(ColorConstants.BLUE, 3));
+        table.addHeaderCell(new Cell(1, 4).add(new Paragraph("Header")));
+        doc.add(table);
+        for (int i = 0; i < 300; i++) {
+            for (int j = 0; j < 4; j++) {
+                Cell cell = new Cell().add(new Paragraph(MessageFormatUtil.format("Cell {0}, {1}", i + 1, j + 1)));
+                if (i % 7 == 0) {
+                    cell.setBorderLeft(new SolidBorder(ColorConstants.RED, 5));
+                }
+                table.addCell(cell);
+            }
+            if ((i + 1) % 100 == 0) {
+                table.flush();
+                // the flushed rows are no longer kept by the table
+                Assert.assertEquals(0, table.getNumberOfRows());
+            }
+        }
+        table.complete();
+
+        doc.close();
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
+    }
+
     @Test
     public void largeEmptyTableTest() throws IOException, InterruptedException {
         String testName = "largeEmptyTableTest.pdf";
@@ -0,0 +1,174 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FontSelectorCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void cacheSharedByProvidersTest() {
+        FontSelectorCache cache = new FontSelectorCache(createFontSet());
+        FontProvider provider1 = new FontProvider(cache, StandardFonts.HELVETICA);
+        FontProvider provider2 = new FontProvider(cache, StandardFonts.HELVETICA);
+
+        FontSelector selector = provider1.getFontSelector(Arrays.asList(StandardFonts.TIMES_ROMAN),
+                new FontCharacteristics());
+        Assert.assertSame(selector, provider2.getFontSelector(Arrays.asList(StandardFonts.TIMES_ROMAN),
+                new FontCharacteristics()));
+        Assert.assertSame(cache, provider2.getFontSelectorCache());
+        Assert.assertSame(cache.getFontSet(), provider2.getFontSet());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void selectorInvalidatedWhenFontSetChangesTest() {
+        FontSet fontSet = createFontSet();
+        FontSelectorCache cache = new FontSelectorCache(fontSet);
+        FontProvider provider = new FontProvider(cache, StandardFonts.HELVETICA);
+        FontSet additionalFonts = new FontSet();
+        additionalFonts.addFont(StandardFonts.COURIER);
+
+        FontSelector selector = provider.getFontSelector(Arrays.asList(StandardFonts.COURIER),
+                new FontCharacteristics());
+        FontSelector additionalSelector = provider.getFontSelector(Arrays.asList(StandardFonts.COURIER),
+                new FontCharacteristics(), additionalFonts);
+        Assert.assertNotSame(selector, additionalSelector);
+        Assert.assertEquals(StandardFonts.COURIER, additionalSelector.bestMatch().getDescriptor().getFontName());
+
+        fontSet.addFont(StandardFonts.COURIER);
+        FontSelector updatedSelector = provider.getFontSelector(Arrays.asList(StandardFonts.COURIER),
+                new FontCharacteristics());
+        Assert.assertNotSame(selector, updatedSelector);
+        Assert.assertEquals(StandardFonts.COURIER, updatedSelector.bestMatch().getDescriptor().getFontName());
+        Assert.assertNotSame(additionalSelector, provider.getFontSelector(Arrays.asList(StandardFonts.COURIER),
+                new FontCharacteristics(), additionalFonts));
+        Assert.assertEquals(4, cache.getMissCount());
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void cacheSizeIsBoundedTest() {
+        FontSelectorCache cache = new FontSelectorCache(createFontSet(), 2);
+        FontProvider provider = new FontProvider(cache, StandardFonts.HELVETICA);
+
+        for (String fontFamily : Arrays.asList(StandardFonts.HELVETICA, StandardFonts.TIMES_ROMAN,
+                StandardFonts.SYMBOL, StandardFonts.ZAPFDINGBATS)) {
+            provider.getFontSelector(Arrays.asList(fontFamily), new FontCharacteristics());
+            Assert.assertTrue(cache.size() <= 2);
+        }
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void keyIsNotAffectedByCharacteristicsChangeTest() {
+        FontSelectorCache cache = new FontSelectorCache(createFontSet());
+        FontProvider provider = new FontProvider(cache, StandardFonts.HELVETICA);
+        FontCharacteristics fc = new FontCharacteristics();
+
+        FontSelector selector = provider.getFontSelector(Arrays.asList(StandardFonts.TIMES_ROMAN), fc);
+        fc.setBoldFlag(true);
+        Assert.assertNotSame(selector, provider.getFontSelector(Arrays.asList(StandardFonts.TIMES_ROMAN), fc));
+        Assert.assertSame(selector, provider.getFontSelector(Arrays.asList(StandardFonts.TIMES_ROMAN),
+                new FontCharacteristics()));
+    }
+
+    @Test
+    public void concurrentAccessTest() throws InterruptedException, ExecutionException {
+        final FontSelectorCache cache = new FontSelectorCache(createFontSet());
+        final List<String> fontFamilies = Arrays.asList(StandardFonts.TIMES_ROMAN, StandardFonts.HELVETICA,
+                StandardFonts.SYMBOL);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<FontInfo>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final int index = i;
+                results.add(executor.submit(new Callable<FontInfo>() {
+                    @Override
+                    public FontInfo call() {
+                        FontProvider provider = new FontProvider(cache, StandardFonts.HELVETICA);
+                        String fontFamily = fontFamilies.get(index % fontFamilies.size());
+                        return provider.getFontSelector(Arrays.asList(fontFamily), new FontCharacteristics())
+                                .bestMatch();
+                    }
+                }));
+            }
+            FontProvider notSharedProvider = new FontProvider(cache.getFontSet());
+            for (int i = 0; i < results.size(); i++) {
+                String fontFamily = fontFamilies.get(i % fontFamilies.size());
+                Assert.assertEquals(notSharedProvider.getFontSelector(Arrays.asList(fontFamily),
+                        new FontCharacteristics()).bestMatch(), results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(100, cache.getHitCount() + cache.getMissCount());
+    }
+
+    private static FontSet createFontSet() {
+        FontSet fontSet = new FontSet();
+        fontSet.addFont(StandardFonts.HELVETICA);
+        fontSet.addFont(StandardFonts.TIMES_ROMAN);
+        fontSet.addFont(StandardFonts.SYMBOL);
+        fontSet.addFont(StandardFonts.ZAPFDINGBATS);
+        return fontSet;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.properties;
+
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void putGetAndRemoveTest() {
+        PropertyMap properties = new PropertyMap();
+        Assert.assertNull(properties.set(Property.WIDTH, "width"));
+        Assert.assertNull(properties.set(Property.ACTION, "action"));
+        Assert.assertNull(properties.set(Property.ALIGN_ITEMS, "align"));
+        Assert.assertNull(properties.set(Property.FONT_SIZE, null));
+
+        Assert.assertEquals(4, properties.size());
+        Assert.assertEquals("width", properties.get(Property.WIDTH));
+        Assert.assertEquals("align", properties.get(Integer.valueOf(Property.ALIGN_ITEMS)));
+        Assert.assertTrue(properties.containsKey(Property.FONT_SIZE));
+        Assert.assertNull(properties.get(Property.FONT_SIZE));
+        Assert.assertFalse(properties.containsKey(Property.HEIGHT));
+        Assert.assertFalse(properties.containsKey("width"));
+
+        Assert.assertEquals("width", properties.set(Property.WIDTH, "new width"));
+        Assert.assertEquals("new width", properties.get(Property.WIDTH));
+        Assert.assertEquals("action", properties.remove(Property.ACTION));
+        Assert.assertNull(properties.remove(Property.ACTION));
+        Assert.assertEquals(3, properties.size());
+        Assert.assertFalse(properties.containsKey(Property.ACTION));
+    }
+
+    @Test
+    public void keysAreIteratedInAscendingOrderTest() {
+        PropertyMap properties = new PropertyMap();
+        int[] keys = {Property.WIDTH, Property.ACTION, Property.ALIGN_ITEMS, Property.BORDER, 4096, -1};
+        for (int key : keys) {
+            properties.set(key, key);
+        }
+
+        int previous = Integer.MIN_VALUE;
+        for (Map.Entry<Integer, Object> entry : properties.entrySet()) {
+            Assert.assertTrue(entry.getKey() > previous);
+            Assert.assertEquals(entry.getKey(), entry.getValue());
+            previous = entry.getKey();
+        }
+        Assert.assertEquals(keys.length, properties.keySet().size());
+    }
+
+    @Test
+    public void iteratorRemoveAndSetValueTest() {
+        PropertyMap properties = new PropertyMap();
+        for (int i = 0; i < 10; i++) {
+            properties.set(i, i);
+        }
+
+        Iterator<Map.Entry<Integer, Object>> iterator = properties.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Object> entry = iterator.next();
+            if (entry.getKey() % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue("odd");
+            }
+        }
+
+        Assert.assertEquals(5, properties.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(i % 2 != 0, properties.containsKey(i));
+        }
+        Assert.assertEquals("odd", properties.get(9));
+    }
+
+    @Test
+    public void copyIsIndependentTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.set(Property.WIDTH, "width");
+        properties.set(Property.HEIGHT, "height");
+
+        PropertyMap copy = new PropertyMap(properties);
+        copy.set(Property.WIDTH, "new width");
+        copy.set(Property.ACTION, "action");
+        copy.remove(Property.HEIGHT);
+
+        Assert.assertEquals(2, properties.size());
+        Assert.assertEquals("width", properties.get(Property.WIDTH));
+        Assert.assertEquals("height", properties.get(Property.HEIGHT));
+        Assert.assertFalse(properties.containsKey(Property.ACTION));
+    }
+
+    @Test
+    public void equalToHashMapTest() {
+        Map<Integer, Object> hashMap = new HashMap<>();
+        hashMap.put(Property.WIDTH, "width");
+        hashMap.put(Property.HEIGHT, null);
+
+        PropertyMap properties = new PropertyMap(hashMap);
+        properties.putAll(hashMap);
+        Assert.assertEquals(hashMap, properties);
+        Assert.assertEquals(properties, hashMap);
+        Assert.assertEquals(hashMap.hashCode(), properties.hashCode());
+
+        properties.clear();
+        Assert.assertTrue(properties.isEmpty());
+        Assert.assertNull(properties.get(Property.WIDTH));
+    }
+
+    @Test
+    public void staticAccessorsTest() {
+        for (Map<Integer, Object> properties : new Map[] {new PropertyMap(), new HashMap<Integer, Object>()}) {
+            PropertyMap.setProperty(properties, Property.WIDTH, "width");
+            Assert.assertTrue(PropertyMap.containsProperty(properties, Property.WIDTH));
+            Assert.assertEquals("width", PropertyMap.getProperty(properties, Property.WIDTH));
+            PropertyMap.removeProperty(properties, Property.WIDTH);
+            Assert.assertFalse(PropertyMap.containsProperty(properties, Property.WIDTH));
+            Assert.assertNull(PropertyMap.getProperty(properties, Property.WIDTH));
+        }
+    }
+
+    @Test
+    public void customPropertiesMapTest() {
+        // the properties field is still declared as a Map, so subclasses may replace it with another map
+        Paragraph paragraph = new Paragraph() {
+            {
+                properties = new HashMap<>();
+            }
+        };
+        paragraph.setProperty(Property.WIDTH, "width");
+        Assert.assertTrue(paragraph.hasOwnProperty(Property.WIDTH));
+        Assert.assertEquals("width", paragraph.<String>getOwnProperty(Property.WIDTH));
+        paragraph.deleteOwnProperty(Property.WIDTH);
+        Assert.assertFalse(paragraph.hasOwnProperty(Property.WIDTH));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: iText Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class GlyphLineCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void repeatedTextIsConvertedOnceTest() throws IOException {
+        GlyphLineCache cache = new GlyphLineCache();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document document = new Document(pdfDocument);
+        document.setProperty(Property.GLYPH_LINE_CACHE, cache);
+        document.setFont(PdfFontFactory.createFont(StandardFonts.HELVETICA));
+        for (int i = 0; i < 10; i++) {
+            document.add(new Paragraph("Total"));
+        }
+        document.close();
+
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(9, cache.getHitCount());
+    }
+
+    @Test
+    public void cachedTextIsLaidOutTheSameWayTest() throws IOException {
+        GlyphLineCache cache = new GlyphLineCache();
+        byte[] withCache = createTable(cache);
+        byte[] withoutCache = createTable(null);
+
+        Assert.assertTrue(cache.getHitCount() > cache.getMissCount());
+        try (PdfDocument expected = new PdfDocument(new PdfReader(new ByteArrayInputStream(withoutCache)));
+                PdfDocument actual = new PdfDocument(new PdfReader(new ByteArrayInputStream(withCache)))) {
+            Assert.assertEquals(expected.getNumberOfPages(), actual.getNumberOfPages());
+            for (int i = 1; i <= expected.getNumberOfPages(); i++) {
+                Assert.assertArrayEquals(expected.getPage(i).getContentBytes(), actual.getPage(i).getContentBytes());
+            }
+        }
+    }
+
+    @Test
+    public void cachedGlyphLineIsNotAffectedByChangesTest() throws IOException {
+        GlyphLineCache cache = new GlyphLineCache();
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        GlyphLine glyphLine = font.createGlyphLine("abc");
+        cache.putConvertedText("abc", font, glyphLine);
+        glyphLine.add(font.getGlyph('d'));
+
+        GlyphLine cached = cache.getConvertedText("abc", font);
+        Assert.assertEquals(font.createGlyphLine("abc"), cached);
+        cached.set(0, new Glyph(font.getGlyph('x')));
+
+        Assert.assertEquals(font.createGlyphLine("abc"), cache.getConvertedText("abc", font));
+        Assert.assertNull(cache.getConvertedText("abc", PdfFontFactory.createFont(StandardFonts.COURIER)));
+    }
+
+    @Test
+    public void cacheSizeIsLimitedTest() throws IOException {
+        GlyphLineCache cache = new GlyphLineCache(2);
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        for (int i = 0; i < 5; i++) {
+            String text = String.valueOf(i);
+            cache.putConvertedText(text, font, font.createGlyphLine(text));
+        }
+
+        Assert.assertEquals(2, cache.getMaxSize());
+        Assert.assertEquals(2, cache.size());
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    private static byte[] createTable(GlyphLineCache cache) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        pdfDocument.getDocumentInfo().setProducer("");
+        Document document = new Document(pdfDocument);
+        if (cache != null) {
+            document.setProperty(Property.GLYPH_LINE_CACHE, cache);
+        }
+        FontProvider fontProvider = new FontProvider();
+        fontProvider.addStandardPdfFonts();
+        document.setFontProvider(fontProvider);
+        document.setFontFamily(StandardFonts.TIMES_ROMAN);
+
+        Table table = new Table(3);
+        for (int i = 0; i < 3; i++) {
+            table.addHeaderCell(new Cell().add(new Paragraph("Column " + i)));
+        }
+        for (int i = 0; i < 100; i++) {
+            table.addCell(new Cell().add(new Paragraph("Item " + i % 7)));
+            table.addCell(new Cell().add(new Paragraph("EUR")));
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(i % 5 * 100))));
+        }
+        document.add(table);
+        document.close();
+        return baos.toByteArray();
+    }
+}
@@ -73,6 +73,7 @@ import com.itextpdf.pdfa.checker.PdfA1Checker;
 import com.itextpdf.pdfa.checker.PdfA2Checker;
 import com.itextpdf.pdfa.checker.PdfA3Checker;
 import com.itextpdf.pdfa.checker.PdfAChecker;
+import com.itextpdf.pdfa.checker.PdfAValidationCache;
 import com.itextpdf.pdfa.exceptions.PdfAConformanceException;
 import com.itextpdf.pdfa.logs.PdfALogMessageConstant;
 
@@ -222,6 +223,27 @@ public class PdfADocument extends PdfDocument {
         return checker.getConformanceLevel();
     }
 
+    /**
+     * Sets the cache of the PDF/A validation results. The same cache may be shared between
+     * several documents, so that the statistics of the skipped checks are collected in one place.
+     * If the documents are processed concurrently, the cache shall be created as shared, see
+     * {@link PdfAValidationCache#PdfAValidationCache(boolean)}.
+     *
+     * @param validationCache the {@link PdfAValidationCache} to be used for this document
+     */
+    public void setValidationCache(PdfAValidationCache validationCache) {
+        checker.setValidationCache(validationCache);
+    }
+
+    /**
+     * Gets the cache of the PDF/A validation results used for this document.
+     *
+     * @return the {@link PdfAValidationCache} of this document
+     */
+    public PdfAValidationCache getValidationCache() {
+        return checker.getValidationCache();
+    }
+
     void logThatPdfAPageFlushingWasNotPerformed() {
         if (!alreadyLoggedThatPageFlushingWasNotPerformed) {
             alreadyLoggedThatPageFlushingWasNotPerformed = true;
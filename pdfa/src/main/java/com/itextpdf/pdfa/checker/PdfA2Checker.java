@@ -267,8 +267,8 @@ public class PdfA2Checker extends PdfA1Checker {
         }
 
         if (fill != null && colorSpace instanceof PdfCieBasedCs.IccBased) {
-            byte[] iccBytes = ((PdfArray) colorSpace.getPdfObject()).getAsStream(1).getBytes();
-            if (ICC_COLOR_SPACE_CMYK.equals(IccProfile.getIccColorSpaceName(iccBytes))) {
+            PdfStream iccStream = ((PdfArray) colorSpace.getPdfObject()).getAsStream(1);
+            if (ICC_COLOR_SPACE_CMYK.equals(getValidationCache().getIccColorSpaceName(iccStream))) {
                 if ((boolean) fill) {
                     currentFillCsIsIccBasedCMYK = true;
                 } else {
@@ -691,7 +691,7 @@ public class PdfA2Checker extends PdfA1Checker {
                 throw new PdfAConformanceException(PdfAConformanceException.PROFILE_STREAM_OF_OUTPUTINTENT_SHALL_BE_OUTPUT_PROFILE_PRTR_OR_MONITOR_PROFILE_MNTR);
             }
 
-            String cs = IccProfile.getIccColorSpaceName(((PdfStream) destOutputProfile).getBytes());
+            String cs = getValidationCache().getIccColorSpaceName((PdfStream) destOutputProfile);
             if (!ICC_COLOR_SPACE_RGB.equals(cs) && !ICC_COLOR_SPACE_CMYK.equals(cs) && !ICC_COLOR_SPACE_GRAY.equals(cs)) {
                 throw new PdfAConformanceException(PdfAConformanceException.OUTPUT_INTENT_COLOR_SPACE_SHALL_BE_EITHER_GRAY_RGB_OR_CMYK);
             }
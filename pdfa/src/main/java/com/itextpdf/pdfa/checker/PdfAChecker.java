@@ -43,7 +43,6 @@
  */
 package com.itextpdf.pdfa.checker;
 
-import com.itextpdf.io.colors.IccProfile;
 import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfTrueTypeFont;
@@ -63,7 +62,6 @@ import com.itextpdf.kernel.pdf.canvas.CanvasGraphicsState;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -144,8 +142,10 @@ public abstract class PdfAChecker {
      * that shall be checked are able to be changed) shouldn't be marked as checked if they are not to be
      * flushed immediately.
      */
-    protected Set<PdfObject> checkedObjects = new HashSet<>();
-    protected Map<PdfObject, PdfColorSpace> checkedObjectsColorspace = new HashMap<>();
+    protected Set<PdfObject> checkedObjects;
+    protected Map<PdfObject, PdfColorSpace> checkedObjectsColorspace;
+
+    private PdfAValidationCache validationCache;
 
     private boolean fullCheckMode = false;
 
@@ -156,6 +156,34 @@ public abstract class PdfAChecker {
      */
     protected PdfAChecker(PdfAConformanceLevel conformanceLevel) {
         this.conformanceLevel = conformanceLevel;
+        this.validationCache = new PdfAValidationCache();
+        this.checkedObjects = validationCache.getValidatedObjects();
+        this.checkedObjectsColorspace = validationCache.getImageColorSpaces();
+    }
+
+    /**
+     * Gets the cache of the validation results of this checker.
+     *
+     * @return the {@link PdfAValidationCache} used by this checker
+     */
+    public PdfAValidationCache getValidationCache() {
+        return validationCache;
+    }
+
+    /**
+     * Sets the cache of the validation results. The same cache may be shared between the checkers
+     * of several documents. If the checkers are used concurrently, the cache shall be created as shared,
+     * see {@link PdfAValidationCache#PdfAValidationCache(boolean)}. The objects already checked
+     * by this checker are added to the cache.
+     *
+     * @param validationCache the {@link PdfAValidationCache} to be used by this checker
+     */
+    public void setValidationCache(PdfAValidationCache validationCache) {
+        validationCache.getValidatedObjects().addAll(checkedObjects);
+        validationCache.getImageColorSpaces().putAll(checkedObjectsColorspace);
+        this.validationCache = validationCache;
+        this.checkedObjects = validationCache.getValidatedObjects();
+        this.checkedObjectsColorspace = validationCache.getImageColorSpaces();
     }
 
     /**
@@ -663,11 +691,7 @@ public abstract class PdfAChecker {
      * @return true if the specified dictionary was checked
      */
     protected boolean isAlreadyChecked(PdfDictionary dictionary) {
-        if (checkedObjects.contains(dictionary)) {
-            return true;
-        }
-        checkedObjects.add(dictionary);
-        return false;
+        return !validationCache.markValidated(dictionary);
     }
 
     /**
@@ -827,7 +851,7 @@ public abstract class PdfAChecker {
         if (outputIntent != null) {
             PdfStream destOutputProfile = outputIntent.getAsStream(PdfName.DestOutputProfile);
             if (destOutputProfile != null) {
-                String intentCS = IccProfile.getIccColorSpaceName(destOutputProfile.getBytes());
+                String intentCS = validationCache.getIccColorSpaceName(destOutputProfile);
                 this.pdfAOutputIntentColorSpace = intentCS;
             }
         }
@@ -0,0 +1,195 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.pdfa.checker;
+
+import com.itextpdf.io.colors.IccProfile;
+import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfStream;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the PDF/A validation results of shared resources such as fonts, color spaces,
+ * images and form XObjects.
+ * <p>
+ * The objects are only weakly referenced, so the cache doesn't prevent flushed objects or closed
+ * documents from being garbage collected. The objects are looked up with their {@code equals} method,
+ * which for the cached dictionaries and streams means by identity.
+ * <p>
+ * The cache can be shared between several {@link com.itextpdf.pdfa.PdfADocument} instances,
+ * see {@link PdfAChecker#setValidationCache(PdfAValidationCache)}. It is only thread-safe if it is
+ * created as shared, see {@link #PdfAValidationCache(boolean)}, which is required when the documents
+ * sharing it are processed concurrently.
+ */
+public class PdfAValidationCache {
+    private final boolean shared;
+    private final Set<PdfObject> validatedObjects;
+    private final Map<PdfObject, PdfColorSpace> imageColorSpaces;
+    private final Map<PdfStream, String> iccColorSpaceNames;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates a cache, which is not synchronized, to be used by the documents processed on a single thread.
+     */
+    public PdfAValidationCache() {
+        this(false);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param shared true if the cache is shared by the documents which are processed concurrently,
+     *               so that the access to it is synchronized, false otherwise
+     */
+    public PdfAValidationCache(boolean shared) {
+        this.shared = shared;
+        Map<PdfObject, Boolean> validatedObjectsMap = new WeakHashMap<>();
+        Map<PdfObject, PdfColorSpace> imageColorSpacesMap = new WeakHashMap<>();
+        Map<PdfStream, String> iccColorSpaceNamesMap = new WeakHashMap<>();
+        if (shared) {
+            validatedObjectsMap = Collections.synchronizedMap(validatedObjectsMap);
+            imageColorSpacesMap = Collections.synchronizedMap(imageColorSpacesMap);
+            iccColorSpaceNamesMap = Collections.synchronizedMap(iccColorSpaceNamesMap);
+        }
+        this.validatedObjects = Collections.newSetFromMap(validatedObjectsMap);
+        this.imageColorSpaces = imageColorSpacesMap;
+        this.iccColorSpaceNames = iccColorSpaceNamesMap;
+    }
+
+    /**
+     * Checks whether the access to the cache is synchronized, so that it can be used concurrently.
+     *
+     * @return true if the cache is shared between concurrently processed documents, false otherwise
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Gets the number of the objects, which are recorded as validated.
+     *
+     * @return the number of the validated objects
+     */
+    public int size() {
+        return validatedObjects.size();
+    }
+
+    /**
+     * Gets the number of the checks, which have been skipped because the object had already been validated.
+     *
+     * @return the number of the cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of the checks, which have been performed because the object hadn't been validated yet.
+     *
+     * @return the number of the cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Removes all the validation results from the cache.
+     * <p>
+     * Note, that the objects which are no longer recorded as validated can't be flushed
+     * by a {@link com.itextpdf.pdfa.PdfADocument} before they are checked again.
+     */
+    public void clear() {
+        validatedObjects.clear();
+        imageColorSpaces.clear();
+        iccColorSpaceNames.clear();
+    }
+
+    /**
+     * Records the object as validated.
+     *
+     * @param object the validated object
+     * @return true if the object hasn't been validated before, false otherwise
+     */
+    boolean markValidated(PdfObject object) {
+        if (validatedObjects.add(object)) {
+            missCount.incrementAndGet();
+            return true;
+        }
+        hitCount.incrementAndGet();
+        return false;
+    }
+
+    Set<PdfObject> getValidatedObjects() {
+        return validatedObjects;
+    }
+
+    Map<PdfObject, PdfColorSpace> getImageColorSpaces() {
+        return imageColorSpaces;
+    }
+
+    /**
+     * Gets the color space name of the ICC profile. The profile is only read once for each profile stream.
+     *
+     * @param iccStream the stream of the ICC profile
+     * @return the color space name of the ICC profile
+     */
+    String getIccColorSpaceName(PdfStream iccStream) {
+        String colorSpaceName = iccColorSpaceNames.get(iccStream);
+        if (colorSpaceName != null) {
+            hitCount.incrementAndGet();
+            return colorSpaceName;
+        }
+        missCount.incrementAndGet();
+        colorSpaceName = IccProfile.getIccColorSpaceName(iccStream.getBytes());
+        iccColorSpaceNames.put(iccStream, colorSpaceName);
+        return colorSpaceName;
+    }
+}
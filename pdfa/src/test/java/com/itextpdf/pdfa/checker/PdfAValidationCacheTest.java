@@ -0,0 +1,153 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.pdfa.checker;
+
+import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PdfAValidationCacheTest extends ExtendedITextTest {
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/pdfa/color/";
+
+    @Test
+    public void formXObjectIsValidatedOnceTest() {
+        PdfA2Checker checker = new PdfA2Checker(PdfAConformanceLevel.PDF_A_2B);
+        PdfStream form = createFormXObject();
+        PdfDictionary resources = createResources(form);
+
+        checker.checkResources(resources);
+        checker.checkResources(resources);
+
+        PdfAValidationCache cache = checker.getValidationCache();
+        Assert.assertTrue(checker.objectIsChecked(form));
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void iccProfileIsReadOnceTest() throws IOException {
+        PdfA2Checker checker = new PdfA2Checker(PdfAConformanceLevel.PDF_A_2B);
+        PdfStream iccStream = new PdfStream(Files.readAllBytes(Paths.get(sourceFolder + "sRGB_CS_profile.icm")));
+        PdfColorSpace colorSpace = PdfColorSpace.makeColorSpace(
+                new PdfArray(Arrays.<PdfObject>asList(PdfName.ICCBased, iccStream)));
+
+        checker.checkColorSpace(colorSpace, null, true, true);
+        checker.checkColorSpace(colorSpace, null, true, false);
+
+        PdfAValidationCache cache = checker.getValidationCache();
+        Assert.assertEquals("RGB ", cache.getIccColorSpaceName(iccStream));
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void cacheIsSharedBetweenCheckersTest() {
+        PdfA2Checker firstChecker = new PdfA2Checker(PdfAConformanceLevel.PDF_A_2B);
+        PdfA2Checker secondChecker = new PdfA2Checker(PdfAConformanceLevel.PDF_A_2B);
+        PdfStream firstForm = createFormXObject();
+        PdfStream secondForm = createFormXObject();
+
+        firstChecker.checkResources(createResources(firstForm));
+        secondChecker.checkResources(createResources(secondForm));
+        PdfAValidationCache cache = new PdfAValidationCache(true);
+        firstChecker.setValidationCache(cache);
+        secondChecker.setValidationCache(cache);
+
+        Assert.assertSame(cache, secondChecker.getValidationCache());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertTrue(secondChecker.objectIsChecked(firstForm));
+
+        secondChecker.checkResources(createResources(firstForm));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void cacheIsOnlySynchronizedIfSharedTest() {
+        Assert.assertFalse(new PdfA2Checker(PdfAConformanceLevel.PDF_A_2B).getValidationCache().isShared());
+        Assert.assertFalse(new PdfAValidationCache().isShared());
+        Assert.assertTrue(new PdfAValidationCache(true).isShared());
+    }
+
+    @Test
+    public void clearCacheTest() {
+        PdfA2Checker checker = new PdfA2Checker(PdfAConformanceLevel.PDF_A_2B);
+        PdfStream form = createFormXObject();
+        checker.checkResources(createResources(form));
+
+        checker.getValidationCache().clear();
+
+        Assert.assertEquals(0, checker.getValidationCache().size());
+        Assert.assertFalse(checker.objectIsChecked(form));
+    }
+
+    private static PdfStream createFormXObject() {
+        PdfStream form = new PdfStream();
+        form.put(PdfName.Subtype, PdfName.Form);
+        return form;
+    }
+
+    private static PdfDictionary createResources(PdfStream form) {
+        PdfDictionary xObjects = new PdfDictionary();
+        xObjects.put(new PdfName("Fm1"), form);
+        PdfDictionary resources = new PdfDictionary();
+        resources.put(PdfName.XObject, xObjects);
+        return resources;
+    }
+}
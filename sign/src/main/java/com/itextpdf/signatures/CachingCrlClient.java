@@ -0,0 +1,144 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.kernel.exceptions.PdfException;
+
+import java.io.ByteArrayInputStream;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link ICrlClient} which caches the CRLs provided by another {@link ICrlClient}, e.g. {@link CrlClientOnline},
+ * in a {@link RevocationDataCache}. The CRLs are cached per issuer of the checked certificate and the CRL url,
+ * i.e. the passed url or, if it is null, the one from the CRL distribution points of the certificate,
+ * until their nextUpdate time.
+ * <p>
+ * The cache key doesn't identify the wrapped client, so a cache shall not be shared by the clients which wrap
+ * the clients returning different CRLs for the same issuer and url, e.g. different {@link CrlClientOffline}
+ * instances.
+ */
+public class CachingCrlClient implements ICrlClient {
+
+    private final ICrlClient crlClient;
+    private final RevocationDataCache cache;
+
+    /**
+     * Creates a {@link CachingCrlClient}.
+     *
+     * @param crlClient the client to request the CRLs which are not cached
+     * @param cache     the cache to store the CRLs in, it can be shared by several clients
+     *                  which wrap equivalent clients
+     */
+    public CachingCrlClient(ICrlClient crlClient, RevocationDataCache cache) {
+        this.crlClient = crlClient;
+        this.cache = cache;
+    }
+
+    /**
+     * Gets the cache the CRLs are stored in.
+     *
+     * @return the cache of the revocation data
+     */
+    public RevocationDataCache getCache() {
+        return cache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<byte[]> getEncoded(X509Certificate checkCert, String url) {
+        if (checkCert == null) {
+            return crlClient.getEncoded(checkCert, url);
+        }
+        RevocationDataCache.CacheEntry entry = getEntry(checkCert, url);
+        return entry != null ? entry.getEncoded() : null;
+    }
+
+    /**
+     * Gets the parsed CRLs for the certificate. The CRLs from the cache are parsed only once, so their
+     * revocation lookup structures are reused as well.
+     *
+     * @param checkCert the certificate which a CRL URL can be obtained from
+     * @param url       a CRL url if you don't want to obtain it from the certificate
+     * @return the list of the CRLs, empty if there are none
+     */
+    public List<X509CRL> getCrls(X509Certificate checkCert, String url) {
+        RevocationDataCache.CacheEntry entry = checkCert != null ? getEntry(checkCert, url) : null;
+        if (entry == null) {
+            return new ArrayList<>();
+        }
+        if (entry.getCrls() != null) {
+            return entry.getCrls();
+        }
+        List<X509CRL> crls = new ArrayList<>(entry.getEncoded().size());
+        try {
+            for (byte[] encodedCrl : entry.getEncoded()) {
+                crls.add((X509CRL) SignUtils.parseCrlFromStream(new ByteArrayInputStream(encodedCrl)));
+            }
+        } catch (Exception e) {
+            throw new PdfException(e);
+        }
+        return crls;
+    }
+
+    private RevocationDataCache.CacheEntry getEntry(X509Certificate checkCert, String url) {
+        // partitioned CRLs of the same issuer are only told apart by the distribution point of the certificate
+        String crlUrl = url != null ? url : CertificateUtil.getCRLURL(checkCert);
+        String key = checkCert.getIssuerX500Principal().getName() + "|" + crlUrl;
+        RevocationDataCache.CacheEntry entry = cache.getCrls(key);
+        if (entry == null) {
+            Collection<byte[]> encodedCrls = crlClient.getEncoded(checkCert, url);
+            if (encodedCrls == null || encodedCrls.isEmpty()) {
+                return null;
+            }
+            entry = cache.putCrls(key, new ArrayList<>(encodedCrls));
+        }
+        return entry;
+    }
+}
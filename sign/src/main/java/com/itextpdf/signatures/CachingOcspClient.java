@@ -0,0 +1,103 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import java.security.cert.X509Certificate;
+
+/**
+ * {@link IOcspClient} which caches the OCSP responses provided by another {@link IOcspClient},
+ * e.g. {@link OcspClientBouncyCastle}, in a {@link RevocationDataCache}. The responses are cached per checked
+ * certificate, its issuer and the passed url, until their nextUpdate time. Note, that a cached response is
+ * returned for all the requests until then, so it doesn't match the nonce of the later requests.
+ * <p>
+ * The cache key doesn't identify the wrapped client, so a cache shall not be shared by the clients which wrap
+ * the clients returning different responses for the same certificate and url.
+ */
+public class CachingOcspClient implements IOcspClient {
+
+    private final IOcspClient ocspClient;
+    private final RevocationDataCache cache;
+
+    /**
+     * Creates a {@link CachingOcspClient}.
+     *
+     * @param ocspClient the client to request the OCSP responses which are not cached
+     * @param cache      the cache to store the OCSP responses in, it can be shared by several clients
+     *                   which wrap equivalent clients
+     */
+    public CachingOcspClient(IOcspClient ocspClient, RevocationDataCache cache) {
+        this.ocspClient = ocspClient;
+        this.cache = cache;
+    }
+
+    /**
+     * Gets the cache the OCSP responses are stored in.
+     *
+     * @return the cache of the revocation data
+     */
+    public RevocationDataCache getCache() {
+        return cache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getEncoded(X509Certificate checkCert, X509Certificate issuerCert, String url) {
+        if (checkCert == null || issuerCert == null) {
+            return ocspClient.getEncoded(checkCert, issuerCert, url);
+        }
+        String key = issuerCert.getSubjectX500Principal().getName() + "|"
+                + checkCert.getSerialNumber().toString(16) + "|" + url;
+        RevocationDataCache.CacheEntry entry = cache.getOcspResponse(key);
+        if (entry != null) {
+            return entry.getEncoded().get(0);
+        }
+        byte[] encodedResponse = ocspClient.getEncoded(checkCert, issuerCert, url);
+        if (encodedResponse != null) {
+            cache.putOcspResponse(key, encodedResponse);
+        }
+        return encodedResponse;
+    }
+}
@@ -0,0 +1,379 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDeveloperExtension;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.signatures.PdfSigner.CryptoStandard;
+import com.itextpdf.signatures.exceptions.SignExceptionMessageConstant;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Signs many documents with the same certificate chain using the detached mode, CMS or CAdES equivalent.
+ * <p>
+ * The documents are signed in batches. The documents of a batch are prepared for signing, i.e. the space
+ * for the signature is reserved and the digest of the signed data is calculated, in parallel on the executor.
+ * Then the data to be signed of all the documents of the batch are passed to the {@link IExternalBatchSignature}
+ * in a single call and finally the resultant signatures are embedded into the documents, again in parallel.
+ * This is the same as {@link PdfSigner#signExternalContainer(IExternalSignatureContainer, int)} followed by
+ * {@link PdfSigner#signDeferred(PdfDocument, String, OutputStream, IExternalSignatureContainer)}, but the
+ * signing itself is done once per batch instead of once per document.
+ * <p>
+ * The prepared documents of a batch are kept in memory until the batch is signed, so the batch size also
+ * bounds the memory used.
+ */
+public class PdfBatchSigner {
+
+    /**
+     * The default number of documents which are signed in a single call of the {@link IExternalBatchSignature}.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final ExecutorService executor;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Creates a batch signer which prepares and signs the documents on the specified executor.
+     * The executor is not shut down by the batch signer.
+     *
+     * @param executor the executor to prepare and to sign the documents on
+     */
+    public PdfBatchSigner(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the number of documents which are signed in a single call of the {@link IExternalBatchSignature}.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of documents which are signed in a single call of the {@link IExternalBatchSignature}.
+     *
+     * @param batchSize the batch size, shall be positive
+     * @return this {@link PdfBatchSigner} instance
+     * @throws IllegalArgumentException if the batch size is less than 1
+     */
+    public PdfBatchSigner setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                    MessageFormatUtil.format(SignExceptionMessageConstant.BATCH_SIZE_SHALL_BE_POSITIVE, batchSize));
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Signs the documents using the detached mode, CMS or CAdES equivalent.
+     * <p>
+     * The CRLs and the OCSP responses are requested once for all the documents. The digest, OCSP and
+     * Timestamp clients are called on the executor threads, so they shall be thread-safe.
+     * This method returns when all the documents have been signed. If any of them fails, the rest
+     * of the batch is still awaited and then the first occurred exception is rethrown.
+     *
+     * @param documents         the documents to be signed
+     * @param externalDigest    an implementation that provides the digest
+     * @param externalSignature the interface providing the actual signing
+     * @param chain             the certificate chain
+     * @param crlList           the CRL list
+     * @param ocspClient        the OCSP client
+     * @param tsaClient         the Timestamp client
+     * @param estimatedSize     the reserved size for the signature. It will be estimated if 0
+     * @param sigtype           Either Signature.CMS or Signature.CADES
+     * @throws IOException              if some I/O problem occurs
+     * @throws GeneralSecurityException if some problem during apply security algorithms occurs
+     */
+    public void signDetached(List<? extends IBatchSigningDocument> documents, IExternalDigest externalDigest,
+            IExternalBatchSignature externalSignature, Certificate[] chain, Collection<ICrlClient> crlList,
+            IOcspClient ocspClient, ITSAClient tsaClient, int estimatedSize, CryptoStandard sigtype)
+            throws IOException, GeneralSecurityException {
+        Collection<byte[]> crlBytes = null;
+        int i = 0;
+        while (crlBytes == null && i < chain.length) {
+            crlBytes = PdfSigner.getCrlBytes(chain[i++], crlList);
+        }
+        if (estimatedSize == 0) {
+            estimatedSize = PdfSigner.estimateSignatureSize(crlBytes, ocspClient, tsaClient);
+        }
+        List<byte[]> ocspList = PdfSigner.getOcspResponses(chain, ocspClient);
+        SigningParameters parameters = new SigningParameters(externalDigest, externalSignature, chain, crlBytes,
+                ocspList, tsaClient, estimatedSize, sigtype);
+
+        for (int start = 0; start < documents.size(); start += batchSize) {
+            List<? extends IBatchSigningDocument> batch =
+                    documents.subList(start, Math.min(start + batchSize, documents.size()));
+            signBatch(batch, parameters);
+        }
+    }
+
+    private void signBatch(List<? extends IBatchSigningDocument> batch, SigningParameters parameters)
+            throws IOException, GeneralSecurityException {
+        List<Future<PreparedDocument>> preparations = new ArrayList<>(batch.size());
+        for (IBatchSigningDocument document : batch) {
+            preparations.add(executor.submit(new PreparationTask(document, parameters)));
+        }
+        List<PreparedDocument> preparedDocuments = getResults(preparations);
+
+        List<byte[]> messages = new ArrayList<>(preparedDocuments.size());
+        for (PreparedDocument preparedDocument : preparedDocuments) {
+            messages.add(preparedDocument.authenticatedAttributes);
+        }
+        List<byte[]> signatures = parameters.externalSignature.sign(messages);
+        if (signatures == null || signatures.size() != messages.size()) {
+            throw new PdfException(SignExceptionMessageConstant.BATCH_SIGNATURE_RETURNED_UNEXPECTED_NUMBER_OF_SIGNATURES)
+                    .setMessageParams(signatures == null ? 0 : signatures.size(), messages.size());
+        }
+
+        List<Future<PreparedDocument>> embeddings = new ArrayList<>(preparedDocuments.size());
+        for (int i = 0; i < preparedDocuments.size(); ++i) {
+            embeddings.add(executor.submit(new EmbeddingTask(preparedDocuments.get(i), signatures.get(i), parameters)));
+        }
+        getResults(embeddings);
+    }
+
+    /*
+     * Awaits all the tasks, so that none of them is running after the batch has failed,
+     * and rethrows the first occurred exception.
+     */
+    private static List<PreparedDocument> getResults(List<Future<PreparedDocument>> tasks)
+            throws IOException, GeneralSecurityException {
+        List<PreparedDocument> results = new ArrayList<>(tasks.size());
+        Exception failure = null;
+        for (Future<PreparedDocument> task : tasks) {
+            try {
+                results.add(task.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new PdfException(SignExceptionMessageConstant.CANNOT_SIGN_DOCUMENT_IN_BATCH, e);
+                }
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception
+                            ? (Exception) e.getCause()
+                            : new PdfException(SignExceptionMessageConstant.CANNOT_SIGN_DOCUMENT_IN_BATCH, e.getCause());
+                }
+            }
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof GeneralSecurityException) {
+            throw (GeneralSecurityException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure != null) {
+            throw new PdfException(SignExceptionMessageConstant.CANNOT_SIGN_DOCUMENT_IN_BATCH, failure);
+        }
+        return results;
+    }
+
+    private static final class SigningParameters {
+        final IExternalDigest externalDigest;
+        final IExternalBatchSignature externalSignature;
+        final Certificate[] chain;
+        final Collection<byte[]> crlBytes;
+        final List<byte[]> ocspList;
+        final ITSAClient tsaClient;
+        final int estimatedSize;
+        final CryptoStandard sigtype;
+
+        SigningParameters(IExternalDigest externalDigest, IExternalBatchSignature externalSignature,
+                Certificate[] chain, Collection<byte[]> crlBytes, List<byte[]> ocspList, ITSAClient tsaClient,
+                int estimatedSize, CryptoStandard sigtype) {
+            this.externalDigest = externalDigest;
+            this.externalSignature = externalSignature;
+            this.chain = chain;
+            this.crlBytes = crlBytes;
+            this.ocspList = ocspList;
+            this.tsaClient = tsaClient;
+            this.estimatedSize = estimatedSize;
+            this.sigtype = sigtype;
+        }
+    }
+
+    private static final class PreparedDocument {
+        final IBatchSigningDocument document;
+        final byte[] preparedBytes;
+        final String fieldName;
+        final PdfPKCS7 pkcs7;
+        final byte[] hash;
+        final byte[] authenticatedAttributes;
+
+        PreparedDocument(IBatchSigningDocument document, byte[] preparedBytes, String fieldName, PdfPKCS7 pkcs7,
+                byte[] hash, byte[] authenticatedAttributes) {
+            this.document = document;
+            this.preparedBytes = preparedBytes;
+            this.fieldName = fieldName;
+            this.pkcs7 = pkcs7;
+            this.hash = hash;
+            this.authenticatedAttributes = authenticatedAttributes;
+        }
+    }
+
+    /* Reserves the space for the signature and calculates the data to be signed */
+    private static final class PreparationTask implements Callable<PreparedDocument> {
+        private final IBatchSigningDocument document;
+        private final SigningParameters parameters;
+
+        PreparationTask(IBatchSigningDocument document, SigningParameters parameters) {
+            this.document = document;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public PreparedDocument call() throws Exception {
+            ByteArrayOutputStream preparedDocument = new ByteArrayOutputStream();
+            PdfSigner signer = document.createSigner(preparedDocument);
+            signer.getSignatureAppearance().setCertificate(parameters.chain[0]);
+            if (parameters.sigtype == CryptoStandard.CADES && !signer.isDocumentPdf2()) {
+                signer.addDeveloperExtension(PdfDeveloperExtension.ESIC_1_7_EXTENSIONLEVEL2);
+            }
+            String hashAlgorithm = parameters.externalSignature.getHashAlgorithm();
+            DigestingSignatureContainer container = new DigestingSignatureContainer(
+                    parameters.sigtype == CryptoStandard.CADES ? PdfName.ETSI_CAdES_DETACHED : PdfName.Adbe_pkcs7_detached,
+                    hashAlgorithm, parameters.externalDigest);
+            signer.signExternalContainer(container, parameters.estimatedSize);
+
+            PdfPKCS7 sgn = new PdfPKCS7(null, parameters.chain, hashAlgorithm, null, parameters.externalDigest, false);
+            byte[] sh = sgn.getAuthenticatedAttributeBytes(container.hash, parameters.sigtype, parameters.ocspList,
+                    parameters.crlBytes);
+            return new PreparedDocument(document, preparedDocument.toByteArray(), signer.getFieldName(), sgn,
+                    container.hash, sh);
+        }
+    }
+
+    /* Embeds the signature into the prepared document */
+    private static final class EmbeddingTask implements Callable<PreparedDocument> {
+        private final PreparedDocument preparedDocument;
+        private final byte[] signature;
+        private final SigningParameters parameters;
+
+        EmbeddingTask(PreparedDocument preparedDocument, byte[] signature, SigningParameters parameters) {
+            this.preparedDocument = preparedDocument;
+            this.signature = signature;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public PreparedDocument call() throws Exception {
+            PdfPKCS7 sgn = preparedDocument.pkcs7;
+            sgn.setExternalDigest(signature, null, parameters.externalSignature.getEncryptionAlgorithm());
+            byte[] encodedSig = sgn.getEncodedPKCS7(preparedDocument.hash, parameters.sigtype, parameters.tsaClient,
+                    parameters.ocspList, parameters.crlBytes);
+
+            PdfDocument document = new PdfDocument(
+                    new PdfReader(new ByteArrayInputStream(preparedDocument.preparedBytes)));
+            OutputStream outs = preparedDocument.document.getSignedDocumentOutputStream();
+            try {
+                PdfSigner.signDeferred(document, preparedDocument.fieldName, outs,
+                        new EncodedSignatureContainer(encodedSig));
+            } finally {
+                document.close();
+                outs.close();
+            }
+            return preparedDocument;
+        }
+    }
+
+    /* Provides the already encoded signature */
+    private static final class EncodedSignatureContainer extends ExternalBlankSignatureContainer {
+        private final byte[] encodedSig;
+
+        EncodedSignatureContainer(byte[] encodedSig) {
+            super(new PdfDictionary());
+            this.encodedSig = encodedSig;
+        }
+
+        @Override
+        public byte[] sign(InputStream data) {
+            return encodedSig;
+        }
+    }
+
+    /* Calculates the digest of the signed data, leaving the signature itself blank */
+    private static final class DigestingSignatureContainer extends ExternalBlankSignatureContainer {
+        private final String hashAlgorithm;
+        private final IExternalDigest externalDigest;
+        private byte[] hash;
+
+        DigestingSignatureContainer(PdfName subFilter, String hashAlgorithm, IExternalDigest externalDigest) {
+            super(PdfName.Adobe_PPKLite, subFilter);
+            this.hashAlgorithm = hashAlgorithm;
+            this.externalDigest = externalDigest;
+        }
+
+        @Override
+        public byte[] sign(InputStream data) throws GeneralSecurityException {
+            try {
+                hash = DigestAlgorithms.digest(data, SignUtils.getMessageDigest(hashAlgorithm, externalDigest));
+            } catch (IOException e) {
+                throw new PdfException(e);
+            }
+            return super.sign(data);
+        }
+    }
+}
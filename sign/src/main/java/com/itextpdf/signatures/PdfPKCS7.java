@@ -766,6 +766,33 @@ public class PdfPKCS7 {
         }
     }
 
+    /**
+     * Gets a copy of the digest fed by {@link #update(byte[], int, int)} in its current state.
+     *
+     * @return the copy of the digest or {@code null} if the data is fed directly to the signature
+     * or the digest doesn't support cloning
+     */
+    MessageDigest cloneMessageDigest() {
+        if (rsaData != null || digestAttr != null || isTsp) {
+            try {
+                return (MessageDigest) messageDigest.clone();
+            } catch (CloneNotSupportedException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the digest fed by {@link #update(byte[], int, int)}, e.g. with the one which has
+     * already been updated with the beginning of the signed data.
+     *
+     * @param messageDigest the digest to be used for the signed data
+     */
+    void setMessageDigest(MessageDigest messageDigest) {
+        this.messageDigest = messageDigest;
+    }
+
     // adbe.x509.rsa_sha1 (PKCS#1)
 
     /**
@@ -227,6 +227,11 @@ public class PdfSigner {
      */
     protected boolean closed;
 
+    /**
+     * Output stream which digests the document while it is written (can be null).
+     */
+    private RangeDigestOutputStream rangeDigestOutputStream;
+
     /**
      * Creates a PdfSigner instance. Uses a {@link java.io.ByteArrayOutputStream} instead of a temporary file.
      *
@@ -262,6 +267,42 @@ public class PdfSigner {
         }
 
         originalOS = outputStream;
+        initSignatureProperties();
+    }
+
+    /**
+     * Creates a PdfSigner instance which writes the signed PDF file directly to the output file and
+     * digests the document while it is written. The signature is put into the output file in place,
+     * so no temporary copy of the document is needed.
+     * <p>
+     * Only the bytes written before the signature dictionary are digested while written, the rest is read back
+     * from the output file as usual. In append mode that is just the incremental update, so almost nothing is read
+     * back. Without append mode the whole document is written after the signature dictionary, so it is still
+     * read back almost completely and only the temporary copy is saved.
+     * <p>
+     * The streamed digest is used by {@link #signDetached} and {@link #timestamp(ITSAClient, String)}
+     * if they use the same hash algorithm, otherwise the document is read back as usual.
+     *
+     * @param reader         PdfReader that reads the PDF file
+     * @param outputPath     the path of the signed PDF file
+     * @param hashAlgorithm  the hash algorithm which will be used for the signature
+     * @param externalDigest an implementation that provides the digest
+     * @param properties     {@link StampingProperties} for the signing document. Note that encryption will be
+     *                       preserved regardless of what is set in properties.
+     * @throws IOException              if some I/O problem occurs
+     * @throws GeneralSecurityException if the digest for the hash algorithm cannot be created
+     */
+    public PdfSigner(PdfReader reader, String outputPath, String hashAlgorithm, IExternalDigest externalDigest,
+            StampingProperties properties) throws IOException, GeneralSecurityException {
+        StampingProperties localProps = new StampingProperties(properties).preserveEncryption();
+        this.tempFile = new File(outputPath);
+        rangeDigestOutputStream = new RangeDigestOutputStream(FileUtil.getFileOutputStream(tempFile),
+                SignUtils.getMessageDigest(hashAlgorithm, externalDigest), hashAlgorithm);
+        document = initDocument(reader, new PdfWriter(rangeDigestOutputStream), localProps);
+        initSignatureProperties();
+    }
+
+    private void initSignatureProperties() {
         signDate = DateTimeUtil.getCurrentTimeCalendar();
         fieldName = getNewSigFieldName();
         appearance = new PdfSignatureAppearance(document, new Rectangle(0, 0), 1);
@@ -270,6 +311,15 @@ public class PdfSigner {
         closed = false;
     }
 
+    /**
+     * Gets the stream which digests the document while it is written.
+     *
+     * @return the digesting stream, or null if the document is not digested while written
+     */
+    RangeDigestOutputStream getRangeDigestOutputStream() {
+        return rangeDigestOutputStream;
+    }
+
     protected PdfDocument initDocument(PdfReader reader, PdfWriter writer, StampingProperties properties) {
         PdfAConformanceLevel conformanceLevel = reader.getPdfAConformanceLevel();
         if (null == conformanceLevel) {
@@ -577,18 +627,7 @@ public class PdfSigner {
             crlBytes = processCrl(chain[i++], crlList);
         }
         if (estimatedSize == 0) {
-            estimatedSize = 8192;
-            if (crlBytes != null) {
-                for (byte[] element : crlBytes) {
-                    estimatedSize += element.length + 10;
-                }
-            }
-            if (ocspClient != null) {
-                estimatedSize += 4192;
-            }
-            if (tsaClient != null) {
-                estimatedSize += 4192;
-            }
+            estimatedSize = estimateSignatureSize(crlBytes, ocspClient, tsaClient);
         }
         PdfSignatureAppearance appearance = getSignatureAppearance();
         appearance.setCertificate(chain[0]);
@@ -614,17 +653,14 @@ public class PdfSigner {
         if (signaturePolicy != null) {
             sgn.setSignaturePolicy(signaturePolicy);
         }
-        InputStream data = getRangeStream();
-        byte[] hash = DigestAlgorithms.digest(data, SignUtils.getMessageDigest(hashAlgorithm, externalDigest));
-        List<byte[]> ocspList = new ArrayList<>();
-        if (chain.length > 1 && ocspClient != null) {
-            for (int j = 0; j < chain.length - 1; ++j) {
-                byte[] ocsp = ocspClient.getEncoded((X509Certificate) chain[j], (X509Certificate) chain[j + 1], null);
-                if (ocsp != null) {
-                    ocspList.add(ocsp);
-                }
-            }
+        byte[] hash;
+        if (rangeDigestOutputStream != null && rangeDigestOutputStream.canDigest(range, hashAlgorithm)) {
+            hash = rangeDigestOutputStream.digest(range, getUnderlyingSource());
+        } else {
+            InputStream data = getRangeStream();
+            hash = DigestAlgorithms.digest(data, SignUtils.getMessageDigest(hashAlgorithm, externalDigest));
         }
+        List<byte[]> ocspList = getOcspResponses(chain, ocspClient);
         byte[] sh = sgn.getAuthenticatedAttributeBytes(hash, sigtype, ocspList, crlBytes);
         byte[] extSignature = externalSignature.sign(sh);
         sgn.setExternalDigest(extSignature, null, externalSignature.getEncryptionAlgorithm());
@@ -723,14 +759,20 @@ public class PdfSigner {
         Map<PdfName, Integer> exc = new HashMap<>();
         exc.put(PdfName.Contents, contentEstimated * 2 + 2);
         preClose(exc);
-        InputStream data = getRangeStream();
         MessageDigest messageDigest = tsa.getMessageDigest();
-        byte[] buf = new byte[4096];
-        int n;
-        while ((n = data.read(buf)) > 0) {
-            messageDigest.update(buf, 0, n);
+        byte[] tsImprint;
+        if (rangeDigestOutputStream != null
+                && rangeDigestOutputStream.canDigest(range, messageDigest.getAlgorithm())) {
+            tsImprint = rangeDigestOutputStream.digest(range, getUnderlyingSource());
+        } else {
+            InputStream data = getRangeStream();
+            byte[] buf = new byte[4096];
+            int n;
+            while ((n = data.read(buf)) > 0) {
+                messageDigest.update(buf, 0, n);
+            }
+            tsImprint = messageDigest.digest();
         }
-        byte[] tsImprint = messageDigest.digest();
         byte[] tsToken;
         try {
             tsToken = tsa.getTimeStampToken(tsImprint);
@@ -815,6 +857,21 @@ public class PdfSigner {
      * @return a collection of CRL bytes that can be embedded in a PDF
      */
     protected Collection<byte[]> processCrl(Certificate cert, Collection<ICrlClient> crlList) {
+        return getCrlBytes(cert, crlList);
+    }
+
+    protected void addDeveloperExtension(PdfDeveloperExtension extension) {
+        document.getCatalog().addDeveloperExtension(extension);
+    }
+
+    /**
+     * Collects the CRLs of the certificate from all the CRL clients.
+     *
+     * @param cert    a Certificate if one of the CrlList implementations needs to retrieve the CRL URL from it.
+     * @param crlList a list of CrlClient implementations
+     * @return a collection of CRL bytes that can be embedded in a PDF or null if there are no CRLs
+     */
+    static Collection<byte[]> getCrlBytes(Certificate cert, Collection<ICrlClient> crlList) {
         if (crlList == null) {
             return null;
         }
@@ -832,8 +889,48 @@ public class PdfSigner {
         return crlBytes.size() == 0 ? null : crlBytes;
     }
 
-    protected void addDeveloperExtension(PdfDeveloperExtension extension) {
-        document.getCatalog().addDeveloperExtension(extension);
+    /**
+     * Gets the OCSP responses for all the certificates of the chain except the root one.
+     *
+     * @param chain      the certificate chain
+     * @param ocspClient the OCSP client or null
+     * @return the list of the OCSP responses, empty if there are none
+     */
+    static List<byte[]> getOcspResponses(Certificate[] chain, IOcspClient ocspClient) {
+        List<byte[]> ocspList = new ArrayList<>();
+        if (chain.length > 1 && ocspClient != null) {
+            for (int j = 0; j < chain.length - 1; ++j) {
+                byte[] ocsp = ocspClient.getEncoded((X509Certificate) chain[j], (X509Certificate) chain[j + 1], null);
+                if (ocsp != null) {
+                    ocspList.add(ocsp);
+                }
+            }
+        }
+        return ocspList;
+    }
+
+    /**
+     * Estimates the space to be reserved for a detached signature.
+     *
+     * @param crlBytes   the CRLs to be embedded or null
+     * @param ocspClient the OCSP client or null
+     * @param tsaClient  the Timestamp client or null
+     * @return the estimated size of the signature
+     */
+    static int estimateSignatureSize(Collection<byte[]> crlBytes, IOcspClient ocspClient, ITSAClient tsaClient) {
+        int estimatedSize = 8192;
+        if (crlBytes != null) {
+            for (byte[] element : crlBytes) {
+                estimatedSize += element.length + 10;
+            }
+        }
+        if (ocspClient != null) {
+            estimatedSize += 4192;
+        }
+        if (tsaClient != null) {
+            estimatedSize += 4192;
+        }
+        return estimatedSize;
     }
 
     /**
@@ -909,6 +1006,12 @@ public class PdfSigner {
             document.getCatalog().put(PdfName.Perms, docmdp);
             document.getCatalog().setModified();
         }
+        if (rangeDigestOutputStream != null) {
+            // everything written before the signature dictionary is digested while being written; in append mode
+            // it's the original document, otherwise most of the document is only written on closing
+            document.getWriter().flush();
+            rangeDigestOutputStream.pause();
+        }
         cryptoDictionary.getPdfObject().flush(false);
         document.close();
 
@@ -1274,7 +1377,7 @@ public class PdfSigner {
         return pageNumber;
     }
 
-    private boolean isDocumentPdf2() {
+    boolean isDocumentPdf2() {
         return document.getPdfVersion().compareTo(PdfVersion.PDF_2_0) >= 0;
     }
 
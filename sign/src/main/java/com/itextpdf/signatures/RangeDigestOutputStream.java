@@ -0,0 +1,174 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.RASInputStream;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * An output stream which digests the bytes of a document while they are written.
+ * <p>
+ * The byte ranges of a signature are only known after the signature dictionary is written,
+ * that is why digesting is paused right before it. Everything written before that point
+ * is already digested and doesn't need to be read back, only the remaining part of the
+ * byte ranges is read from the written document, see {@link #digest(long[], IRandomAccessSource)}.
+ */
+class RangeDigestOutputStream extends FilterOutputStream {
+    private final MessageDigest messageDigest;
+    private final String hashAlgorithm;
+    private long position;
+    private long pausedPosition = -1;
+    private long readBackLength = -1;
+
+    /**
+     * Creates a new {@link RangeDigestOutputStream} instance.
+     *
+     * @param out           the stream to which the document is written
+     * @param messageDigest the digest to be updated with the written bytes
+     * @param hashAlgorithm the name of the hash algorithm of the digest
+     */
+    RangeDigestOutputStream(OutputStream out, MessageDigest messageDigest, String hashAlgorithm) {
+        super(out);
+        this.messageDigest = messageDigest;
+        this.hashAlgorithm = hashAlgorithm;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        if (pausedPosition < 0) {
+            messageDigest.update((byte) b);
+        }
+        ++position;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        if (pausedPosition < 0) {
+            messageDigest.update(b, off, len);
+        }
+        position += len;
+    }
+
+    /**
+     * Stops digesting of the written bytes. All the bytes written after this call
+     * are read from the written document when the digest is calculated.
+     */
+    void pause() {
+        if (pausedPosition < 0) {
+            pausedPosition = position;
+        }
+    }
+
+    /**
+     * Gets the position at which digesting has been paused.
+     *
+     * @return the number of digested bytes, or -1 if digesting has not been paused
+     */
+    long getPausedPosition() {
+        return pausedPosition;
+    }
+
+    /**
+     * Gets the number of bytes which have been read back from the written document to finish the digest.
+     *
+     * @return the number of read bytes, or -1 if {@link #digest(long[], IRandomAccessSource)} has not been called
+     */
+    long getReadBackLength() {
+        return readBackLength;
+    }
+
+    /**
+     * Checks whether the digest of the written bytes can be used for the given algorithm and byte ranges.
+     * It can't be used if digesting wasn't paused before the first excluded part of the document.
+     *
+     * @param range         the byte ranges to be digested as pairs of offset and length
+     * @param hashAlgorithm the name of the requested hash algorithm
+     * @return true if {@link #digest(long[], IRandomAccessSource)} can be used, false otherwise
+     */
+    boolean canDigest(long[] range, String hashAlgorithm) {
+        if (pausedPosition < 0 || range == null || range.length < 2 || range[0] != 0
+                || pausedPosition > range[1]) {
+            return false;
+        }
+        String allowedDigest = DigestAlgorithms.getAllowedDigest(hashAlgorithm);
+        return allowedDigest != null && allowedDigest.equals(DigestAlgorithms.getAllowedDigest(this.hashAlgorithm));
+    }
+
+    /**
+     * Finishes the digest of the given byte ranges. Only the part of the ranges after the point
+     * where digesting was paused is read from the source.
+     *
+     * @param range  the byte ranges to be digested as pairs of offset and length
+     * @param source the source of the written document
+     * @return the digest of the byte ranges
+     * @throws IOException if some I/O problem occurs
+     */
+    byte[] digest(long[] range, IRandomAccessSource source) throws IOException {
+        long[] remainingRange = new long[range.length];
+        int size = 0;
+        readBackLength = 0;
+        for (int k = 0; k < range.length; k += 2) {
+            long end = range[k] + range[k + 1];
+            if (end <= pausedPosition) {
+                continue;
+            }
+            long start = Math.max(range[k], pausedPosition);
+            remainingRange[size++] = start;
+            remainingRange[size++] = end - start;
+            readBackLength += end - start;
+        }
+        RandomAccessSourceFactory fac = new RandomAccessSourceFactory();
+        IRandomAccessSource remainingSource = fac.createRanged(source, Arrays.copyOf(remainingRange, size));
+        return DigestAlgorithms.digest(new RASInputStream(remainingSource), messageDigest);
+    }
+}
@@ -0,0 +1,386 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.commons.utils.DateTimeUtil;
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.signatures.logs.SignLogMessageConstant;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.cert.X509CRL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ocsp.BasicOCSPResponse;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.SingleResp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the revocation data, i.e. CRLs and OCSP responses, used by {@link CachingCrlClient}
+ * and {@link CachingOcspClient}.
+ * <p>
+ * The revocation data is cached until its nextUpdate time, the data without nextUpdate time or
+ * with thisUpdate time in the future is never cached. The CRLs are kept parsed, so that they
+ * can be checked without being parsed again.
+ * <p>
+ * The cache is thread-safe, so a single instance can be shared by all the clients which are used
+ * for the documents signed with the certificates of the same issuers. The entries are keyed by the certificates
+ * and the urls only, so one instance shall not be shared by the caching clients which wrap the clients returning
+ * different data for the same key, e.g. different {@link CrlClientOffline} instances. The number of cached entries
+ * is limited, if the limit is reached, arbitrary entries are evicted to give place to the new ones.
+ * Optionally the revocation data can also be stored in a directory, so that it survives restarts
+ * and can be shared by several processes.
+ */
+public class RevocationDataCache {
+
+    /**
+     * The default maximum number of the cached entries.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevocationDataCache.class);
+
+    private static final String CRL_KEY_PREFIX = "crl|";
+    private static final String OCSP_KEY_PREFIX = "ocsp|";
+
+    private final int maxSize;
+    private final File directory;
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates a new in-memory instance of {@link RevocationDataCache} with the
+     * {@link #DEFAULT_MAX_SIZE default maximum size}.
+     */
+    public RevocationDataCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new in-memory instance of {@link RevocationDataCache}.
+     *
+     * @param maxSize the maximum number of the cached entries
+     */
+    public RevocationDataCache(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * Creates a new instance of {@link RevocationDataCache} which also stores the revocation data
+     * in the specified directory. The entries, which are not in memory, are looked up in the directory
+     * before the revocation data is requested.
+     *
+     * @param maxSize       the maximum number of the entries cached in memory
+     * @param directoryPath the path to the directory to store the revocation data in or null
+     *                      to keep the revocation data in memory only
+     */
+    public RevocationDataCache(int maxSize, String directoryPath) {
+        this.maxSize = Math.max(maxSize, 1);
+        this.directory = directoryPath != null ? new File(directoryPath) : null;
+    }
+
+    /**
+     * Gets the maximum number of the entries cached in memory.
+     *
+     * @return the maximum size of the cache
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of the entries cached in memory.
+     *
+     * @return the size of the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of the lookups, which have found valid revocation data in the cache.
+     *
+     * @return the number of the cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of the lookups, which have not found valid revocation data in the cache,
+     * so the revocation data had to be requested.
+     *
+     * @return the number of the cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Removes all the entries cached in memory. The revocation data stored in the directory is kept.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    CacheEntry getCrls(String key) {
+        return get(CRL_KEY_PREFIX + key, true);
+    }
+
+    CacheEntry putCrls(String key, List<byte[]> encodedCrls) {
+        return put(CRL_KEY_PREFIX + key, encodedCrls, true);
+    }
+
+    CacheEntry getOcspResponse(String key) {
+        return get(OCSP_KEY_PREFIX + key, false);
+    }
+
+    CacheEntry putOcspResponse(String key, byte[] encodedResponse) {
+        return put(OCSP_KEY_PREFIX + key, Collections.singletonList(encodedResponse), false);
+    }
+
+    private CacheEntry get(String key, boolean crl) {
+        Date now = DateTimeUtil.getCurrentTimeDate();
+        CacheEntry entry = entries.get(key);
+        if (entry != null && !entry.isValid(now)) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null && directory != null) {
+            List<byte[]> encoded = readFromDirectory(key);
+            entry = encoded != null ? createEntry(encoded, crl, now) : null;
+            if (entry != null) {
+                putToMemory(key, entry);
+            }
+        }
+        if (entry != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /* Returns the entry for the revocation data, it's not cached, if the data can't be validated by time */
+    private CacheEntry put(String key, List<byte[]> encoded, boolean crl) {
+        CacheEntry entry = createEntry(encoded, crl, DateTimeUtil.getCurrentTimeDate());
+        if (entry == null) {
+            return new CacheEntry(encoded, null, null);
+        }
+        putToMemory(key, entry);
+        if (directory != null) {
+            writeToDirectory(key, encoded);
+        }
+        return entry;
+    }
+
+    private void putToMemory(String key, CacheEntry entry) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict();
+        }
+        entries.put(key, entry);
+    }
+
+    private void evict() {
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static CacheEntry createEntry(List<byte[]> encoded, boolean crl, Date now) {
+        try {
+            return crl ? createCrlEntry(encoded, now) : createOcspEntry(encoded.get(0), now);
+        } catch (Exception e) {
+            // the data which can't be parsed is passed through, but not cached
+            return null;
+        }
+    }
+
+    private static CacheEntry createCrlEntry(List<byte[]> encoded, Date now) throws Exception {
+        List<X509CRL> crls = new ArrayList<>(encoded.size());
+        Date expirationDate = null;
+        for (byte[] encodedCrl : encoded) {
+            X509CRL crl = (X509CRL) SignUtils.parseCrlFromStream(new ByteArrayInputStream(encodedCrl));
+            expirationDate = getExpirationDate(expirationDate, crl.getThisUpdate(), crl.getNextUpdate(), now);
+            if (expirationDate == null) {
+                return null;
+            }
+            crls.add(crl);
+        }
+        return new CacheEntry(encoded, crls, expirationDate);
+    }
+
+    private static CacheEntry createOcspEntry(byte[] encoded, Date now) throws Exception {
+        BasicOCSPResp response = new BasicOCSPResp(BasicOCSPResponse.getInstance(ASN1Primitive.fromByteArray(encoded)));
+        Date expirationDate = null;
+        for (SingleResp singleResponse : response.getResponses()) {
+            expirationDate = getExpirationDate(expirationDate, singleResponse.getThisUpdate(),
+                    singleResponse.getNextUpdate(), now);
+            if (expirationDate == null) {
+                return null;
+            }
+        }
+        return new CacheEntry(Collections.singletonList(encoded), null, expirationDate);
+    }
+
+    private static Date getExpirationDate(Date expirationDate, Date thisUpdate, Date nextUpdate, Date now) {
+        if (nextUpdate == null || !now.before(nextUpdate) || (thisUpdate != null && now.before(thisUpdate))) {
+            return null;
+        }
+        return expirationDate == null || nextUpdate.before(expirationDate) ? nextUpdate : expirationDate;
+    }
+
+    private List<byte[]> readFromDirectory(String key) {
+        File file = getFile(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            // the key is stored to guard against the collisions of the file names
+            if (!key.equals(in.readUTF())) {
+                return null;
+            }
+            int count = in.readInt();
+            List<byte[]> encoded = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                encoded.add(bytes);
+            }
+            return encoded;
+        } catch (IOException e) {
+            LOGGER.warn(MessageFormatUtil.format(SignLogMessageConstant.REVOCATION_DATA_CANNOT_BE_READ_FROM_DISK_CACHE,
+                    file.getPath(), e.getMessage()));
+            return null;
+        }
+    }
+
+    private void writeToDirectory(String key, List<byte[]> encoded) {
+        File file = getFile(key);
+        // the data is written to a temporary file first, so that the readers never see a partially written file
+        File tempFile = new File(directory, file.getName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+                throw new IOException("Cannot create the directory " + directory.getPath());
+            }
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(tempFile))) {
+                out.writeUTF(key);
+                out.writeInt(encoded.size());
+                for (byte[] bytes : encoded) {
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            if ((!file.exists() || file.delete()) && !tempFile.renameTo(file)) {
+                throw new IOException("Cannot rename " + tempFile.getPath());
+            }
+        } catch (IOException e) {
+            LOGGER.warn(MessageFormatUtil.format(SignLogMessageConstant.REVOCATION_DATA_CANNOT_BE_WRITTEN_TO_DISK_CACHE,
+                    file.getPath(), e.getMessage()));
+        } finally {
+            if (tempFile.exists()) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    private File getFile(String key) {
+        try {
+            MessageDigest digest = SignUtils.getMessageDigest(DigestAlgorithms.SHA256);
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            return new File(directory, new BigInteger(1, hash).toString(16) + ".rev");
+        } catch (Exception e) {
+            // SHA-256 is always available
+            return new File(directory, Integer.toHexString(key.hashCode()) + ".rev");
+        }
+    }
+
+    /**
+     * The cached revocation data along with the parsed CRLs.
+     */
+    static final class CacheEntry {
+        private final List<byte[]> encoded;
+        private final List<X509CRL> crls;
+        private final Date expirationDate;
+
+        CacheEntry(List<byte[]> encoded, List<X509CRL> crls, Date expirationDate) {
+            this.encoded = Collections.unmodifiableList(encoded);
+            this.crls = crls != null ? Collections.unmodifiableList(crls) : null;
+            this.expirationDate = expirationDate;
+        }
+
+        List<byte[]> getEncoded() {
+            return encoded;
+        }
+
+        /* Returns null if the CRLs haven't been parsed, because they can't be validated by time */
+        List<X509CRL> getCrls() {
+            return crls;
+        }
+
+        boolean isValid(Date now) {
+            return expirationDate != null && now.before(expirationDate);
+        }
+    }
+}
@@ -66,12 +66,16 @@ import com.itextpdf.signatures.exceptions.SignExceptionMessageConstant;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.SignatureException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * Utility class that provides several convenience methods concerning digital signatures.
@@ -140,6 +144,59 @@ public class SignatureUtil {
         if (signature == null) {
             return null;
         }
+        PdfPKCS7 pk = createPkcs7(signature, securityProvider);
+        updateByteRange(pk, signature);
+        return pk;
+    }
+
+    /**
+     * Prepares {@link PdfPKCS7} instances for all the signatures of the document,
+     * see {@link #readSignatureData(String)}.
+     * <p>
+     * Instead of reading and digesting the /ByteRange of each signature separately, the document is read
+     * only once and the digests of the signatures, which share the same beginning of the signed data, are
+     * taken from the copies of a common digest. This considerably reduces the cost of verification
+     * of documents with many incremental signatures.
+     *
+     * @return the map of signature field names to {@link PdfPKCS7} instances in the order of
+     * {@link #getSignatureNames()}
+     */
+    public Map<String, PdfPKCS7> readAllSignaturesData() {
+        return readAllSignaturesData(null);
+    }
+
+    /**
+     * Prepares {@link PdfPKCS7} instances for all the signatures of the document,
+     * see {@link #readSignatureData(String, String)}.
+     * <p>
+     * Instead of reading and digesting the /ByteRange of each signature separately, the document is read
+     * only once and the digests of the signatures, which share the same beginning of the signed data, are
+     * taken from the copies of a common digest. This considerably reduces the cost of verification
+     * of documents with many incremental signatures.
+     *
+     * @param securityProvider the security provider or null for the default provider
+     * @return the map of signature field names to {@link PdfPKCS7} instances in the order of
+     * {@link #getSignatureNames()}
+     */
+    public Map<String, PdfPKCS7> readAllSignaturesData(String securityProvider) {
+        Map<String, PdfPKCS7> signaturesData = new LinkedHashMap<>();
+        List<ByteRangeDigest> digests = new ArrayList<>();
+        for (String signatureName : getSignatureNames()) {
+            PdfSignature signature = getSignature(signatureName);
+            PdfPKCS7 pk = createPkcs7(signature, securityProvider);
+            long[] ranges = getSortedRanges(signature.getByteRange());
+            if (ranges == null) {
+                updateByteRange(pk, signature);
+            } else {
+                digests.add(new ByteRangeDigest(pk, ranges));
+            }
+            signaturesData.put(signatureName, pk);
+        }
+        updateByteRanges(digests);
+        return signaturesData;
+    }
+
+    private PdfPKCS7 createPkcs7(PdfSignature signature, String securityProvider) {
         try {
             PdfName sub = signature.getSubFilter();
             PdfString contents = signature.getContents();
@@ -154,7 +211,6 @@ public class SignatureUtil {
             } else {
                 pk = new PdfPKCS7(PdfEncodings.convertToBytes(contents.getValue(), null), sub, securityProvider);
             }
-            updateByteRange(pk, signature);
             PdfString date = signature.getDate();
             if (date != null) {
                 pk.setSignDate(PdfDate.decode(date.toString()));
@@ -224,6 +280,121 @@ public class SignatureUtil {
         }
     }
 
+    /*
+     * Converts the /ByteRange to the array of the [start, end) pairs, skipping the empty ranges.
+     * Returns null if the ranges aren't ascending or exceed the file, so that the data can't be read in one pass.
+     */
+    private long[] getSortedRanges(PdfArray byteRange) {
+        long[] byteRangeValues = byteRange.toLongArray();
+        long fileLength = document.getReader().getFileLength();
+        List<Long> ranges = new ArrayList<>();
+        long previousEnd = 0;
+        for (int i = 0; i + 1 < byteRangeValues.length; i += 2) {
+            long start = byteRangeValues[i];
+            long end = start + byteRangeValues[i + 1];
+            if (start < previousEnd || end < start || end > fileLength) {
+                return null;
+            }
+            if (end > start) {
+                ranges.add(start);
+                ranges.add(end);
+                previousEnd = end;
+            }
+        }
+        long[] result = new long[ranges.size()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = (long) ranges.get(i);
+        }
+        return result;
+    }
+
+    /* Reads the document once, updating each signature with the parts of the data covered by its /ByteRange */
+    private void updateByteRanges(List<ByteRangeDigest> digests) {
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (ByteRangeDigest digest : digests) {
+            for (long boundary : digest.ranges) {
+                boundaries.add(boundary);
+            }
+        }
+        if (boundaries.isEmpty()) {
+            return;
+        }
+        List<SharedDigest> sharedDigests = createSharedDigests(digests);
+        IRandomAccessSource source = document.getReader().getSafeFile().createSourceView();
+        try {
+            byte[] buf = new byte[8192];
+            long position = boundaries.first();
+            long end = boundaries.last();
+            while (position < end) {
+                // Chunks never cross a boundary, so each of them either belongs to a range or not as a whole
+                int len = (int) Math.min(buf.length, boundaries.higher(position) - position);
+                int rd = source.get(position, buf, 0, len);
+                if (rd <= 0) {
+                    break;
+                }
+                for (SharedDigest sharedDigest : sharedDigests) {
+                    if (position < sharedDigest.end) {
+                        sharedDigest.messageDigest.update(buf, 0, rd);
+                    }
+                }
+                for (ByteRangeDigest digest : digests) {
+                    digest.update(position, buf, rd);
+                }
+                position += rd;
+                for (ByteRangeDigest digest : digests) {
+                    if (digest.sharedDigest != null && digest.ranges[1] == position) {
+                        digest.pkcs7.setMessageDigest((MessageDigest) digest.sharedDigest.messageDigest.clone());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new PdfException(e);
+        } finally {
+            try {
+                source.close();
+            } catch (IOException e) {
+                // this really shouldn't ever happen - the source view we use is based on a Safe view, which is a no-op anyway
+                throw new PdfException(e);
+            }
+        }
+    }
+
+    /*
+     * Signatures, which sign the data from the beginning of the file with the same digest algorithm,
+     * share the digest of the file up to the end of their first range.
+     */
+    private static List<SharedDigest> createSharedDigests(List<ByteRangeDigest> digests) {
+        Map<String, List<ByteRangeDigest>> digestsByAlgorithm = new LinkedHashMap<>();
+        Map<String, MessageDigest> initialDigests = new HashMap<>();
+        for (ByteRangeDigest digest : digests) {
+            MessageDigest messageDigest = digest.ranges.length > 0 && digest.ranges[0] == 0
+                    ? digest.pkcs7.cloneMessageDigest()
+                    : null;
+            if (messageDigest == null) {
+                continue;
+            }
+            String key = messageDigest.getAlgorithm() + "/" + messageDigest.getProvider();
+            if (!digestsByAlgorithm.containsKey(key)) {
+                digestsByAlgorithm.put(key, new ArrayList<ByteRangeDigest>());
+                initialDigests.put(key, messageDigest);
+            }
+            digestsByAlgorithm.get(key).add(digest);
+        }
+        List<SharedDigest> sharedDigests = new ArrayList<>();
+        for (Map.Entry<String, List<ByteRangeDigest>> entry : digestsByAlgorithm.entrySet()) {
+            if (entry.getValue().size() < 2) {
+                continue;
+            }
+            SharedDigest sharedDigest = new SharedDigest(initialDigests.get(entry.getKey()));
+            for (ByteRangeDigest digest : entry.getValue()) {
+                digest.sharedDigest = sharedDigest;
+                sharedDigest.end = Math.max(sharedDigest.end, digest.ranges[1]);
+            }
+            sharedDigests.add(sharedDigest);
+        }
+        return sharedDigests;
+    }
+
     /**
      * Gets the field names that have signatures and are signed.
      *
@@ -395,6 +566,41 @@ public class SignatureUtil {
         }
     }
 
+    private static class SharedDigest {
+        private final MessageDigest messageDigest;
+        private long end;
+
+        SharedDigest(MessageDigest messageDigest) {
+            this.messageDigest = messageDigest;
+        }
+    }
+
+    private static class ByteRangeDigest {
+        private final PdfPKCS7 pkcs7;
+        private final long[] ranges;
+        private SharedDigest sharedDigest;
+        private int currentRange = 0;
+
+        ByteRangeDigest(PdfPKCS7 pkcs7, long[] ranges) {
+            this.pkcs7 = pkcs7;
+            this.ranges = ranges;
+        }
+
+        void update(long position, byte[] buf, int len) throws SignatureException {
+            while (currentRange < ranges.length && ranges[currentRange + 1] <= position) {
+                currentRange += 2;
+            }
+            if (currentRange >= ranges.length || position < ranges[currentRange]) {
+                return;
+            }
+            // The first range is digested by the shared digest, if any
+            if (currentRange == 0 && sharedDigest != null) {
+                return;
+            }
+            pkcs7.update(buf, 0, len);
+        }
+    }
+
     private static class ContentsChecker extends PdfReader {
 
         private long contentsStart;
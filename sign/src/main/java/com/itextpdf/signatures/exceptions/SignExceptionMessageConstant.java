@@ -30,11 +30,15 @@ public final class SignExceptionMessageConstant {
             + "the digest.";
     public static final String AVAILABLE_SPACE_IS_NOT_ENOUGH_FOR_SIGNATURE = "Available space is not enough for "
             + "signature.";
+    public static final String BATCH_SIGNATURE_RETURNED_UNEXPECTED_NUMBER_OF_SIGNATURES = "Batch signature "
+            + "returned {0} signatures for {1} messages.";
+    public static final String BATCH_SIZE_SHALL_BE_POSITIVE = "Batch size shall be a positive integer, but was {0}.";
     public static final String CANNOT_DECODE_PKCS7_SIGNED_DATA_OBJECT = "Cannot decode PKCS#7 SignedData object.";
     public static final String CANNOT_FIND_SIGNING_CERTIFICATE_WITH_THIS_SERIAL = "Cannot find signing certificate "
             + "with serial {0}.";
     public static final String CANNOT_BE_VERIFIED_CERTIFICATE_CHAIN = "Cannot be verified against the KeyStore or the "
             + "certificate chain.";
+    public static final String CANNOT_SIGN_DOCUMENT_IN_BATCH = "Cannot sign the document in the batch.";
     public static final String CERTIFICATION_SIGNATURE_CREATION_FAILED_DOC_SHALL_NOT_CONTAIN_SIGS = "Certification "
             + "signature creation failed. Document shall not contain any certification or approval signatures before "
             + "signing with certification signature.";
@@ -30,6 +30,12 @@ public final class SignLogMessageConstant {
     public static final String EXCEPTION_WITHOUT_MESSAGE =
             "Unexpected exception without message was thrown during keystore processing";
 
+    public static final String REVOCATION_DATA_CANNOT_BE_READ_FROM_DISK_CACHE =
+            "Revocation data cannot be read from the disk cache file {0}: {1}";
+
+    public static final String REVOCATION_DATA_CANNOT_BE_WRITTEN_TO_DISK_CACHE =
+            "Revocation data cannot be written to the disk cache file {0}: {1}";
+
     private SignLogMessageConstant() {
         // Private constructor will prevent the instantiation of this class directly
     }
@@ -0,0 +1,164 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.StampingProperties;
+import com.itextpdf.signatures.testutils.client.TestTsaClient;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import com.itextpdf.test.signutils.Pkcs12FileHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.util.Arrays;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfSignerStreamingDigestTest extends ExtendedITextTest {
+    private static final String certsSrc = "./src/test/resources/com/itextpdf/signatures/certs/";
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/signatures/PdfSignerStreamingDigestTest/";
+    private static final String destinationFolder = "./target/test/com/itextpdf/signatures/PdfSignerStreamingDigestTest/";
+
+    private static final char[] password = "testpass".toCharArray();
+
+    @BeforeClass
+    public static void before() {
+        Security.addProvider(new BouncyCastleProvider());
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void signInAppendModeTest() throws IOException, GeneralSecurityException {
+        String outFileName = destinationFolder + "signInAppendMode.pdf";
+        PdfSigner signer = sign(outFileName, DigestAlgorithms.SHA256, DigestAlgorithms.SHA256,
+                new StampingProperties().useAppendMode());
+
+        checkSignedDoc(outFileName, "Signature1");
+        // the original document is digested while being written, only the incremental update is read back
+        RangeDigestOutputStream digestStream = signer.getRangeDigestOutputStream();
+        Assert.assertTrue(digestStream.getPausedPosition() >= new File(sourceFolder + "helloWorldDoc.pdf").length());
+        checkStreamedDigest(digestStream, outFileName, "Signature1");
+    }
+
+    @Test
+    public void signWithoutAppendModeTest() throws IOException, GeneralSecurityException {
+        String outFileName = destinationFolder + "signWithoutAppendMode.pdf";
+        PdfSigner signer = sign(outFileName, DigestAlgorithms.SHA256, DigestAlgorithms.SHA256,
+                new StampingProperties());
+
+        checkSignedDoc(outFileName, "Signature1");
+        checkStreamedDigest(signer.getRangeDigestOutputStream(), outFileName, "Signature1");
+    }
+
+    @Test
+    public void signWithAnotherHashAlgorithmTest() throws IOException, GeneralSecurityException {
+        String outFileName = destinationFolder + "signWithAnotherHashAlgorithm.pdf";
+        PdfSigner signer = sign(outFileName, DigestAlgorithms.SHA256, DigestAlgorithms.SHA512,
+                new StampingProperties().useAppendMode());
+
+        checkSignedDoc(outFileName, "Signature1");
+        // the streamed digest can't be used, so the whole document is read back
+        Assert.assertEquals(-1, signer.getRangeDigestOutputStream().getReadBackLength());
+    }
+
+    @Test
+    public void timestampInAppendModeTest() throws IOException, GeneralSecurityException {
+        String outFileName = destinationFolder + "timestampInAppendMode.pdf";
+        String tsaCertFileName = certsSrc + "tsCertRsa.p12";
+        Certificate[] tsaChain = Pkcs12FileHelper.readFirstChain(tsaCertFileName, password);
+        PrivateKey tsaPrivateKey = Pkcs12FileHelper.readFirstKey(tsaCertFileName, password, password);
+
+        PdfSigner signer = new PdfSigner(new PdfReader(sourceFolder + "helloWorldDoc.pdf"), outFileName,
+                DigestAlgorithms.SHA256, new BouncyCastleDigest(), new StampingProperties().useAppendMode());
+        signer.timestamp(new TestTsaClient(Arrays.asList(tsaChain), tsaPrivateKey), "timestampSig1");
+
+        checkSignedDoc(outFileName, "timestampSig1");
+        checkStreamedDigest(signer.getRangeDigestOutputStream(), outFileName, "timestampSig1");
+    }
+
+    private static PdfSigner sign(String outFileName, String streamedHashAlgorithm, String signatureHashAlgorithm,
+            StampingProperties properties) throws IOException, GeneralSecurityException {
+        String signCertFileName = certsSrc + "signCertRsa01.p12";
+        Certificate[] signChain = Pkcs12FileHelper.readFirstChain(signCertFileName, password);
+        PrivateKey signPrivateKey = Pkcs12FileHelper.readFirstKey(signCertFileName, password, password);
+
+        PdfSigner signer = new PdfSigner(new PdfReader(sourceFolder + "helloWorldDoc.pdf"), outFileName,
+                streamedHashAlgorithm, new BouncyCastleDigest(), properties);
+        signer.setFieldName("Signature1");
+        signer.signDetached(new BouncyCastleDigest(), new PrivateKeySignature(signPrivateKey, signatureHashAlgorithm,
+                BouncyCastleProvider.PROVIDER_NAME), signChain, null, null, null, 0, PdfSigner.CryptoStandard.CADES);
+        return signer;
+    }
+
+    private static void checkSignedDoc(String filePath, String signatureName)
+            throws IOException, GeneralSecurityException {
+        try (PdfDocument outDocument = new PdfDocument(new PdfReader(filePath))) {
+            SignatureUtil sigUtil = new SignatureUtil(outDocument);
+            Assert.assertTrue(sigUtil.signatureCoversWholeDocument(signatureName));
+            PdfPKCS7 signatureData = sigUtil.readSignatureData(signatureName);
+            Assert.assertTrue(signatureData.verifySignatureIntegrityAndAuthenticity());
+        }
+    }
+
+    private static void checkStreamedDigest(RangeDigestOutputStream digestStream, String filePath,
+            String signatureName) throws IOException {
+        try (PdfDocument outDocument = new PdfDocument(new PdfReader(filePath))) {
+            PdfArray byteRange = new SignatureUtil(outDocument).getSignature(signatureName).getByteRange();
+            long signedLength = byteRange.getAsNumber(1).longValue() + byteRange.getAsNumber(3).longValue();
+            // only the part of the byte ranges which is written after digesting has been paused is read back
+            Assert.assertTrue(digestStream.getPausedPosition() > 0);
+            Assert.assertEquals(signedLength - digestStream.getPausedPosition(), digestStream.getReadBackLength());
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.commons.utils.DateTimeUtil;
+import com.itextpdf.signatures.testutils.X509MockCertificate;
+import com.itextpdf.signatures.testutils.builder.TestCrlBuilder;
+import com.itextpdf.signatures.testutils.client.TestCrlClient;
+import com.itextpdf.signatures.testutils.client.TestOcspClient;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import com.itextpdf.test.signutils.Pkcs12FileHelper;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.List;
+import javax.security.auth.x500.X500Principal;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class RevocationDataCacheTest extends ExtendedITextTest {
+    private static final String certsSrc = "./src/test/resources/com/itextpdf/signatures/certs/";
+    private static final String destinationFolder = "./target/test/com/itextpdf/signatures/RevocationDataCacheTest/";
+    private static final char[] password = "testpass".toCharArray();
+
+    private X509Certificate caCert;
+    private PrivateKey caPrivateKey;
+    private X509Certificate checkCert;
+
+    @BeforeClass
+    public static void before() {
+        Security.addProvider(new BouncyCastleProvider());
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Before
+    public void setUp() throws GeneralSecurityException, IOException {
+        caCert = (X509Certificate) Pkcs12FileHelper.readFirstChain(certsSrc + "rootRsa.p12", password)[0];
+        caPrivateKey = Pkcs12FileHelper.readFirstKey(certsSrc + "rootRsa.p12", password, password);
+        checkCert = (X509Certificate) Pkcs12FileHelper.readFirstChain(certsSrc + "signCertRsa01.p12", password)[0];
+    }
+
+    @Test
+    public void crlIsCachedUntilNextUpdateTest() throws GeneralSecurityException {
+        CountingCrlClient countingClient = new CountingCrlClient(new TestCrlClient()
+                .addBuilderForCertIssuer(caCert, caPrivateKey));
+        RevocationDataCache cache = new RevocationDataCache();
+        CachingCrlClient crlClient = new CachingCrlClient(countingClient, cache);
+
+        Collection<byte[]> firstCrls = crlClient.getEncoded(checkCert, null);
+        Collection<byte[]> secondCrls = crlClient.getEncoded(checkCert, null);
+
+        Assert.assertEquals(1, countingClient.requestCount);
+        Assert.assertEquals(1, secondCrls.size());
+        Assert.assertArrayEquals(firstCrls.iterator().next(), secondCrls.iterator().next());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        // the parsed CRLs are reused as well
+        List<X509CRL> crls = crlClient.getCrls(checkCert, null);
+        Assert.assertSame(crls.get(0), crlClient.getCrls(checkCert, null).get(0));
+        Assert.assertEquals(1, countingClient.requestCount);
+    }
+
+    @Test
+    public void partitionedCrlsAreCachedPerDistributionPointTest() throws GeneralSecurityException {
+        CountingCrlClient countingClient = new CountingCrlClient(new TestCrlClient()
+                .addBuilderForCertIssuer(caCert, caPrivateKey));
+        CachingCrlClient crlClient = new CachingCrlClient(countingClient, new RevocationDataCache());
+        X509Certificate firstCert = createCertWithCrlUrl("http://localhost/first.crl");
+        X509Certificate secondCert = createCertWithCrlUrl("http://localhost/second.crl");
+
+        crlClient.getEncoded(firstCert, null);
+        crlClient.getEncoded(secondCert, null);
+        crlClient.getEncoded(firstCert, null);
+
+        Assert.assertEquals(2, countingClient.requestCount);
+        Assert.assertEquals(2, crlClient.getCache().size());
+
+        // the explicitly passed url is the same key as the one of the distribution point
+        crlClient.getEncoded(secondCert, "http://localhost/second.crl");
+        Assert.assertEquals(2, countingClient.requestCount);
+    }
+
+    @Test
+    public void outdatedCrlIsNotCachedTest() throws GeneralSecurityException {
+        TestCrlBuilder crlBuilder = new TestCrlBuilder(caCert, caPrivateKey,
+                DateTimeUtil.addDaysToDate(DateTimeUtil.getCurrentTimeDate(), -2));
+        crlBuilder.setNextUpdate(DateTimeUtil.addDaysToDate(DateTimeUtil.getCurrentTimeDate(), -1));
+        CountingCrlClient countingClient = new CountingCrlClient(new TestCrlClient()
+                .addBuilderForCertIssuer(crlBuilder));
+        RevocationDataCache cache = new RevocationDataCache();
+        CachingCrlClient crlClient = new CachingCrlClient(countingClient, cache);
+
+        Assert.assertEquals(1, crlClient.getEncoded(checkCert, null).size());
+        Assert.assertEquals(1, crlClient.getEncoded(checkCert, null).size());
+
+        Assert.assertEquals(2, countingClient.requestCount);
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void ocspResponseIsCachedTest() throws GeneralSecurityException {
+        CountingOcspClient countingClient = new CountingOcspClient(new TestOcspClient()
+                .addBuilderForCertIssuer(caCert, caPrivateKey));
+        RevocationDataCache cache = new RevocationDataCache();
+        CachingOcspClient ocspClient = new CachingOcspClient(countingClient, cache);
+
+        byte[] firstResponse = ocspClient.getEncoded(checkCert, caCert, null);
+        byte[] secondResponse = ocspClient.getEncoded(checkCert, caCert, null);
+
+        Assert.assertNotNull(firstResponse);
+        Assert.assertArrayEquals(firstResponse, secondResponse);
+        Assert.assertEquals(1, countingClient.requestCount);
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void revocationDataIsReadFromDirectoryTest() throws GeneralSecurityException {
+        String directory = destinationFolder + "revocationDataIsReadFromDirectory";
+        CachingCrlClient crlClient = new CachingCrlClient(new TestCrlClient()
+                .addBuilderForCertIssuer(caCert, caPrivateKey), new RevocationDataCache(10, directory));
+        CachingOcspClient ocspClient = new CachingOcspClient(new TestOcspClient()
+                .addBuilderForCertIssuer(caCert, caPrivateKey), crlClient.getCache());
+        byte[] crl = crlClient.getEncoded(checkCert, null).iterator().next();
+        byte[] ocspResponse = ocspClient.getEncoded(checkCert, caCert, null);
+
+        // the new cache only has the data stored in the directory
+        RevocationDataCache cache = new RevocationDataCache(10, directory);
+        CountingCrlClient countingCrlClient = new CountingCrlClient(new TestCrlClient());
+        CountingOcspClient countingOcspClient = new CountingOcspClient(new TestOcspClient());
+
+        Assert.assertArrayEquals(crl,
+                new CachingCrlClient(countingCrlClient, cache).getEncoded(checkCert, null).iterator().next());
+        Assert.assertArrayEquals(ocspResponse,
+                new CachingOcspClient(countingOcspClient, cache).getEncoded(checkCert, caCert, null));
+        Assert.assertEquals(0, countingCrlClient.requestCount);
+        Assert.assertEquals(0, countingOcspClient.requestCount);
+        Assert.assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void cacheSizeIsLimitedTest() throws GeneralSecurityException {
+        RevocationDataCache cache = new RevocationDataCache(1);
+        CachingCrlClient crlClient = new CachingCrlClient(new TestCrlClient()
+                .addBuilderForCertIssuer(caCert, caPrivateKey), cache);
+
+        crlClient.getEncoded(checkCert, "http://localhost/first.crl");
+        crlClient.getEncoded(checkCert, "http://localhost/second.crl");
+
+        Assert.assertEquals(1, cache.size());
+    }
+
+    private X509Certificate createCertWithCrlUrl(String crlUrl) {
+        final X500Principal issuer = caCert.getSubjectX500Principal();
+        final CRLDistPoint crlDistPoint = new CRLDistPoint(new DistributionPoint[] {new DistributionPoint(
+                new DistributionPointName(new GeneralNames(
+                        new GeneralName(GeneralName.uniformResourceIdentifier, crlUrl))), null, null)});
+        return new X509MockCertificate() {
+            @Override
+            public X500Principal getIssuerX500Principal() {
+                return issuer;
+            }
+
+            @Override
+            public byte[] getExtensionValue(String oid) {
+                if (!Extension.cRLDistributionPoints.getId().equals(oid)) {
+                    return null;
+                }
+                try {
+                    return new DEROctetString(crlDistPoint).getEncoded();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    private static final class CountingCrlClient implements ICrlClient {
+        private final ICrlClient crlClient;
+        private int requestCount;
+
+        CountingCrlClient(ICrlClient crlClient) {
+            this.crlClient = crlClient;
+        }
+
+        @Override
+        public Collection<byte[]> getEncoded(X509Certificate checkCert, String url) {
+            ++requestCount;
+            return crlClient.getEncoded(checkCert, url);
+        }
+    }
+
+    private static final class CountingOcspClient implements IOcspClient {
+        private final IOcspClient ocspClient;
+        private int requestCount;
+
+        CountingOcspClient(IOcspClient ocspClient) {
+            this.ocspClient = ocspClient;
+        }
+
+        @Override
+        public byte[] getEncoded(X509Certificate checkCert, X509Certificate issuerCert, String url) {
+            ++requestCount;
+            return ocspClient.getEncoded(checkCert, issuerCert, url);
+        }
+    }
+}
@@ -50,6 +50,7 @@ import com.itextpdf.signatures.testutils.TimeTestUtil;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.security.GeneralSecurityException;
 import java.security.Security;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.Assert;
@@ -58,7 +59,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Category(IntegrationTest.class)
 public class SignatureUtilTest extends ExtendedITextTest {
@@ -210,6 +213,36 @@ public class SignatureUtilTest extends ExtendedITextTest {
                 EPS);
     }
 
+    @Test
+    public void readAllSignaturesDataTest() throws IOException, GeneralSecurityException {
+        String inPdf = sourceFolder + "severalConsequentSignatures.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(inPdf));
+        SignatureUtil signatureUtil = new SignatureUtil(pdfDocument);
+
+        Map<String, PdfPKCS7> signaturesData = signatureUtil.readAllSignaturesData();
+        List<String> signatureNames = signatureUtil.getSignatureNames();
+        Assert.assertEquals(signatureNames, new ArrayList<>(signaturesData.keySet()));
+        Assert.assertTrue(signatureNames.size() > 1);
+        for (String signatureName : signatureNames) {
+            Assert.assertTrue(signaturesData.get(signatureName).verifySignatureIntegrityAndAuthenticity());
+            Assert.assertTrue(signatureUtil.readSignatureData(signatureName).verifySignatureIntegrityAndAuthenticity());
+        }
+    }
+
+    @Test
+    public void readAllSignaturesDataWithSpecialSubFilterTest() throws IOException, GeneralSecurityException {
+        String inPdf = sourceFolder + "adbe.x509.rsa_sha1_signature.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(inPdf));
+        SignatureUtil signatureUtil = new SignatureUtil(pdfDocument);
+
+        Map<String, PdfPKCS7> signaturesData = signatureUtil.readAllSignaturesData();
+        Assert.assertEquals(1, signaturesData.size());
+        PdfPKCS7 pkcs7 = signaturesData.get("Signature1");
+        Assert.assertEquals("Test", pkcs7.getReason());
+        Assert.assertEquals(signatureUtil.readSignatureData("Signature1").verifySignatureIntegrityAndAuthenticity(),
+                pkcs7.verifySignatureIntegrityAndAuthenticity());
+    }
+
     @Test
     public void readSignatureDataWithSpecialSubFilterTest() throws IOException {
         String inPdf = sourceFolder + "adbe.x509.rsa_sha1_signature.pdf";
@@ -0,0 +1,217 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2022 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures.sign;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.StampingProperties;
+import com.itextpdf.signatures.BouncyCastleDigest;
+import com.itextpdf.signatures.DigestAlgorithms;
+import com.itextpdf.signatures.IBatchSigningDocument;
+import com.itextpdf.signatures.IExternalBatchSignature;
+import com.itextpdf.signatures.PdfBatchSigner;
+import com.itextpdf.signatures.PdfSigner;
+import com.itextpdf.signatures.PrivateKeySignature;
+import com.itextpdf.signatures.exceptions.SignExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import com.itextpdf.test.signutils.Pkcs12FileHelper;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfBatchSignerTest extends ExtendedITextTest {
+    private static final String certsSrc = "./src/test/resources/com/itextpdf/signatures/certs/";
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/signatures/sign/PdfBatchSignerTest/";
+    private static final String destinationFolder = "./target/test/com/itextpdf/signatures/sign/PdfBatchSignerTest/";
+
+    private static final char[] password = "testpass".toCharArray();
+    private static final String HASH_ALGORITHM = DigestAlgorithms.SHA256;
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void before() {
+        Security.addProvider(new BouncyCastleProvider());
+        createOrClearDestinationFolder(destinationFolder);
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterClass
+    public static void after() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void batchSignTest() throws IOException, GeneralSecurityException {
+        String signCertFileName = certsSrc + "signCertRsa01.p12";
+        Certificate[] signChain = Pkcs12FileHelper.readFirstChain(signCertFileName, password);
+        PrivateKey signPrivateKey = Pkcs12FileHelper.readFirstKey(signCertFileName, password, password);
+        CountingBatchSignature batchSignature = new CountingBatchSignature(
+                new PrivateKeySignature(signPrivateKey, HASH_ALGORITHM, BouncyCastleProvider.PROVIDER_NAME));
+
+        List<BatchSigningDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) {
+            documents.add(new BatchSigningDocument(destinationFolder + "batchSign" + i + ".pdf", "Signature" + i));
+        }
+        new PdfBatchSigner(executor).setBatchSize(2).signDetached(documents, new BouncyCastleDigest(),
+                batchSignature, signChain, null, null, null, 0, PdfSigner.CryptoStandard.CADES);
+
+        Assert.assertEquals(3, batchSignature.batchCount.get());
+        for (BatchSigningDocument document : documents) {
+            PadesSigTest.basicCheckSignedDoc(document.outFileName, document.fieldName);
+        }
+    }
+
+    @Test
+    public void batchSignatureReturnsWrongNumberOfSignaturesTest() throws IOException, GeneralSecurityException {
+        String signCertFileName = certsSrc + "signCertRsa01.p12";
+        final Certificate[] signChain = Pkcs12FileHelper.readFirstChain(signCertFileName, password);
+        final List<BatchSigningDocument> documents = Collections.singletonList(
+                new BatchSigningDocument(destinationFolder + "wrongNumberOfSignatures.pdf", "Signature1"));
+        final IExternalBatchSignature batchSignature = new IExternalBatchSignature() {
+            @Override
+            public String getHashAlgorithm() {
+                return HASH_ALGORITHM;
+            }
+
+            @Override
+            public String getEncryptionAlgorithm() {
+                return "RSA";
+            }
+
+            @Override
+            public List<byte[]> sign(List<byte[]> messages) {
+                return Collections.<byte[]>emptyList();
+            }
+        };
+
+        Exception e = Assert.assertThrows(PdfException.class,
+                () -> new PdfBatchSigner(executor).signDetached(documents, new BouncyCastleDigest(), batchSignature,
+                        signChain, null, null, null, 0, PdfSigner.CryptoStandard.CMS));
+        Assert.assertEquals(MessageFormatUtil.format(
+                SignExceptionMessageConstant.BATCH_SIGNATURE_RETURNED_UNEXPECTED_NUMBER_OF_SIGNATURES, 0, 1),
+                e.getMessage());
+    }
+
+    @Test
+    public void nonPositiveBatchSizeTest() {
+        PdfBatchSigner batchSigner = new PdfBatchSigner(executor);
+        Exception e = Assert.assertThrows(IllegalArgumentException.class, () -> batchSigner.setBatchSize(0));
+        Assert.assertEquals(MessageFormatUtil.format(SignExceptionMessageConstant.BATCH_SIZE_SHALL_BE_POSITIVE, 0),
+                e.getMessage());
+        Assert.assertThrows(IllegalArgumentException.class, () -> batchSigner.setBatchSize(-1));
+        Assert.assertEquals(1, batchSigner.setBatchSize(1).getBatchSize());
+    }
+
+    private static class BatchSigningDocument implements IBatchSigningDocument {
+        private final String outFileName;
+        private final String fieldName;
+
+        BatchSigningDocument(String outFileName, String fieldName) {
+            this.outFileName = outFileName;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public PdfSigner createSigner(OutputStream preparedDocument) throws IOException {
+            PdfSigner signer = new PdfSigner(new PdfReader(sourceFolder + "helloWorldDoc.pdf"), preparedDocument,
+                    new StampingProperties());
+            signer.setFieldName(fieldName);
+            return signer;
+        }
+
+        @Override
+        public OutputStream getSignedDocumentOutputStream() throws IOException {
+            return new FileOutputStream(outFileName);
+        }
+    }
+
+    private static class CountingBatchSignature implements IExternalBatchSignature {
+        private final PrivateKeySignature signature;
+        private final AtomicInteger batchCount = new AtomicInteger();
+
+        CountingBatchSignature(PrivateKeySignature signature) {
+            this.signature = signature;
+        }
+
+        @Override
+        public String getHashAlgorithm() {
+            return signature.getHashAlgorithm();
+        }
+
+        @Override
+        public String getEncryptionAlgorithm() {
+            return signature.getEncryptionAlgorithm();
+        }
+
+        @Override
+        public List<byte[]> sign(List<byte[]> messages) throws GeneralSecurityException {
+            batchCount.incrementAndGet();
+            List<byte[]> signatures = new ArrayList<>(messages.size());
+            for (byte[] message : messages) {
+                signatures.add(signature.sign(message));
+            }
+            return signatures;
+        }
+    }
+}